@@ -0,0 +1,134 @@
+package com.desafios.admision_mtn.config;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.Evaluation;
+import com.desafios.admision_mtn.entity.Interview;
+import com.desafios.admision_mtn.entity.User;
+import com.desafios.admision_mtn.service.AdmissionCounterService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Listener de Hibernate que mantiene actualizados los contadores de admisión
+ *
+ * Solo reacciona a cambios confirmados (post-commit), de modo que un rollback no altera
+ * los contadores. Los cambios de estado se detectan comparando el estado anterior y nuevo
+ * de la entidad.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionCounterEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AdmissionCounterService admissionCounterService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        log.info("✅ Listener de contadores de admisión registrado");
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == Application.class || entityClass == Interview.class
+                || entityClass == Evaluation.class || entityClass == User.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Application application) {
+            admissionCounterService.applicationCreated(application.getStatus());
+        } else if (entity instanceof Interview interview) {
+            admissionCounterService.interviewCreated(interview.getStatus(), interview.getType(), interview.getMode());
+        } else if (entity instanceof Evaluation evaluation) {
+            admissionCounterService.evaluationCreated(evaluation.getEvaluationType(), evaluation.getStatus());
+        } else if (entity instanceof User) {
+            admissionCounterService.userCreated();
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // Sin estado previo no hay forma de saber el origen; la reconciliación lo corregirá
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Object entity = event.getEntity();
+        if (entity instanceof Application application) {
+            admissionCounterService.applicationStatusChanged(
+                    previous(persister, oldState, "status", Application.ApplicationStatus.class),
+                    application.getStatus());
+        } else if (entity instanceof Interview interview) {
+            admissionCounterService.interviewChanged(
+                    previous(persister, oldState, "status", Interview.InterviewStatus.class), interview.getStatus(),
+                    previous(persister, oldState, "type", Interview.InterviewType.class), interview.getType(),
+                    previous(persister, oldState, "mode", Interview.InterviewMode.class), interview.getMode());
+        } else if (entity instanceof Evaluation evaluation) {
+            admissionCounterService.evaluationChanged(
+                    previous(persister, oldState, "evaluationType", Evaluation.EvaluationType.class),
+                    evaluation.getEvaluationType(),
+                    previous(persister, oldState, "status", Evaluation.EvaluationStatus.class),
+                    evaluation.getStatus());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Application application) {
+            admissionCounterService.applicationDeleted(application.getStatus());
+        } else if (entity instanceof Interview interview) {
+            admissionCounterService.interviewDeleted(interview.getStatus(), interview.getType(), interview.getMode());
+        } else if (entity instanceof Evaluation evaluation) {
+            admissionCounterService.evaluationDeleted(evaluation.getEvaluationType(), evaluation.getStatus());
+        } else if (entity instanceof User) {
+            admissionCounterService.userDeleted();
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Transacción revertida: no hay nada que contar
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Transacción revertida: no hay nada que contar
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Transacción revertida: no hay nada que contar
+    }
+
+    private static <T> T previous(EntityPersister persister, Object[] oldState, String property, Class<T> type) {
+        int index = Arrays.asList(persister.getPropertyNames()).indexOf(property);
+        return index >= 0 ? type.cast(oldState[index]) : null;
+    }
+}
@@ -48,6 +48,13 @@ public class CacheConfig {
             "validation-rules"    // Cache de reglas de validación
         ));
         
+        // Cache de UserDetails para el camino de autenticación: TTL corto y evicción explícita
+        cacheManager.registerCustomCache("user-details", Caffeine.newBuilder()
+            .maximumSize(2000)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build());
+        
         return cacheManager;
     }
     
@@ -1,6 +1,7 @@
 package com.desafios.admision_mtn.config;
 
 import com.desafios.admision_mtn.service.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -52,8 +53,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extraer el username del token
-            username = jwtService.extractUsername(jwt);
+            // Verificar la firma una sola vez y extraer el username de los claims
+            final Claims claims = jwtService.getVerifiedClaims(jwt);
+            username = claims.getSubject();
 
             // Si el username existe y no hay autenticación previa en el contexto
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -62,10 +64,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
                 
                 // Validar el token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     
                     // Verificar que no sea un refresh token (solo access tokens para autenticación)
-                    if (!jwtService.isRefreshToken(jwt)) {
+                    if (!jwtService.isRefreshToken(claims)) {
                         
                         // Crear el objeto de autenticación
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -16,8 +16,7 @@ import org.springframework.boot.actuate.info.Info;
 
 import com.desafios.admision_mtn.repository.ApplicationRepository;
 import com.desafios.admision_mtn.repository.UserRepository;
-import com.desafios.admision_mtn.repository.InterviewRepository;
-import com.desafios.admision_mtn.repository.EvaluationRepository;
+import com.desafios.admision_mtn.service.AdmissionCounterService;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -37,8 +36,7 @@ public class MetricsConfig {
 
     private final ApplicationRepository applicationRepository;
     private final UserRepository userRepository;
-    private final InterviewRepository interviewRepository;
-    private final EvaluationRepository evaluationRepository;
+    private final AdmissionCounterService admissionCounterService;
 
     // Contadores de métricas de negocio
     private final AtomicInteger activeApplications = new AtomicInteger();
@@ -96,10 +94,10 @@ public class MetricsConfig {
                 Map<String, Object> admissionInfo = new HashMap<>();
                 
                 // Estadísticas generales del sistema
-                admissionInfo.put("totalApplications", applicationRepository.count());
-                admissionInfo.put("totalUsers", userRepository.count());
-                admissionInfo.put("totalInterviews", interviewRepository.count());
-                admissionInfo.put("totalEvaluations", evaluationRepository.count());
+                admissionInfo.put("totalApplications", admissionCounterService.getTotalApplications());
+                admissionInfo.put("totalUsers", admissionCounterService.getTotalUsers());
+                admissionInfo.put("totalInterviews", admissionCounterService.getTotalInterviews());
+                admissionInfo.put("totalEvaluations", admissionCounterService.getTotalEvaluations());
                 
                 // Distribución por roles
                 Map<String, Long> usersByRole = new HashMap<>();
@@ -110,12 +108,7 @@ public class MetricsConfig {
                 admissionInfo.put("usersByRole", usersByRole);
                 
                 // Estadísticas de aplicaciones por estado
-                Map<String, Long> applicationsByStatus = new HashMap<>();
-                for (com.desafios.admision_mtn.entity.Application.ApplicationStatus status : 
-                     com.desafios.admision_mtn.entity.Application.ApplicationStatus.values()) {
-                    applicationsByStatus.put(status.name(), applicationRepository.countByStatus(status));
-                }
-                admissionInfo.put("applicationsByStatus", applicationsByStatus);
+                admissionInfo.put("applicationsByStatus", admissionCounterService.getApplicationStatusDistribution());
                 
                 // Información del sistema
                 admissionInfo.put("systemStartTime", LocalDateTime.now());
@@ -145,42 +138,18 @@ public class MetricsConfig {
         try {
             MeterRegistry meterRegistry = event.getApplicationContext().getBean(MeterRegistry.class);
         
-        // Registrar Gauges simplificados usando funciones lambda
-        meterRegistry.gauge("admission.applications.total", applicationRepository, repo -> {
-            try {
-                return repo.count();
-            } catch (Exception e) {
-                log.error("Error obteniendo total de aplicaciones", e);
-                return 0.0;
-            }
-        });
+        // Registrar Gauges leídos desde los contadores en memoria (O(1) por scrape)
+        meterRegistry.gauge("admission.applications.total", admissionCounterService,
+            AdmissionCounterService::getTotalApplications);
 
-        meterRegistry.gauge("admission.users.total", userRepository, repo -> {
-            try {
-                return repo.count();
-            } catch (Exception e) {
-                log.error("Error obteniendo total de usuarios", e);
-                return 0.0;
-            }
-        });
+        meterRegistry.gauge("admission.users.total", admissionCounterService,
+            AdmissionCounterService::getTotalUsers);
 
-        meterRegistry.gauge("admission.evaluations.total", evaluationRepository, repo -> {
-            try {
-                return repo.count();
-            } catch (Exception e) {
-                log.error("Error obteniendo total de evaluaciones", e);
-                return 0.0;
-            }
-        });
+        meterRegistry.gauge("admission.evaluations.total", admissionCounterService,
+            AdmissionCounterService::getTotalEvaluations);
 
-        meterRegistry.gauge("admission.interviews.total", interviewRepository, repo -> {
-            try {
-                return repo.count();
-            } catch (Exception e) {
-                log.error("Error obteniendo total de entrevistas", e);
-                return 0.0;
-            }
-        });
+        meterRegistry.gauge("admission.interviews.total", admissionCounterService,
+            AdmissionCounterService::getTotalInterviews);
 
         // Crear Timers para operaciones críticas del sistema
         meterRegistry.timer("admission.workflow.execution", 
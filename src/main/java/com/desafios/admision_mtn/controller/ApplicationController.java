@@ -1,9 +1,13 @@
 package com.desafios.admision_mtn.controller;
 
+import com.desafios.admision_mtn.dto.ApplicationPageResponse;
 import com.desafios.admision_mtn.dto.ApplicationResponse;
 import com.desafios.admision_mtn.dto.CreateApplicationRequest;
+import com.desafios.admision_mtn.dto.StudentSearchResponse;
 import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.repository.ApplicationListingRepository.ApplicationListRow;
 import com.desafios.admision_mtn.service.ApplicationService;
+import com.desafios.admision_mtn.service.StudentSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +21,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +41,7 @@ import java.util.Map;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final StudentSearchService studentSearchService;
     private final com.desafios.admision_mtn.service.UserService userService;
     private final com.desafios.admision_mtn.repository.UserRepository userRepository;
     private final com.desafios.admision_mtn.repository.ApplicationRepository applicationRepository;
@@ -185,16 +191,16 @@ public class ApplicationController {
     // Endpoints para administradores
     @Operation(
         summary = "[ADMIN] Obtener todas las postulaciones", 
-        description = "Obtiene todas las postulaciones del sistema. Solo para administradores.",
+        description = "Obtiene las 50 postulaciones más recientes con los datos del estudiante. Solo para administradores.",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
-            description = "Lista completa de postulaciones",
+            description = "Lista de postulaciones",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = Application.class)
+                schema = @Schema(implementation = ApplicationListRow.class)
             )
         ),
         @ApiResponse(
@@ -203,9 +209,9 @@ public class ApplicationController {
         )
     })
     @GetMapping("/admin/all")
-    public ResponseEntity<List<Application>> getAllApplications() {
+    public ResponseEntity<List<ApplicationListRow>> getAllApplications() {
         try {
-            List<Application> applications = applicationService.getAllApplications();
+            List<ApplicationListRow> applications = applicationService.getAllApplications();
             return ResponseEntity.ok(applications);
             
         } catch (Exception e) {
@@ -214,6 +220,90 @@ public class ApplicationController {
         }
     }
 
+    @Operation(
+        summary = "[ADMIN] Listado paginado de postulaciones", 
+        description = "Lista postulaciones de la más reciente a la más antigua, filtradas opcionalmente por estado y curso. " +
+                      "Para la página siguiente se envía el nextCursor de la respuesta anterior.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Página de postulaciones",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApplicationPageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Estado o cursor inválido"
+        ),
+        @ApiResponse(
+            responseCode = "403", 
+            description = "Acceso denegado - requiere rol ADMIN"
+        )
+    })
+    @GetMapping("/admin/list")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApplicationPageResponse> listApplications(
+        @Parameter(description = "Estado de la postulación", example = "UNDER_REVIEW")
+        @RequestParam(required = false) String status,
+        @Parameter(description = "Curso al que postula", example = "1° Básico")
+        @RequestParam(required = false) String grade,
+        @Parameter(description = "nextCursor de la página anterior")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamaño de página (máximo 100)", example = "25")
+        @RequestParam(defaultValue = "25") int size) {
+        try {
+            Application.ApplicationStatus applicationStatus = status != null && !status.isBlank()
+                ? Application.ApplicationStatus.valueOf(status.toUpperCase())
+                : null;
+            String gradeApplied = grade != null && !grade.isBlank() ? grade : null;
+            
+            return ResponseEntity.ok(applicationService.listApplications(applicationStatus, gradeApplied, cursor, size));
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid application listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "[ADMIN] Buscar postulaciones por estudiante", 
+        description = "Búsqueda para autocompletar por nombre (sin distinguir tildes ni mayúsculas) o RUT del estudiante, " +
+                      "ordenada por relevancia. Requiere al menos 2 caracteres.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Resultados de la búsqueda",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StudentSearchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403", 
+            description = "Acceso denegado - requiere rol ADMIN"
+        )
+    })
+    @GetMapping("/admin/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StudentSearchResponse> searchApplications(
+        @Parameter(description = "Nombre o RUT (parcial)", required = true, example = "jose munoz")
+        @RequestParam("q") String query,
+        @Parameter(description = "Máximo de resultados", example = "10")
+        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(studentSearchService.search(query, limit));
+        } catch (Exception e) {
+            log.error("Error searching applications: {}", query, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @Operation(
         summary = "[ADMIN] Actualizar estado de postulación", 
         description = "Actualiza el estado de una postulación específica. Estados válidos: DRAFT, SUBMITTED, UNDER_REVIEW, INTERVIEW_SCHEDULED, EXAM_SCHEDULED, APPROVED, REJECTED, WAITLIST.",
@@ -273,7 +363,7 @@ public class ApplicationController {
     @GetMapping("/public/all")
     public ResponseEntity<List<Map<String, Object>>> getAllApplicationsPublic() {
         try {
-            List<Application> applications = applicationService.getAllApplications();
+            List<ApplicationListRow> applications = applicationService.getAllApplications();
             List<Map<String, Object>> response = applications.stream()
                     .map(this::createApplicationSummaryResponse)
                     .toList();
@@ -285,50 +375,28 @@ public class ApplicationController {
         }
     }
 
-    private Map<String, Object> createApplicationSummaryResponse(Application application) {
+    // Solo columnas de la postulación y del estudiante: sin apoderados ni usuario postulante
+    private Map<String, Object> createApplicationSummaryResponse(ApplicationListRow row) {
         Map<String, Object> response = new HashMap<>();
-        response.put("id", application.getId());
-        response.put("status", application.getStatus());
-        response.put("submissionDate", application.getSubmissionDate());
-        response.put("createdAt", application.getCreatedAt());
-        response.put("updatedAt", application.getUpdatedAt());
+        response.put("id", row.id());
+        response.put("status", row.status());
+        response.put("submissionDate", row.submissionDate());
+        response.put("createdAt", row.createdAt());
+        response.put("updatedAt", row.updatedAt());
         
-        if (application.getStudent() != null) {
+        if (row.studentId() != null) {
             Map<String, Object> studentInfo = new HashMap<>();
-            studentInfo.put("id", application.getStudent().getId());
-            studentInfo.put("firstName", application.getStudent().getFirstName());
-            studentInfo.put("lastName", application.getStudent().getLastName());
-            studentInfo.put("maternalLastName", application.getStudent().getMaternalLastName());
-            studentInfo.put("fullName", application.getStudent().getFirstName() + " " + 
-                           application.getStudent().getLastName() + " " + 
-                           application.getStudent().getMaternalLastName());
-            studentInfo.put("rut", application.getStudent().getRut());
-            studentInfo.put("gradeApplied", application.getStudent().getGradeApplied());
-            studentInfo.put("birthDate", application.getStudent().getBirthDate());
-            studentInfo.put("currentSchool", application.getStudent().getCurrentSchool());
+            studentInfo.put("id", row.studentId());
+            studentInfo.put("firstName", row.studentFirstName());
+            studentInfo.put("lastName", row.studentLastName());
+            studentInfo.put("maternalLastName", row.studentMaternalLastName());
+            studentInfo.put("fullName", row.studentFullName());
+            studentInfo.put("rut", row.studentRut());
+            studentInfo.put("gradeApplied", row.gradeApplied());
+            studentInfo.put("birthDate", row.studentBirthDate());
             response.put("student", studentInfo);
         }
         
-        if (application.getFather() != null) {
-            Map<String, Object> fatherInfo = new HashMap<>();
-            fatherInfo.put("id", application.getFather().getId());
-            fatherInfo.put("fullName", application.getFather().getFullName());
-            fatherInfo.put("rut", application.getFather().getRut());
-            fatherInfo.put("email", application.getFather().getEmail());
-            fatherInfo.put("phone", application.getFather().getPhone());
-            response.put("father", fatherInfo);
-        }
-        
-        if (application.getMother() != null) {
-            Map<String, Object> motherInfo = new HashMap<>();
-            motherInfo.put("id", application.getMother().getId());
-            motherInfo.put("fullName", application.getMother().getFullName());
-            motherInfo.put("rut", application.getMother().getRut());
-            motherInfo.put("email", application.getMother().getEmail());
-            motherInfo.put("phone", application.getMother().getPhone());
-            response.put("mother", motherInfo);
-        }
-        
         return response;
     }
     
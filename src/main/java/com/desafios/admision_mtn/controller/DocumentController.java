@@ -1,22 +1,40 @@
 package com.desafios.admision_mtn.controller;
 
 import com.desafios.admision_mtn.entity.Document;
+import com.desafios.admision_mtn.service.DocumentPreviewService;
+import com.desafios.admision_mtn.service.DocumentPreviewService.PreviewLookup;
 import com.desafios.admision_mtn.service.DocumentService;
+import com.desafios.admision_mtn.service.DocumentService.DocumentContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -25,7 +43,14 @@ import java.util.Map;
 // 🔒 SEGURIDAD: Sin @CrossOrigin - usa configuración global de SecurityConfig
 public class DocumentController {
 
+    // Atributos de request con los que Tomcat NIO envía el archivo con sendfile
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final DocumentService documentService;
+    private final DocumentPreviewService previewService;
 
     @PostMapping("/upload/{applicationId}")
     public ResponseEntity<Map<String, Object>> uploadDocument(
@@ -95,69 +120,54 @@ public class DocumentController {
     }
 
     @GetMapping("/view/{documentId}")
-    public ResponseEntity<Resource> viewDocument(@PathVariable Long documentId) {
-        try {
-            Document document = documentService.getDocumentById(documentId);
-            Resource resource = documentService.loadFileAsResource(documentId);
-            
-            String contentType = document.getContentType();
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + document.getOriginalName() + "\"")
-                    .body(resource);
-                    
-        } catch (Exception e) {
-            log.error("Error visualizando documento {}", documentId, e);
-            return ResponseEntity.notFound().build();
-        }
+    public void viewDocument(@PathVariable Long documentId,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamDocument(documentId, "inline", request, response);
     }
 
     // Endpoint público temporal para desarrollo - permite ver documentos sin autenticación
     @GetMapping("/public/view/{documentId}")
-    public ResponseEntity<Resource> viewDocumentPublic(@PathVariable Long documentId) {
-        try {
-            log.warn("⚠️ ACCESO PÚBLICO A DOCUMENTO: {} - Solo para desarrollo", documentId);
-            Document document = documentService.getDocumentById(documentId);
-            Resource resource = documentService.loadFileAsResource(documentId);
-            
-            String contentType = document.getContentType();
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + document.getOriginalName() + "\"")
-                    .body(resource);
-        } catch (Exception e) {
-            log.error("Error viewing document with ID: {}", documentId, e);
-            return ResponseEntity.notFound().build();
-        }
+    public void viewDocumentPublic(@PathVariable Long documentId,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.warn("⚠️ ACCESO PÚBLICO A DOCUMENTO: {} - Solo para desarrollo", documentId);
+        streamDocument(documentId, "inline", request, response);
     }
 
     @GetMapping("/download/{documentId}")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long documentId) {
-        try {
-            Document document = documentService.getDocumentById(documentId);
-            Resource resource = documentService.loadFileAsResource(documentId);
-            
-            String contentType = document.getContentType();
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
+    public void downloadDocument(@PathVariable Long documentId,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamDocument(documentId, "attachment", request, response);
+    }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getOriginalName() + "\"")
-                    .body(resource);
-                    
+    /**
+     * Miniatura JPEG del documento. Depende solo del contenido, así que el navegador puede
+     * reutilizarla sin volver a preguntar durante un día.
+     */
+    @GetMapping("/preview/{documentId}")
+    public ResponseEntity<Resource> previewDocument(@PathVariable Long documentId) {
+        try {
+            DocumentContent content = documentService.getDocumentContent(documentId);
+            PreviewLookup preview = previewService.getPreview(content.contentHash(), content.filePath(), content.contentType());
+            return switch (preview.status()) {
+                case READY -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                        .eTag("\"preview-" + content.contentHash() + "\"")
+                        .body(new FileSystemResource(preview.path()));
+                // Se está generando en el pool de miniaturas: el cliente reintenta
+                case PENDING -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.RETRY_AFTER, "2")
+                        .cacheControl(CacheControl.noStore())
+                        .build();
+                case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "10")
+                        .cacheControl(CacheControl.noStore())
+                        .build();
+                case UNAVAILABLE -> ResponseEntity.notFound().build();
+            };
         } catch (Exception e) {
-            log.error("Error descargando documento {}", documentId, e);
-            return ResponseEntity.notFound().build();
+            log.error("Error generando miniatura del documento {}", documentId, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
@@ -193,6 +203,132 @@ public class DocumentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Envía el archivo de un documento respondiendo a If-None-Match / If-Modified-Since con 304
+     * y a un Range de un solo intervalo con 206. El contenido se copia con sendfile cuando el
+     * conector lo soporta y, si no, con {@link FileChannel#transferTo}.
+     */
+    private void streamDocument(Long documentId, String disposition,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        DocumentContent content;
+        try {
+            content = documentService.getDocumentContent(documentId);
+        } catch (Exception e) {
+            log.error("Error obteniendo documento {}", documentId, e);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(content.etag(), content.lastModified())) {
+            return;
+        }
+
+        long size = content.size();
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), content)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(content.contentType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder(disposition)
+                .filename(content.originalName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        if (length == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        Path file = Paths.get(content.filePath());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long limit = end + 1;
+            while (position < limit) {
+                long transferred = channel.transferTo(position, limit - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("Archivo truncado mientras se enviaba: " + content.originalName());
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * If-Range: el Range solo se respeta si el validador coincide con la versión actual
+     */
+    private static boolean rangeApplies(String ifRange, DocumentContent content) {
+        if (ifRange == null) {
+            return true;
+        }
+        return ifRange.trim().equals(content.etag());
+    }
+
+    /**
+     * Interpreta "bytes=a-b", "bytes=a-" y "bytes=-n".
+     * Devuelve [inicio, fin], un arreglo vacío para ignorar el header (varios intervalos o
+     * sintaxis desconocida: se envía el archivo completo) o null si el rango no es satisfacible.
+     */
+    private static long[] parseRange(String header, long size) {
+        String value = header.trim();
+        if (!value.startsWith("bytes=") || value.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = value.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return new long[0];
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return new long[0];
+            }
+            if (start >= size) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
     private Map<String, Object> createDocumentResponse(Document document) {
         Map<String, Object> docMap = new HashMap<>();
         docMap.put("id", document.getId());
@@ -203,6 +339,7 @@ public class DocumentController {
         docMap.put("documentType", document.getDocumentType());
         docMap.put("isRequired", document.getIsRequired());
         docMap.put("createdAt", document.getCreatedAt());
+        docMap.put("previewUrl", "/api/documents/preview/" + document.getId());
         return docMap;
     }
 
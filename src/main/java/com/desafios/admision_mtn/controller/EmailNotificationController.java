@@ -4,6 +4,7 @@ import com.desafios.admision_mtn.entity.EmailNotification;
 import com.desafios.admision_mtn.entity.EmailEvent;
 import com.desafios.admision_mtn.repository.EmailNotificationRepository;
 import com.desafios.admision_mtn.repository.EmailEventRepository;
+import com.desafios.admision_mtn.service.EmailAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,7 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -29,6 +29,7 @@ public class EmailNotificationController {
 
     private final EmailNotificationRepository emailNotificationRepository;
     private final EmailEventRepository emailEventRepository;
+    private final EmailAnalyticsService emailAnalyticsService;
 
     /**
      * Obtener todas las notificaciones de email con paginación
@@ -82,51 +83,7 @@ public class EmailNotificationController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getEmailStats() {
         try {
-            // Estadísticas generales
-            Object[] generalStats = emailNotificationRepository.getEmailStats();
-            
-            // Estadísticas por tipo
-            List<Object[]> typeStats = emailNotificationRepository.getEmailStatsByType();
-            
-            // Emails recientes (últimos 30 días)
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            List<EmailNotification> recentEmails = emailNotificationRepository.findRecentEmails(thirtyDaysAgo);
-            
-            // Emails pendientes de respuesta
-            List<EmailNotification> pendingResponses = emailNotificationRepository.findPendingResponses();
-            
-            // Emails no leídos
-            List<EmailNotification> unopenedEmails = emailNotificationRepository.findUnopened();
-            
-            Map<String, Object> stats = new HashMap<>();
-            
-            // Estadísticas generales
-            if (generalStats != null && generalStats.length >= 3) {
-                long total = generalStats[0] != null ? ((Number) generalStats[0]).longValue() : 0;
-                long opened = generalStats[1] != null ? ((Number) generalStats[1]).longValue() : 0;
-                long responded = generalStats[2] != null ? ((Number) generalStats[2]).longValue() : 0;
-                
-                stats.put("totalEmails", total);
-                stats.put("openedEmails", opened);
-                stats.put("respondedEmails", responded);
-                stats.put("openRate", total > 0 ? Math.round((double) opened / total * 100) : 0);
-                stats.put("responseRate", total > 0 ? Math.round((double) responded / total * 100) : 0);
-            }
-            
-            // Estadísticas por tipo
-            Map<String, Long> emailTypeStats = new HashMap<>();
-            for (Object[] row : typeStats) {
-                if (row.length >= 2 && row[0] != null && row[1] != null) {
-                    emailTypeStats.put(row[0].toString(), ((Number) row[1]).longValue());
-                }
-            }
-            stats.put("emailsByType", emailTypeStats);
-            
-            // Contadores adicionales
-            stats.put("recentEmailsCount", recentEmails.size());
-            stats.put("pendingResponsesCount", pendingResponses.size());
-            stats.put("unopenedEmailsCount", unopenedEmails.size());
-            
+            Map<String, Object> stats = emailAnalyticsService.getEmailStats();
             return ResponseEntity.ok(stats);
             
         } catch (Exception e) {
@@ -212,28 +169,7 @@ public class EmailNotificationController {
     @GetMapping("/stats/by-school")
     public ResponseEntity<Map<String, Object>> getStatsBySchool() {
         try {
-            Map<String, Object> schoolStats = new HashMap<>();
-            
-            // Estadísticas por escuela objetivo
-            List<EmailNotification> monteTabor = emailNotificationRepository.findByTargetSchoolOrderByCreatedAtDesc(
-                EmailNotification.TargetSchool.MONTE_TABOR);
-            List<EmailNotification> nazaret = emailNotificationRepository.findByTargetSchoolOrderByCreatedAtDesc(
-                EmailNotification.TargetSchool.NAZARET);
-            
-            // Calcular métricas para Monte Tabor
-            Map<String, Object> mtStats = new HashMap<>();
-            mtStats.put("total", monteTabor.size());
-            mtStats.put("opened", monteTabor.stream().mapToInt(n -> n.hasBeenOpened() ? 1 : 0).sum());
-            mtStats.put("responded", monteTabor.stream().mapToInt(n -> n.hasResponded() ? 1 : 0).sum());
-            
-            // Calcular métricas para Nazaret
-            Map<String, Object> nazStats = new HashMap<>();
-            nazStats.put("total", nazaret.size());
-            nazStats.put("opened", nazaret.stream().mapToInt(n -> n.hasBeenOpened() ? 1 : 0).sum());
-            nazStats.put("responded", nazaret.stream().mapToInt(n -> n.hasResponded() ? 1 : 0).sum());
-            
-            schoolStats.put("MONTE_TABOR", mtStats);
-            schoolStats.put("NAZARET", nazStats);
+            Map<String, Object> schoolStats = emailAnalyticsService.getStatsBySchool();
             
             return ResponseEntity.ok(schoolStats);
             
@@ -4,6 +4,7 @@ import com.desafios.admision_mtn.entity.EmailEvent;
 import com.desafios.admision_mtn.entity.EmailNotification;
 import com.desafios.admision_mtn.repository.EmailEventRepository;
 import com.desafios.admision_mtn.repository.EmailNotificationRepository;
+import com.desafios.admision_mtn.service.EmailOpenTrackingBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -22,58 +23,44 @@ import java.util.Optional;
 // 🔒 SEGURIDAD: Sin @CrossOrigin - usa configuración global de SecurityConfig
 public class EmailTrackingController {
 
+    // PNG transparente de 1x1 pixel
+    private static final byte[] TRANSPARENT_PIXEL = new byte[]{
+        (byte)0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A,
+        0x00, 0x00, 0x00, 0x0D, 0x49, 0x48, 0x44, 0x52,
+        0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01,
+        0x08, 0x06, 0x00, 0x00, 0x00, 0x1F, 0x15, (byte)0xC4,
+        (byte)0x89, 0x00, 0x00, 0x00, 0x0A, 0x49, 0x44, 0x41,
+        0x54, 0x78, (byte)0x9C, 0x63, 0x00, 0x01, 0x00,
+        0x00, 0x05, 0x00, 0x01, 0x0D, 0x0A, 0x2D, (byte)0xB4,
+        0x00, 0x00, 0x00, 0x00, 0x49, 0x45, 0x4E, 0x44,
+        (byte)0xAE, 0x42, 0x60, (byte)0x82
+    };
+
     private final EmailNotificationRepository emailNotificationRepository;
     private final EmailEventRepository emailEventRepository;
+    private final EmailOpenTrackingBuffer openTrackingBuffer;
 
     /**
-     * Tracking pixel - Se ejecuta cuando el usuario abre el correo
+     * Tracking pixel - Se ejecuta cuando el usuario abre el correo.
+     * La apertura se encola en {@link EmailOpenTrackingBuffer} y se escribe en segundo plano.
      */
     @GetMapping("/track/{trackingToken}")
     public ResponseEntity<byte[]> trackEmailOpen(@PathVariable String trackingToken, 
                                                HttpServletRequest request) {
         try {
-            log.info("📧 Tracking email open for token: {}", trackingToken);
-            
-            Optional<EmailNotification> notificationOpt = emailNotificationRepository.findByTrackingToken(trackingToken);
-            
-            if (notificationOpt.isPresent()) {
-                EmailNotification notification = notificationOpt.get();
-                
-                // Actualizar contador de apertura
-                if (!notification.hasBeenOpened()) {
-                    notification.setOpened(true);
-                    notification.setOpenedAt(LocalDateTime.now());
-                }
-                notification.setOpenCount(notification.getOpenCount() + 1);
-                emailNotificationRepository.save(notification);
-                
-                // Registrar evento
-                String ipAddress = getClientIpAddress(request);
-                String userAgent = request.getHeader("User-Agent");
-                
-                EmailEvent openEvent = EmailEvent.createOpenedEvent(notification, ipAddress, userAgent);
-                emailEventRepository.save(openEvent);
-                
-                log.info("✅ Email opened tracked successfully for application ID: {}", 
-                    notification.getApplication().getId());
-                
-            } else {
-                log.warn("⚠️ Tracking token not found: {}", trackingToken);
-            }
-            
+            log.debug("📧 Tracking email open for token: {}", trackingToken);
+            openTrackingBuffer.record(trackingToken, getClientIpAddress(request), request.getHeader("User-Agent"));
         } catch (Exception e) {
             log.error("❌ Error tracking email open: {}", e.getMessage(), e);
         }
         
         // Devolver pixel transparente de 1x1
-        byte[] pixelImage = createTransparentPixel();
-        
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
             .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
             .header(HttpHeaders.PRAGMA, "no-cache")
             .header(HttpHeaders.EXPIRES, "0")
-            .body(pixelImage);
+            .body(TRANSPARENT_PIXEL);
     }
 
     /**
@@ -301,19 +288,4 @@ public class EmailTrackingController {
         
         return request.getRemoteAddr();
     }
-
-    private byte[] createTransparentPixel() {
-        // PNG transparente de 1x1 pixel
-        return new byte[]{
-            (byte)0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A,
-            0x00, 0x00, 0x00, 0x0D, 0x49, 0x48, 0x44, 0x52,
-            0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01,
-            0x08, 0x06, 0x00, 0x00, 0x00, 0x1F, 0x15, (byte)0xC4,
-            (byte)0x89, 0x00, 0x00, 0x00, 0x0A, 0x49, 0x44, 0x41,
-            0x54, 0x78, (byte)0x9C, 0x63, 0x00, 0x01, 0x00,
-            0x00, 0x05, 0x00, 0x01, 0x0D, 0x0A, 0x2D, (byte)0xB4,
-            0x00, 0x00, 0x00, 0x00, 0x49, 0x45, 0x4E, 0x44,
-            (byte)0xAE, 0x42, 0x60, (byte)0x82
-        };
-    }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.desafios.admision_mtn.controller;
 
 import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.NotificationCampaign;
 import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.service.NotificationCampaignService;
 import com.desafios.admision_mtn.service.NotificationService;
 import com.desafios.admision_mtn.service.NotificationSchedulerService;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Controller para gestionar el sistema de notificaciones automatizadas
@@ -28,6 +31,7 @@ public class NotificationController {
     private final NotificationService notificationService;
     private final NotificationSchedulerService schedulerService;
     private final ApplicationRepository applicationRepository;
+    private final NotificationCampaignService campaignService;
 
     /**
      * Enviar notificación de cambio de estado manualmente
@@ -170,56 +174,27 @@ public class NotificationController {
 
     /**
      * Enviar todas las notificaciones pendientes (proceso masivo)
+     *
+     * Crea una campaña que se procesa en segundo plano por lotes y al ritmo configurado;
+     * su avance se consulta en /campaigns/{id}.
      */
     @PostMapping("/send-all-pending")
-    public ResponseEntity<Map<String, Object>> sendAllPendingNotifications() {
+    public ResponseEntity<Map<String, Object>> sendAllPendingNotifications(
+            @RequestParam(required = false) Integer ratePerMinute) {
         
         try {
             log.info("📧 Iniciando envío masivo de notificaciones pendientes");
             
-            // Obtener todas las aplicaciones activas
-            List<Application.ApplicationStatus> activeStatuses = List.of(
-                Application.ApplicationStatus.PENDING,
-                Application.ApplicationStatus.UNDER_REVIEW,
-                Application.ApplicationStatus.INTERVIEW_SCHEDULED,
-                Application.ApplicationStatus.EXAM_SCHEDULED,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED
-            );
-            
-            List<Application> activeApplications = applicationRepository.findByStatusIn(activeStatuses);
-            
-            int notificationsSent = 0;
-            
-            // Lógica para determinar qué notificaciones enviar
-            for (Application application : activeApplications) {
-                try {
-                    // Ejemplo: Si está en DOCUMENTS_REQUESTED, enviar recordatorio
-                    if (application.getStatus() == Application.ApplicationStatus.DOCUMENTS_REQUESTED) {
-                        // Aquí podrías agregar lógica para determinar documentos faltantes
-                        // Por ahora, enviamos un ejemplo
-                        List<String> sampleMissingDocs = List.of("BIRTH_CERTIFICATE", "STUDENT_PHOTO");
-                        notificationService.notifyMissingDocuments(application, sampleMissingDocs);
-                        notificationsSent++;
-                    }
-                    
-                    // Agregar más lógica de notificaciones automáticas según necesidades
-                    
-                } catch (Exception e) {
-                    log.error("Error enviando notificación para aplicación {}", application.getId(), e);
-                }
-            }
-            
-            log.info("✅ Envío masivo de notificaciones completado: {} notificaciones enviadas", 
-                    notificationsSent);
+            NotificationCampaign campaign = campaignService.start(
+                    NotificationCampaign.CampaignType.PENDING_NOTIFICATIONS, ratePerMinute);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Proceso de notificaciones masivas completado");
-            response.put("notificationsSent", notificationsSent);
-            response.put("applicationsProcessed", activeApplications.size());
+            response.put("message", "Campaña de notificaciones masivas en curso");
+            response.put("campaign", campaignService.describe(campaign));
             response.put("timestamp", LocalDateTime.now());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted().body(response);
             
         } catch (Exception e) {
             log.error("❌ Error en envío masivo de notificaciones", e);
@@ -231,6 +206,51 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Listar campañas de notificaciones masivas recientes
+     */
+    @GetMapping("/campaigns")
+    public ResponseEntity<List<Map<String, Object>>> getCampaigns() {
+        return ResponseEntity.ok(campaignService.getRecentCampaigns().stream()
+                .map(campaignService::describe)
+                .toList());
+    }
+
+    /**
+     * Progreso y throughput de una campaña
+     */
+    @GetMapping("/campaigns/{campaignId}")
+    public ResponseEntity<Map<String, Object>> getCampaign(@PathVariable Long campaignId) {
+        return updateCampaign(() -> campaignService.getCampaign(campaignId));
+    }
+
+    @PostMapping("/campaigns/{campaignId}/pause")
+    public ResponseEntity<Map<String, Object>> pauseCampaign(@PathVariable Long campaignId) {
+        return updateCampaign(() -> campaignService.pause(campaignId));
+    }
+
+    @PostMapping("/campaigns/{campaignId}/resume")
+    public ResponseEntity<Map<String, Object>> resumeCampaign(@PathVariable Long campaignId) {
+        return updateCampaign(() -> campaignService.resume(campaignId));
+    }
+
+    @PostMapping("/campaigns/{campaignId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelCampaign(@PathVariable Long campaignId) {
+        return updateCampaign(() -> campaignService.cancel(campaignId));
+    }
+
+    private ResponseEntity<Map<String, Object>> updateCampaign(Supplier<NotificationCampaign> action) {
+        try {
+            return ResponseEntity.ok(campaignService.describe(action.get()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", e.getMessage(),
+                "timestamp", LocalDateTime.now()
+            ));
+        }
+    }
+
     /**
      * Obtener estadísticas del sistema de notificaciones
      */
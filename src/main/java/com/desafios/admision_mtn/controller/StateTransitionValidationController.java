@@ -27,6 +27,9 @@ import java.util.Set;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173", "http://localhost:5174", "http://localhost:5175", "http://localhost:5176", "http://localhost:5177"})
 public class StateTransitionValidationController {
 
+    // Máximo de elementos por solicitud en lote; acota el IN de la precarga y la respuesta
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final StateTransitionValidationService validationService;
 
     /**
@@ -213,8 +216,14 @@ public class StateTransitionValidationController {
                 errorResponse.put("timestamp", LocalDateTime.now());
                 return ResponseEntity.badRequest().body(errorResponse);
             }
+            if (transitions.size() > MAX_BATCH_SIZE) {
+                return batchTooLarge(transitions.size());
+            }
             
+            // Primero se interpretan todas las solicitudes; las válidas se validan en una sola llamada
             java.util.List<Map<String, Object>> results = new java.util.ArrayList<>();
+            java.util.List<StateTransitionValidationService.TransitionRequest> requests = new java.util.ArrayList<>();
+            java.util.List<Map<String, Object>> pendingResults = new java.util.ArrayList<>();
             int validCount = 0;
             int invalidCount = 0;
             
@@ -227,24 +236,14 @@ public class StateTransitionValidationController {
                     Application.ApplicationStatus from = Application.ApplicationStatus.valueOf(fromStatus.toUpperCase());
                     Application.ApplicationStatus to = Application.ApplicationStatus.valueOf(toStatus.toUpperCase());
                     
-                    StateTransitionValidationService.ValidationResult result = 
-                            validationService.validateTransition(applicationId, from, to);
-                    
                     Map<String, Object> transitionResult = new HashMap<>();
                     transitionResult.put("applicationId", applicationId);
                     transitionResult.put("fromStatus", fromStatus);
                     transitionResult.put("toStatus", toStatus);
-                    transitionResult.put("valid", result.isValid());
-                    transitionResult.put("message", result.getMessage());
-                    transitionResult.put("errors", result.getErrors());
                     
                     results.add(transitionResult);
-                    
-                    if (result.isValid()) {
-                        validCount++;
-                    } else {
-                        invalidCount++;
-                    }
+                    requests.add(new StateTransitionValidationService.TransitionRequest(applicationId, from, to));
+                    pendingResults.add(transitionResult);
                     
                 } catch (Exception e) {
                     Map<String, Object> errorResult = new HashMap<>();
@@ -256,6 +255,22 @@ public class StateTransitionValidationController {
                 }
             }
             
+            java.util.List<StateTransitionValidationService.ValidationResult> validations =
+                    validationService.validateTransitions(requests);
+            for (int i = 0; i < validations.size(); i++) {
+                StateTransitionValidationService.ValidationResult result = validations.get(i);
+                Map<String, Object> transitionResult = pendingResults.get(i);
+                transitionResult.put("valid", result.isValid());
+                transitionResult.put("message", result.getMessage());
+                transitionResult.put("errors", result.getErrors());
+                
+                if (result.isValid()) {
+                    validCount++;
+                } else {
+                    invalidCount++;
+                }
+            }
+            
             Map<String, Object> response = new HashMap<>();
             response.put("results", results);
             response.put("summary", Map.of(
@@ -283,6 +298,83 @@ public class StateTransitionValidationController {
         }
     }
 
+    /**
+     * Valida, para una lista de aplicaciones, todas las transiciones permitidas desde su estado actual
+     */
+    @PostMapping("/available-transitions")
+    public ResponseEntity<Map<String, Object>> getAvailableTransitions(
+            @RequestBody Map<String, Object> request) {
+        
+        try {
+            @SuppressWarnings("unchecked")
+            java.util.List<Object> rawIds = (java.util.List<Object>) request.get("applicationIds");
+            
+            if (rawIds == null || rawIds.isEmpty()) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("error", "Lista de aplicaciones vacía o inválida");
+                errorResponse.put("timestamp", LocalDateTime.now());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            if (rawIds.size() > MAX_BATCH_SIZE) {
+                return batchTooLarge(rawIds.size());
+            }
+            
+            java.util.List<Long> applicationIds = rawIds.stream()
+                    .map(id -> Long.valueOf(id.toString()))
+                    .toList();
+            
+            log.info("🔄 Validando transiciones disponibles para {} aplicaciones", applicationIds.size());
+            
+            java.util.List<Map<String, Object>> results = new java.util.ArrayList<>();
+            for (StateTransitionValidationService.AvailableTransitions available :
+                    validationService.validateAvailableTransitions(applicationIds)) {
+                Map<String, Object> transitions = new java.util.LinkedHashMap<>();
+                available.transitions().forEach((target, result) -> {
+                    Map<String, Object> transitionResult = new HashMap<>();
+                    transitionResult.put("valid", result.isValid());
+                    transitionResult.put("message", result.getMessage());
+                    transitions.put(target.name(), transitionResult);
+                });
+                
+                Map<String, Object> applicationResult = new HashMap<>();
+                applicationResult.put("applicationId", available.applicationId());
+                applicationResult.put("currentStatus", available.currentStatus());
+                applicationResult.put("transitions", transitions);
+                results.add(applicationResult);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("requested", applicationIds.size());
+            response.put("found", results.size());
+            response.put("timestamp", LocalDateTime.now());
+            response.put("success", true);
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (NumberFormatException e) {
+            log.error("❌ ID de aplicación inválido", e);
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "ID de aplicación inválido: " + e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+            
+        } catch (Exception e) {
+            log.error("❌ Error validando transiciones disponibles", e);
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "Error interno: " + e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+            
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
     /**
      * Endpoint de testing para el sistema de validaciones
      */
@@ -389,6 +481,7 @@ public class StateTransitionValidationController {
             "GET /api/state-validation/valid-transitions/{status}", "Obtiene transiciones válidas desde un estado",
             "GET /api/state-validation/workflow-info", "Información completa del flujo de estados",
             "POST /api/state-validation/validate-batch", "Validación en lote de transiciones",
+            "POST /api/state-validation/available-transitions", "Transiciones disponibles para una lista de aplicaciones",
             "GET /api/state-validation/test", "Test del sistema de validaciones"
         ));
         
@@ -434,4 +527,12 @@ public class StateTransitionValidationController {
             case WAITLIST -> "En lista de espera - estado final";
         };
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<Map<String, Object>> batchTooLarge(int size) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", "Se permiten como máximo " + MAX_BATCH_SIZE + " elementos por solicitud (recibidos: " + size + ")");
+        errorResponse.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+}
@@ -0,0 +1,25 @@
+package com.desafios.admision_mtn.dto;
+
+import com.desafios.admision_mtn.repository.ApplicationListingRepository.ApplicationListRow;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del listado de postulaciones; {@code nextCursor} se envía tal cual en
+ * {@code ?cursor=} para pedir la siguiente y es null en la última
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPageResponse {
+
+    private List<ApplicationListRow> applications;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
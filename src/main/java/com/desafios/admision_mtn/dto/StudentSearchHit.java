@@ -0,0 +1,22 @@
+package com.desafios.admision_mtn.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la búsqueda de estudiantes; {@code score} solo sirve para ordenar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchHit {
+
+    private Long applicationId;
+    private Long studentId;
+    private String fullName;
+    private String rut;
+    private String gradeApplied;
+    private String status;
+    private double score;
+}
@@ -0,0 +1,23 @@
+package com.desafios.admision_mtn.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchResponse {
+
+    private String query;
+    private List<StudentSearchHit> results;
+    // "trigram" (índices GIN de PostgreSQL) o "memory" (índice en memoria)
+    private String source;
+    private long tookMs;
+    // La consulta superó el presupuesto de latencia y se cortó
+    private boolean timedOut;
+}
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+    // Listado de administración por keyset: orden, filtro por estado y posición del cursor
+    @Index(name = "idx_applications_created_at_id", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_applications_status_created_at_id", columnList = "status, created_at DESC, id DESC"),
+    @Index(name = "idx_applications_grade_created_at_id", columnList = "grade_applied, created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -69,6 +74,16 @@ public class Application {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Copia de students.grade_applied para que el listado filtrado por curso use un solo índice
+    @Column(name = "grade_applied")
+    private String gradeApplied;
+
+    @PrePersist
+    @PreUpdate
+    void updateGradeApplied() {
+        gradeApplied = student != null ? student.getGradeApplied() : null;
+    }
+
     public enum ApplicationStatus {
         PENDING,
         UNDER_REVIEW,
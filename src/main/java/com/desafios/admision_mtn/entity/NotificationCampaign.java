@@ -0,0 +1,152 @@
+package com.desafios.admision_mtn.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Envío masivo de notificaciones recorrido por lotes
+ *
+ * {@code NotificationCampaignRunner} avanza sobre las postulaciones por id
+ * ({@code lastApplicationId}) y guarda el cursor y los contadores en la misma transacción
+ * que encola los correos del lote, así que pausar, reanudar o reiniciar la aplicación nunca
+ * duplica ni pierde destinatarios.
+ */
+@Entity
+@Table(name = "notification_campaigns", indexes = {
+    @Index(name = "idx_notification_campaigns_status", columnList = "status")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_notification_campaigns_active_type", columnNames = "active_type")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "campaign_type", nullable = false)
+    private CampaignType campaignType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private CampaignStatus status = CampaignStatus.RUNNING;
+
+    // Igual a campaign_type mientras la campaña está activa y null al terminar; la restricción
+    // única impide dos campañas activas del mismo tipo (un índice único parcial, portable a H2)
+    @Column(name = "active_type")
+    private String activeType;
+
+    // Postulaciones en este estado y sin cambios desde esta fecha, fijado al crear la campaña
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status", nullable = false)
+    private Application.ApplicationStatus targetStatus;
+
+    @Column(name = "updated_before", nullable = false)
+    private LocalDateTime updatedBefore;
+
+    @Column(name = "rate_per_minute", nullable = false)
+    private Integer ratePerMinute;
+
+    @Column(name = "last_application_id", nullable = false)
+    @Builder.Default
+    private Long lastApplicationId = 0L;
+
+    @Column(name = "total_targets", nullable = false)
+    @Builder.Default
+    private Long totalTargets = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    @Builder.Default
+    private Long processedCount = 0L;
+
+    @Column(name = "enqueued_count", nullable = false)
+    @Builder.Default
+    private Long enqueuedCount = 0L;
+
+    @Column(name = "failed_count", nullable = false)
+    @Builder.Default
+    private Long failedCount = 0L;
+
+    // Tiempo en estado RUNNING, para calcular el throughput real
+    @Column(name = "active_millis", nullable = false)
+    @Builder.Default
+    private Long activeMillis = 0L;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "last_chunk_at")
+    private LocalDateTime lastChunkAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Una pausa o cancelación concurrente revierte el lote en curso
+    @Version
+    private Long version;
+
+    public enum CampaignType {
+        MISSING_DOCUMENTS_REMINDER("Recordatorio semanal de documentos", 3),
+        PENDING_NOTIFICATIONS("Envío masivo de notificaciones pendientes", 0);
+
+        private final String displayName;
+        private final int staleDays;
+
+        CampaignType(String displayName, int staleDays) {
+            this.displayName = displayName;
+            this.staleDays = staleDays;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Días sin cambios que debe tener una postulación para recibir el correo
+         */
+        public int getStaleDays() {
+            return staleDays;
+        }
+    }
+
+    public enum CampaignStatus {
+        RUNNING("En curso"),
+        PAUSED("Pausada"),
+        COMPLETED("Completada"),
+        CANCELLED("Cancelada");
+
+        private final String displayName;
+
+        CampaignStatus(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    public boolean isActive() {
+        return status == CampaignStatus.RUNNING || status == CampaignStatus.PAUSED;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateActiveType() {
+        activeType = isActive() ? campaignType.name() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.desafios.admision_mtn.entity;
 
+import com.desafios.admision_mtn.util.SearchNormalizer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,7 +13,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_grade_applied", columnList = "grade_applied")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -59,6 +62,15 @@ public class Student {
     @JsonIgnore
     private Application application;
 
+    // Nombre completo y RUT normalizados para la búsqueda (ver SearchNormalizer)
+    @JsonIgnore
+    @Column(name = "search_name", length = 400)
+    private String searchName;
+
+    @JsonIgnore
+    @Column(name = "search_rut", length = 20)
+    private String searchRut;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -67,6 +79,13 @@ public class Student {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @PrePersist
+    @PreUpdate
+    void updateSearchColumns() {
+        searchName = SearchNormalizer.normalizeName(firstName, lastName, maternalLastName);
+        searchRut = SearchNormalizer.normalizeRut(rut);
+    }
+    
     // Método de conveniencia para compatibilidad con el código existente
     public String getPaternalLastName() {
         return lastName; // lastName ya es el apellido paterno
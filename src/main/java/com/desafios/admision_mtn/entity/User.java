@@ -11,7 +11,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "users")
@@ -68,9 +70,18 @@ public class User implements UserDetails {
         updatedAt = LocalDateTime.now();
     }
     
+    // Autoridades inmutables precalculadas por rol
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES_BY_ROLE = new EnumMap<>(UserRole.class);
+    
+    static {
+        for (UserRole userRole : UserRole.values()) {
+            AUTHORITIES_BY_ROLE.put(userRole, List.of(new SimpleGrantedAuthority("ROLE_" + userRole.name())));
+        }
+    }
+    
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return AUTHORITIES_BY_ROLE.get(role);
     }
     
     @Override
@@ -0,0 +1,106 @@
+package com.desafios.admision_mtn.repository;
+
+import com.desafios.admision_mtn.entity.Application;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Listado de postulaciones para administración con paginación por keyset
+ *
+ * Las filas se ordenan por {@code (created_at, id)} descendente y cada página continúa
+ * desde la última fila de la anterior con {@code (created_at, id) < (cursor)} en lugar de
+ * OFFSET, así que los índices {@code idx_applications_created_at_id},
+ * {@code idx_applications_status_created_at_id} e {@code idx_applications_grade_created_at_id}
+ * llegan directo al inicio de la página: la página N cuesta lo mismo que la primera. El curso
+ * se filtra sobre la copia {@code applications.grade_applied} y no sobre el estudiante, para
+ * que el filtro y el cursor queden en el mismo índice (con estado y curso a la vez se usa el
+ * índice de uno de los dos). Se proyecta a un record con las columnas de la postulación y
+ * del estudiante, sin hidratar las relaciones EAGER.
+ */
+@Repository
+public class ApplicationListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Hasta {@code limit} filas después del cursor (o desde el inicio si es null)
+     */
+    public List<ApplicationListRow> findPage(Application.ApplicationStatus status,
+                                             String gradeApplied,
+                                             LocalDateTime afterCreatedAt,
+                                             Long afterId,
+                                             int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.desafios.admision_mtn.repository.ApplicationListingRepository$ApplicationListRow(" +
+                "a.id, a.status, a.submissionDate, a.createdAt, a.updatedAt, " +
+                "s.id, s.firstName, s.lastName, s.maternalLastName, s.rut, s.gradeApplied, s.schoolApplied, s.birthDate) " +
+                "FROM Application a LEFT JOIN a.student s WHERE 1 = 1");
+        if (status != null) {
+            jpql.append(" AND a.status = :status");
+        }
+        if (gradeApplied != null) {
+            jpql.append(" AND a.gradeApplied = :gradeApplied");
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" AND (a.createdAt < :afterCreatedAt OR (a.createdAt = :afterCreatedAt AND a.id < :afterId))");
+        }
+        jpql.append(" ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<ApplicationListRow> query = entityManager.createQuery(jpql.toString(), ApplicationListRow.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (gradeApplied != null) {
+            query.setParameter("gradeApplied", gradeApplied);
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterId", afterId);
+        }
+        return query
+                .setMaxResults(limit)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultList();
+    }
+
+    /**
+     * Copia el curso del estudiante a las postulaciones creadas antes de la columna
+     * {@code applications.grade_applied}
+     */
+    @Transactional
+    public int backfillGradeApplied() {
+        return entityManager.createNativeQuery(
+                "UPDATE applications a SET grade_applied = " +
+                "(SELECT s.grade_applied FROM students s WHERE s.id = a.student_id) " +
+                "WHERE a.grade_applied IS NULL AND a.student_id IS NOT NULL")
+                .executeUpdate();
+    }
+
+    // ================== PROYECCIONES ==================
+
+    public record ApplicationListRow(Long id,
+                                     Application.ApplicationStatus status,
+                                     LocalDateTime submissionDate,
+                                     LocalDateTime createdAt,
+                                     LocalDateTime updatedAt,
+                                     Long studentId,
+                                     String studentFirstName,
+                                     String studentLastName,
+                                     String studentMaternalLastName,
+                                     String studentRut,
+                                     String gradeApplied,
+                                     String schoolApplied,
+                                     LocalDate studentBirthDate) {
+        public String studentFullName() {
+            return studentFirstName + " " + studentLastName + " " + studentMaternalLastName;
+        }
+    }
+}
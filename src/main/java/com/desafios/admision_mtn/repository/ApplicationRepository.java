@@ -2,6 +2,7 @@ package com.desafios.admision_mtn.repository;
 
 import com.desafios.admision_mtn.entity.Application;
 import com.desafios.admision_mtn.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,6 +38,12 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     
     Optional<Application> findByStudentRut(String rut);
     
+    // Filas para el índice de búsqueda en memoria:
+    // [applicationId, studentId, firstName, lastName, maternalLastName, rut, gradeApplied, status]
+    @Query("SELECT a.id, s.id, s.firstName, s.lastName, s.maternalLastName, s.rut, s.gradeApplied, a.status " +
+           "FROM Application a JOIN a.student s")
+    List<Object[]> findStudentSearchRows();
+    
     @Query("SELECT a FROM Application a " +
            "JOIN FETCH a.student " +
            "LEFT JOIN FETCH a.father " +
@@ -53,9 +60,52 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     // Métodos para el workflow automático
     List<Application> findByStatusIn(List<Application.ApplicationStatus> statuses);
     
+    @Query("SELECT a.id FROM Application a WHERE a.status IN :statuses ORDER BY a.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") List<Application.ApplicationStatus> statuses);
+    
+    // Datos para validar transiciones, sin cargar las relaciones EAGER:
+    // [id, status, studentId, applicantUserId, createdAt, updatedAt]
+    @Query("SELECT a.id, a.status, s.id, u.id, a.createdAt, a.updatedAt FROM Application a " +
+           "LEFT JOIN a.student s LEFT JOIN a.applicantUser u WHERE a.id IN :ids")
+    List<Object[]> findTransitionSummariesByIds(@Param("ids") java.util.Collection<Long> ids);
+    
+    // Bloque de aplicaciones con sus relaciones to-one en una sola consulta (evaluación masiva)
+    @Query("SELECT a FROM Application a " +
+           "LEFT JOIN FETCH a.student " +
+           "LEFT JOIN FETCH a.father " +
+           "LEFT JOIN FETCH a.mother " +
+           "LEFT JOIN FETCH a.supporter " +
+           "LEFT JOIN FETCH a.guardian " +
+           "LEFT JOIN FETCH a.applicantUser " +
+           "WHERE a.id IN :ids")
+    List<Application> findAllByIdWithRelations(@Param("ids") java.util.Collection<Long> ids);
+    
+    // Página de destinatarios de una campaña, en orden de id a partir del cursor (keyset)
+    @Query("SELECT a FROM Application a " +
+           "JOIN FETCH a.student " +
+           "LEFT JOIN FETCH a.father " +
+           "LEFT JOIN FETCH a.mother " +
+           "LEFT JOIN FETCH a.supporter " +
+           "LEFT JOIN FETCH a.guardian " +
+           "LEFT JOIN FETCH a.applicantUser " +
+           "WHERE a.status = :status AND a.updatedAt < :updatedBefore AND a.id > :afterId " +
+           "ORDER BY a.id")
+    List<Application> findCampaignPage(@Param("status") Application.ApplicationStatus status,
+                                       @Param("updatedBefore") java.time.LocalDateTime updatedBefore,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    @Query("SELECT COUNT(a) FROM Application a WHERE a.status = :status AND a.updatedAt < :updatedBefore")
+    long countCampaignTargets(@Param("status") Application.ApplicationStatus status,
+                              @Param("updatedBefore") java.time.LocalDateTime updatedBefore);
+    
     @Query("SELECT COUNT(a) FROM Application a WHERE a.status = :status")
     long countByStatus(@Param("status") Application.ApplicationStatus status);
     
+    // Distribución de aplicaciones por estado
+    @Query("SELECT a.status, COUNT(a) FROM Application a GROUP BY a.status")
+    List<Object[]> findStatusDistribution();
+    
     // Métodos adicionales para el dashboard
     @Query("SELECT a FROM Application a WHERE a.createdAt >= :fromDate ORDER BY a.createdAt DESC")
     List<Application> findFromDate(@Param("fromDate") java.time.LocalDateTime fromDate);
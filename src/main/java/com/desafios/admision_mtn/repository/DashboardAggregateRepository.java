@@ -0,0 +1,142 @@
+package com.desafios.admision_mtn.repository;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.Evaluation;
+import com.desafios.admision_mtn.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas agregadas para dashboards y reportes
+ *
+ * Todas las agrupaciones se resuelven en la base de datos (GROUP BY) y se proyectan
+ * directamente a records, sin hidratar entidades ni sus relaciones EAGER. El costo en
+ * memoria depende del número de grupos, no del tamaño de las tablas.
+ */
+@Repository
+public class DashboardAggregateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Aplicaciones creadas agrupadas por mes del año (1-12)
+     */
+    public List<MonthlyCount> countApplicationsByMonth() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$MonthlyCount(" +
+                "EXTRACT(MONTH FROM a.createdAt), COUNT(a)) " +
+                "FROM Application a " +
+                "WHERE a.createdAt IS NOT NULL " +
+                "GROUP BY EXTRACT(MONTH FROM a.createdAt)",
+                MonthlyCount.class)
+                .getResultList();
+    }
+
+    /**
+     * Entrevistas agrupadas por entrevistador
+     */
+    public List<UserCount> countInterviewsByInterviewer() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$UserCount(" +
+                "u.id, u.firstName, u.lastName, COUNT(i)) " +
+                "FROM Interview i JOIN i.interviewer u " +
+                "GROUP BY u.id, u.firstName, u.lastName",
+                UserCount.class)
+                .getResultList();
+    }
+
+    /**
+     * Evaluaciones agrupadas por evaluador
+     */
+    public List<UserCount> countEvaluationsByEvaluator() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$UserCount(" +
+                "u.id, u.firstName, u.lastName, COUNT(e)) " +
+                "FROM Evaluation e JOIN e.evaluator u " +
+                "GROUP BY u.id, u.firstName, u.lastName",
+                UserCount.class)
+                .getResultList();
+    }
+
+    /**
+     * Puntaje promedio de evaluaciones por tipo (solo evaluaciones con puntaje)
+     */
+    public List<TypeAverage> averageScoreByEvaluationType() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$TypeAverage(" +
+                "e.evaluationType, AVG(e.score)) " +
+                "FROM Evaluation e " +
+                "WHERE e.score IS NOT NULL " +
+                "GROUP BY e.evaluationType",
+                TypeAverage.class)
+                .getResultList();
+    }
+
+    /**
+     * Usuarios agrupados por rol
+     */
+    public List<RoleCount> countUsersByRole() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$RoleCount(" +
+                "u.role, COUNT(u)) " +
+                "FROM User u " +
+                "GROUP BY u.role",
+                RoleCount.class)
+                .getResultList();
+    }
+
+    /**
+     * Usuarios agrupados por rol y estado de activación
+     */
+    public List<RoleActiveCount> countUsersByRoleAndActive() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$RoleActiveCount(" +
+                "u.role, u.active, COUNT(u)) " +
+                "FROM User u " +
+                "GROUP BY u.role, u.active",
+                RoleActiveCount.class)
+                .getResultList();
+    }
+
+    /**
+     * Filas livianas de postulaciones para cálculos de analytics en una sola pasada.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    public Stream<ApplicationAnalyticsRow> streamApplicationAnalyticsRows() {
+        return entityManager.createQuery(
+                "SELECT new com.desafios.admision_mtn.repository.DashboardAggregateRepository$ApplicationAnalyticsRow(" +
+                "a.status, s.gradeApplied, a.createdAt, a.submissionDate) " +
+                "FROM Application a LEFT JOIN a.student s",
+                ApplicationAnalyticsRow.class)
+                .setHint("org.hibernate.fetchSize", 500)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    // ================== PROYECCIONES ==================
+
+    public record MonthlyCount(Integer month, Long count) {}
+
+    public record UserCount(Long userId, String firstName, String lastName, Long count) {
+        public String fullName() {
+            return firstName + " " + lastName;
+        }
+    }
+
+    public record TypeAverage(Evaluation.EvaluationType type, Double average) {}
+
+    public record RoleCount(User.UserRole role, Long count) {}
+
+    public record RoleActiveCount(User.UserRole role, Boolean active, Long count) {}
+
+    public record ApplicationAnalyticsRow(Application.ApplicationStatus status,
+                                          String gradeApplied,
+                                          LocalDateTime createdAt,
+                                          LocalDateTime submissionDate) {}
+}
@@ -2,11 +2,15 @@ package com.desafios.admision_mtn.repository;
 
 import com.desafios.admision_mtn.entity.Application;
 import com.desafios.admision_mtn.entity.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +29,35 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByUserEmailOrderByCreatedAtDesc(@Param("userEmail") String userEmail);
     
     Long countByApplication_Id(Long applicationId);
+    
+    // Tipos de documentos subidos por aplicación: [applicationId, documentType]
+    @Query("SELECT d.application.id, d.documentType FROM Document d WHERE d.application.id IN :applicationIds")
+    List<Object[]> findDocumentTypesByApplicationIds(@Param("applicationIds") Collection<Long> applicationIds);
+    
+    Optional<Document> findFirstByContentHash(String contentHash);
+    
+    // Entradas para el backup de documentos: [id, filePath, contentHash]
+    @Query("SELECT d.id, d.filePath, d.contentHash FROM Document d")
+    List<Object[]> findBackupEntries();
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Document d SET d.contentHash = :contentHash WHERE d.id = :documentId")
+    int updateContentHash(@Param("documentId") Long documentId, @Param("contentHash") String contentHash);
+    
+    // Documentos aún fuera del layout por hash, en orden de id: [id, filePath, contentHash]
+    @Query("SELECT d.id, d.filePath, d.contentHash FROM Document d " +
+           "WHERE d.id > :afterId AND d.filePath NOT LIKE CONCAT(:shardedPrefix, '%') ORDER BY d.id")
+    List<Object[]> findUnshardedEntries(@Param("shardedPrefix") String shardedPrefix,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+    
+    // Cambia la ruta solo si nadie la modificó desde que se leyó
+    @Modifying
+    @Query("UPDATE Document d SET d.filePath = :newPath, d.contentHash = :contentHash " +
+           "WHERE d.id = :documentId AND d.filePath = :oldPath")
+    int relocateFile(@Param("documentId") Long documentId,
+                     @Param("oldPath") String oldPath,
+                     @Param("newPath") String newPath,
+                     @Param("contentHash") String contentHash);
 }
\ No newline at end of file
@@ -46,13 +46,25 @@ public interface EmailNotificationRepository extends JpaRepository<EmailNotifica
     @Query("SELECT en.emailType, COUNT(en) FROM EmailNotification en GROUP BY en.emailType")
     List<Object[]> getEmailStatsByType();
     
-    // Estadísticas de apertura
+    // Estadísticas generales en una sola pasada: [total, abiertos, respondidos, recientes,
+    // pendientes de respuesta, no abiertos]
     @Query("SELECT " +
-           "COUNT(en) as total, " +
-           "SUM(CASE WHEN en.opened = true THEN 1 ELSE 0 END) as opened, " +
-           "SUM(CASE WHEN en.responded = true THEN 1 ELSE 0 END) as responded " +
+           "COUNT(en), " +
+           "SUM(CASE WHEN en.opened = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN en.responded = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN en.createdAt >= :since THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN en.responseRequired = true AND en.responded = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN en.opened = false THEN 1 ELSE 0 END) " +
            "FROM EmailNotification en")
-    Object[] getEmailStats();
+    List<Object[]> getEmailStats(@Param("since") LocalDateTime since);
+    
+    // Estadísticas por escuela: [escuela, total, abiertos, respondidos]
+    @Query("SELECT en.targetSchool, " +
+           "COUNT(en), " +
+           "SUM(CASE WHEN en.opened = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN en.responded = true THEN 1 ELSE 0 END) " +
+           "FROM EmailNotification en GROUP BY en.targetSchool")
+    List<Object[]> getEmailStatsBySchool();
     
     // Buscar emails por recipient email
     List<EmailNotification> findByRecipientEmailOrderByCreatedAtDesc(String recipientEmail);
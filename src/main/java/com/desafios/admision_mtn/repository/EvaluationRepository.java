@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +52,12 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
     @Query("SELECT e FROM Evaluation e JOIN FETCH e.evaluator WHERE e.application.id = :applicationId ORDER BY e.evaluationType, e.createdAt DESC")
     List<Evaluation> findByApplicationIdWithEvaluator(@Param("applicationId") Long applicationId);
     
+    // Resumen de evaluaciones de varias aplicaciones:
+    // [applicationId, evaluationType, status, score, evaluatorId, finalRecommendation]
+    @Query("SELECT e.application.id, e.evaluationType, e.status, e.score, ev.id, e.finalRecommendation FROM Evaluation e " +
+           "LEFT JOIN e.evaluator ev WHERE e.application.id IN :applicationIds")
+    List<Object[]> findSummariesByApplicationIds(@Param("applicationIds") Collection<Long> applicationIds);
+    
     // Contar evaluaciones por evaluador
     @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.evaluator.id = :evaluatorId")
     Long countByEvaluatorId(@Param("evaluatorId") Long evaluatorId);
@@ -65,6 +72,14 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
     @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.status = :status")
     long countByStatus(@Param("status") Evaluation.EvaluationStatus status);
     
+    // Distribución de evaluaciones por tipo
+    @Query("SELECT e.evaluationType, COUNT(e) FROM Evaluation e GROUP BY e.evaluationType")
+    List<Object[]> findTypeDistribution();
+    
+    // Distribución de evaluaciones por estado
+    @Query("SELECT e.status, COUNT(e) FROM Evaluation e GROUP BY e.status")
+    List<Object[]> findStatusDistribution();
+    
     @Query("SELECT e FROM Evaluation e WHERE e.completionDate >= :fromDate AND e.status = com.desafios.admision_mtn.entity.Evaluation.EvaluationStatus.COMPLETED ORDER BY e.completionDate DESC")
     List<Evaluation> findCompletedFromDate(@Param("fromDate") java.time.LocalDateTime fromDate);
     
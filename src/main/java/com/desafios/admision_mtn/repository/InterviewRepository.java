@@ -31,6 +31,19 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
     
     List<Interview> findByApplicationId(Long applicationId);
     
+    // Fecha y estado de las entrevistas de varias aplicaciones: [applicationId, fecha, estado]
+    @Query("SELECT i.application.id, i.scheduledDate, i.status FROM Interview i WHERE i.application.id IN :applicationIds")
+    List<Object[]> findScheduleStatusByApplicationIds(@Param("applicationIds") java.util.Collection<Long> applicationIds);
+    
+    // Estado y resultado de las entrevistas de varias aplicaciones: [applicationId, estado, resultado]
+    @Query("SELECT i.application.id, i.status, i.result FROM Interview i WHERE i.application.id IN :applicationIds")
+    List<Object[]> findOutcomesByApplicationIds(@Param("applicationIds") java.util.Collection<Long> applicationIds);
+    
+    // IDs de aplicaciones en un estado que ya tienen al menos una entrevista
+    @Query("SELECT DISTINCT i.application.id FROM Interview i WHERE i.application.status = :status")
+    java.util.Set<Long> findApplicationIdsWithInterviewsByApplicationStatus(
+        @Param("status") com.desafios.admision_mtn.entity.Application.ApplicationStatus status);
+    
     // Buscar la primera entrevista de una aplicación
     Optional<Interview> findFirstByApplicationIdOrderByScheduledDateAsc(Long applicationId);
     
@@ -66,6 +79,15 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
         @Param("endDate") LocalDate endDate
     );
     
+    // Ocupación de agenda (sin hidratar entidades) para varios entrevistadores: [interviewerId, fecha, hora, estado]
+    @Query("SELECT i.interviewer.id, i.scheduledDate, i.scheduledTime, i.status FROM Interview i " +
+           "WHERE i.interviewer.id IN :interviewerIds AND i.scheduledDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findScheduleSlotsByInterviewers(
+        @Param("interviewerIds") java.util.Collection<Long> interviewerIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
     // Búsqueda con filtros múltiples
     @Query("SELECT i FROM Interview i WHERE " +
            "(:status IS NULL OR i.status = :status) AND " +
@@ -0,0 +1,23 @@
+package com.desafios.admision_mtn.repository;
+
+import com.desafios.admision_mtn.entity.NotificationCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationCampaignRepository extends JpaRepository<NotificationCampaign, Long> {
+
+    // Campaña más antigua en el estado indicado (el runner procesa una a la vez)
+    Optional<NotificationCampaign> findFirstByStatusOrderByIdAsc(NotificationCampaign.CampaignStatus status);
+
+    // Campaña en curso o pausada de un tipo, para no lanzar dos a la vez
+    Optional<NotificationCampaign> findFirstByCampaignTypeAndStatusIn(NotificationCampaign.CampaignType campaignType,
+                                                                      Collection<NotificationCampaign.CampaignStatus> statuses);
+
+    // Campañas más recientes primero
+    List<NotificationCampaign> findTop50ByOrderByIdDesc();
+}
@@ -0,0 +1,40 @@
+package com.desafios.admision_mtn.repository;
+
+import com.desafios.admision_mtn.entity.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Correos pendientes cuyo próximo intento ya venció, en orden de llegada. Se bloquean con
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): otro poller que reclama al mismo tiempo salta
+    // estas filas en vez de leerlas, y al hacer commit ya tienen el lease puesto
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+           "ORDER BY o.nextAttemptAt, o.id")
+    List<NotificationOutbox> findDue(@Param("status") NotificationOutbox.OutboxStatus status,
+                                     @Param("now") LocalDateTime now,
+                                     Pageable pageable);
+
+    // Contar correos por estado
+    long countByStatus(NotificationOutbox.OutboxStatus status);
+
+    // Eliminar correos enviados antes de una fecha
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = :status AND o.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") NotificationOutbox.OutboxStatus status,
+                                      @Param("before") LocalDateTime before);
+}
@@ -71,7 +71,7 @@ public class RateLimitingFilter implements Filter {
             
             else if (isUploadEndpoint(requestPath)) {
                 String userEmail = extractUserEmail(httpRequest);
-                if (userEmail != null && !rateLimitingService.isFileUploadAllowed(userEmail)) {
+                if (userEmail != null && !rateLimitingService.tryAcquireFileUpload(userEmail)) {
                     handleRateLimitExceeded(httpResponse, "file_upload", userEmail);
                     return;
                 }
@@ -79,24 +79,19 @@ public class RateLimitingFilter implements Filter {
             
             else if (isPasswordEndpoint(requestPath)) {
                 // Para password reset, usar el email del request body si está disponible
-                if (!rateLimitingService.isPasswordResetAllowed(clientIp)) {
+                if (!rateLimitingService.tryAcquirePasswordReset(clientIp)) {
                     handleRateLimitExceeded(httpResponse, "password_reset", clientIp);
                     return;
                 }
             }
             
-            // Rate limiting general para APIs autenticadas
+            // Rate limiting general para APIs autenticadas (verificación y registro atómicos)
             else {
                 String userEmail = extractUserEmail(httpRequest);
-                if (userEmail != null && !rateLimitingService.isApiRequestAllowed(userEmail)) {
+                if (userEmail != null && !rateLimitingService.tryAcquireApiRequest(userEmail)) {
                     handleRateLimitExceeded(httpResponse, "api", userEmail);
                     return;
                 }
-                
-                // Registrar la petición para tracking
-                if (userEmail != null) {
-                    rateLimitingService.recordApiRequest(userEmail);
-                }
             }
             
             // Si todo está OK, continuar con la cadena de filtros
@@ -1,203 +1,349 @@
 package com.desafios.admision_mtn.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Servicio de rate limiting para proteger APIs críticas
- * 
+ *
  * Implementa limitación de peticiones por IP/usuario para prevenir abusos
  * y ataques de fuerza bruta en endpoints sensibles.
+ *
+ * Cada clave usa un token bucket en su variante GCRA: todo el estado es un único
+ * {@code long} (instante teórico de llegada, en nanos de {@link System#nanoTime()})
+ * que se actualiza con CAS, sin locks ni asignaciones por petición.
+ *
+ * Los buckets viven en un almacén Caffeine por política, acotado en tamaño y con expiración
+ * por inactividad igual a la ventana: un bucket sin uso durante una ventana completa ya está
+ * recargado y puede descartarse. Las estadísticas se sirven desde contadores que el propio
+ * almacén mantiene al bloquear, recuperar o desalojar claves.
  */
 @Service
 @Slf4j
 public class RateLimitingService {
-    
-    // Almacén en memoria para contadores de peticiones
-    private final ConcurrentHashMap<String, RequestTracker> requestTrackers = new ConcurrentHashMap<>();
-    
-    // Configuración de límites por tipo de operación
-    private static final int LOGIN_ATTEMPTS_LIMIT = 5; // Por IP en 15 minutos
-    private static final int API_REQUESTS_LIMIT = 100; // Por usuario en 1 minuto
-    private static final int FILE_UPLOAD_LIMIT = 20; // Por usuario en 1 hora
-    private static final int PASSWORD_RESET_LIMIT = 3; // Por email en 1 hora
-    
+
+    /**
+     * Políticas de límite: capacidad de ráfaga y ventana en la que se recupera por completo
+     */
+    public enum RateLimitPolicy {
+        LOGIN(5, 15),    // Por IP en 15 minutos
+        API(100, 1),     // Por usuario en 1 minuto
+        UPLOAD(20, 60),  // Por usuario en 1 hora
+        RESET(3, 60);    // Por email en 1 hora
+
+        private final int limit;
+        private final int windowMinutes;
+
+        RateLimitPolicy(int limit, int windowMinutes) {
+            this.limit = limit;
+            this.windowMinutes = windowMinutes;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getWindowMinutes() {
+            return windowMinutes;
+        }
+    }
+
+    // Máximo de claves por política; ante ráfagas de IPs distintas se desalojan las menos frecuentes
+    private static final int MAX_TRACKERS_PER_POLICY = 50_000;
+
+    // Un almacén por política: la clave es directamente la IP o el email, sin prefijos
+    private final Map<RateLimitPolicy, TrackerStore> requestTrackers = new EnumMap<>(RateLimitPolicy.class);
+
+    public RateLimitingService() {
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            requestTrackers.put(policy, new TrackerStore(policy));
+        }
+    }
+
     /**
      * Verifica límites de intentos de login por IP
      */
     public boolean isLoginAllowed(String clientIp) {
-        String key = "login:" + clientIp;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(LOGIN_ATTEMPTS_LIMIT, 15));
-        
-        return tracker.isAllowed();
+        return isAllowed(RateLimitPolicy.LOGIN, clientIp);
     }
-    
+
     /**
      * Registra un intento de login fallido
      */
     public void recordFailedLogin(String clientIp) {
-        String key = "login:" + clientIp;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(LOGIN_ATTEMPTS_LIMIT, 15));
-        
-        tracker.recordRequest();
-        
-        if (!tracker.isAllowed()) {
+        record(RateLimitPolicy.LOGIN, clientIp);
+
+        if (!isAllowed(RateLimitPolicy.LOGIN, clientIp)) {
             log.warn("🚨 IP {} bloqueada por exceso de intentos de login fallidos", clientIp);
         }
     }
-    
+
     /**
      * Verifica límites de peticiones API por usuario
      */
     public boolean isApiRequestAllowed(String userEmail) {
-        String key = "api:" + userEmail;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(API_REQUESTS_LIMIT, 1));
-        
-        return tracker.isAllowed();
+        return isAllowed(RateLimitPolicy.API, userEmail);
     }
-    
+
     /**
      * Registra una petición API
      */
     public void recordApiRequest(String userEmail) {
-        String key = "api:" + userEmail;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(API_REQUESTS_LIMIT, 1));
-        
-        tracker.recordRequest();
+        record(RateLimitPolicy.API, userEmail);
     }
-    
+
+    /**
+     * Verifica y consume atómicamente una petición API
+     */
+    public boolean tryAcquireApiRequest(String userEmail) {
+        return tryAcquire(RateLimitPolicy.API, userEmail);
+    }
+
     /**
      * Verifica límites de subida de archivos por usuario
      */
     public boolean isFileUploadAllowed(String userEmail) {
-        String key = "upload:" + userEmail;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(FILE_UPLOAD_LIMIT, 60));
-        
-        return tracker.isAllowed();
+        return isAllowed(RateLimitPolicy.UPLOAD, userEmail);
     }
-    
+
     /**
      * Registra una subida de archivo
      */
     public void recordFileUpload(String userEmail) {
-        String key = "upload:" + userEmail;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(FILE_UPLOAD_LIMIT, 60));
-        
-        tracker.recordRequest();
+        record(RateLimitPolicy.UPLOAD, userEmail);
     }
-    
+
+    /**
+     * Verifica y consume atómicamente una subida de archivo
+     */
+    public boolean tryAcquireFileUpload(String userEmail) {
+        return tryAcquire(RateLimitPolicy.UPLOAD, userEmail);
+    }
+
     /**
      * Verifica límites de reset de contraseña por email
      */
     public boolean isPasswordResetAllowed(String email) {
-        String key = "reset:" + email;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(PASSWORD_RESET_LIMIT, 60));
-        
-        return tracker.isAllowed();
+        return isAllowed(RateLimitPolicy.RESET, email);
     }
-    
+
     /**
      * Registra un intento de reset de contraseña
      */
     public void recordPasswordReset(String email) {
-        String key = "reset:" + email;
-        RequestTracker tracker = requestTrackers.computeIfAbsent(key, 
-            k -> new RequestTracker(PASSWORD_RESET_LIMIT, 60));
-        
-        tracker.recordRequest();
+        record(RateLimitPolicy.RESET, email);
+    }
+
+    /**
+     * Verifica y consume atómicamente un intento de reset de contraseña
+     */
+    public boolean tryAcquirePasswordReset(String email) {
+        return tryAcquire(RateLimitPolicy.RESET, email);
     }
-    
+
     /**
-     * Obtiene estadísticas actuales de rate limiting
+     * Verifica sin consumir si la clave tiene capacidad disponible
+     */
+    public boolean isAllowed(RateLimitPolicy policy, String key) {
+        return requestTrackers.get(policy).isAllowed(key, System.nanoTime());
+    }
+
+    /**
+     * Verifica y consume en una sola operación atómica
+     */
+    public boolean tryAcquire(RateLimitPolicy policy, String key) {
+        return requestTrackers.get(policy).tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * Consume capacidad incondicionalmente (la deuda se paga con tiempo de espera)
+     */
+    public void record(RateLimitPolicy policy, String key) {
+        requestTrackers.get(policy).record(key, System.nanoTime());
+    }
+
+    /**
+     * Obtiene estadísticas actuales de rate limiting (O(1), desde contadores)
      */
-    @Cacheable(value = "statistics", key = "'rate-limiting-stats'")
     public RateLimitingStats getStatistics() {
-        int activeTrackers = requestTrackers.size();
-        int blockedIps = 0;
-        int blockedUsers = 0;
-        
-        for (var entry : requestTrackers.entrySet()) {
-            if (!entry.getValue().isAllowed()) {
-                if (entry.getKey().startsWith("login:")) {
-                    blockedIps++;
-                } else {
-                    blockedUsers++;
-                }
+        long activeTrackers = 0;
+        long blockedUsers = 0;
+        for (var policyEntry : requestTrackers.entrySet()) {
+            activeTrackers += policyEntry.getValue().size();
+            if (policyEntry.getKey() != RateLimitPolicy.LOGIN) {
+                blockedUsers += policyEntry.getValue().blockedKeys();
             }
         }
-        
-        return new RateLimitingStats(activeTrackers, blockedIps, blockedUsers);
+        long blockedIps = requestTrackers.get(RateLimitPolicy.LOGIN).blockedKeys();
+
+        return new RateLimitingStats((int) activeTrackers, (int) blockedIps, (int) blockedUsers);
     }
-    
+
     /**
-     * Limpia trackers expirados (mantenimiento)
+     * Fuerza el mantenimiento pendiente de los almacenes (la expiración es automática)
      */
     public void cleanupExpiredTrackers() {
-        LocalDateTime now = LocalDateTime.now();
-        requestTrackers.entrySet().removeIf(entry -> {
-            RequestTracker tracker = entry.getValue();
-            return ChronoUnit.MINUTES.between(tracker.getLastReset(), now) > 
-                   tracker.getWindowMinutes() + 5; // Grace period
-        });
-        
-        log.debug("🧹 Limpieza de rate limiting: {} trackers activos", 
-                 requestTrackers.size());
-    }
-    
-    /**
-     * Clase interna para tracking de peticiones
-     */
-    private static class RequestTracker {
-        private final AtomicInteger requestCount = new AtomicInteger(0);
-        private final int maxRequests;
-        private final int windowMinutes;
-        private volatile LocalDateTime lastReset = LocalDateTime.now();
-        
-        public RequestTracker(int maxRequests, int windowMinutes) {
-            this.maxRequests = maxRequests;
-            this.windowMinutes = windowMinutes;
+        long remaining = 0;
+        for (TrackerStore store : requestTrackers.values()) {
+            store.cleanUp();
+            remaining += store.size();
+        }
+
+        log.debug("🧹 Limpieza de rate limiting: {} trackers activos", remaining);
+    }
+
+    /**
+     * Almacén acotado de buckets de una política con contador de claves bloqueadas
+     *
+     * Una clave cuenta como bloqueada desde que se le rechaza (o agota su capacidad) hasta
+     * que se observa recuperada o se desaloja; el flag del bucket evita contarla dos veces.
+     */
+    private static final class TrackerStore {
+        private final Cache<String, TokenBucket> buckets;
+        private final AtomicLong blocked = new AtomicLong();
+        // Fábrica precreada para que get() no capture lambdas por petición
+        private final Function<String, TokenBucket> bucketFactory;
+
+        private TrackerStore(RateLimitPolicy policy) {
+            this.bucketFactory = key -> new TokenBucket(policy);
+            this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKERS_PER_POLICY)
+                .expireAfterAccess(Duration.ofMinutes(policy.getWindowMinutes()))
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String key, TokenBucket bucket, RemovalCause cause) -> {
+                    if (bucket != null) {
+                        markRecovered(bucket);
+                    }
+                })
+                .build();
         }
-        
-        public boolean isAllowed() {
-            resetIfExpired();
-            return requestCount.get() < maxRequests;
-        }
-        
-        public void recordRequest() {
-            resetIfExpired();
-            requestCount.incrementAndGet();
-        }
-        
-        private void resetIfExpired() {
-            LocalDateTime now = LocalDateTime.now();
-            if (ChronoUnit.MINUTES.between(lastReset, now) >= windowMinutes) {
-                requestCount.set(0);
-                lastReset = now;
+
+        private boolean isAllowed(String key, long now) {
+            TokenBucket bucket = buckets.getIfPresent(key);
+            if (bucket == null) {
+                return true;
+            }
+            boolean allowed = bucket.hasCapacity(now);
+            if (allowed) {
+                markRecovered(bucket);
             }
+            return allowed;
         }
-        
-        public LocalDateTime getLastReset() {
-            return lastReset;
+
+        private boolean tryAcquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key, bucketFactory);
+            boolean acquired = bucket.tryAcquire(now);
+            if (acquired) {
+                markRecovered(bucket);
+            } else {
+                markBlocked(key, bucket);
+            }
+            return acquired;
         }
-        
-        public int getWindowMinutes() {
-            return windowMinutes;
+
+        private void record(String key, long now) {
+            TokenBucket bucket = buckets.get(key, bucketFactory);
+            bucket.consume(now);
+            if (!bucket.hasCapacity(now)) {
+                markBlocked(key, bucket);
+            }
+        }
+
+        /**
+         * Si el bucket se desalojó antes del CAS, su removalListener ya no lo descontará: se
+         * vuelve a comprobar que siga en el cache y, si no, se descuenta aquí (el flag evita
+         * descontarlo dos veces si el listener corre en paralelo)
+         */
+        private void markBlocked(String key, TokenBucket bucket) {
+            if (bucket.blocked.compareAndSet(false, true)) {
+                blocked.incrementAndGet();
+                if (buckets.getIfPresent(key) != bucket) {
+                    markRecovered(bucket);
+                }
+            }
+        }
+
+        private void markRecovered(TokenBucket bucket) {
+            if (bucket.blocked.compareAndSet(true, false)) {
+                blocked.decrementAndGet();
+            }
+        }
+
+        private long blockedKeys() {
+            return blocked.get();
+        }
+
+        private long size() {
+            return buckets.estimatedSize();
+        }
+
+        private void cleanUp() {
+            buckets.cleanUp();
+        }
+    }
+
+    /**
+     * Token bucket (GCRA) sobre un único long actualizado con CAS
+     *
+     * {@code tat} es el instante teórico en que el bucket vuelve a estar lleno. Cada
+     * petición lo adelanta un intervalo de emisión (ventana / límite); la petición se
+     * admite mientras {@code tat} no supere {@code now + tolerancia}. La deuda nunca supera
+     * una ventana, de modo que un bucket sin uso durante una ventana está lleno.
+     */
+    static final class TokenBucket {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final long windowNanos;
+        private final AtomicLong tat;
+        private final AtomicBoolean blocked = new AtomicBoolean();
+
+        TokenBucket(RateLimitPolicy policy) {
+            this.windowNanos = TimeUnit.MINUTES.toNanos(policy.getWindowMinutes());
+            this.emissionIntervalNanos = windowNanos / policy.getLimit();
+            this.burstToleranceNanos = windowNanos - emissionIntervalNanos;
+            this.tat = new AtomicLong(System.nanoTime());
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = tat.get();
+                long base = Math.max(current, now);
+                if (base - now > burstToleranceNanos) {
+                    return false;
+                }
+                if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        void consume(long now) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.min(Math.max(current, now) + emissionIntervalNanos, now + windowNanos);
+                if (tat.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        boolean hasCapacity(long now) {
+            return Math.max(tat.get(), now) - now <= burstToleranceNanos;
         }
     }
-    
+
     /**
      * Record para estadísticas de rate limiting
      */
@@ -206,4 +352,4 @@ public class RateLimitingService {
         int blockedIps,
         int blockedUsers
     ) {}
-}
\ No newline at end of file
+}
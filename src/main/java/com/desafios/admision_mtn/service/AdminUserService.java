@@ -28,6 +28,7 @@ public class AdminUserService {
     private final EvaluationRepository evaluationRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final CacheManagementService cacheManagementService;
     
     public Page<UserResponse> getAllUsers(String search, User.UserRole role, Boolean active, Pageable pageable) {
         Specification<User> spec = Specification.where(null);
@@ -107,6 +108,9 @@ public class AdminUserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
         
+        // Invalidar UserDetails cacheados (email anterior y nuevo)
+        cacheManagementService.evictUserDetails(user.getEmail(), request.getEmail());
+        
         // Validar email único si cambió
         if (!user.getEmail().equals(request.getEmail())) {
             if (userRepository.existsByEmail(request.getEmail())) {
@@ -163,6 +167,7 @@ public class AdminUserService {
         
         user.setActive(false);
         userRepository.save(user);
+        cacheManagementService.evictUserDetails(user.getEmail());
     }
     
     @Transactional
@@ -191,6 +196,7 @@ public class AdminUserService {
         
         // Eliminar permanentemente el usuario de la base de datos
         userRepository.delete(user);
+        cacheManagementService.evictUserDetails(user.getEmail());
     }
     
     @Transactional
@@ -200,6 +206,7 @@ public class AdminUserService {
         
         user.setActive(true);
         User savedUser = userRepository.save(user);
+        cacheManagementService.evictUserDetails(savedUser.getEmail());
         return UserResponse.fromUser(savedUser);
     }
     
@@ -211,6 +218,7 @@ public class AdminUserService {
         String newPassword = generateTemporaryPassword();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        cacheManagementService.evictUserDetails(user.getEmail());
         
         // Enviar email con nueva contraseña
         sendPasswordResetEmail(user, newPassword);
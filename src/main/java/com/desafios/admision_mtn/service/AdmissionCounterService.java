@@ -0,0 +1,324 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.Evaluation;
+import com.desafios.admision_mtn.entity.Interview;
+import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.repository.EvaluationRepository;
+import com.desafios.admision_mtn.repository.InterviewRepository;
+import com.desafios.admision_mtn.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Contadores de admisión mantenidos en memoria
+ *
+ * Se siembran una vez al iniciar la aplicación con consultas GROUP BY y luego se actualizan
+ * con cada alta, cambio de estado o eliminación confirmada de postulaciones, entrevistas,
+ * evaluaciones y usuarios (ver {@code AdmissionCounterEventListener}). Dashboards y gauges
+ * de Prometheus los leen en O(1). Una reconciliación periódica corrige cualquier desviación
+ * frente a la base de datos (por ejemplo, cambios hechos fuera de JPA).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionCounterService {
+
+    private final ApplicationRepository applicationRepository;
+    private final InterviewRepository interviewRepository;
+    private final EvaluationRepository evaluationRepository;
+    private final UserRepository userRepository;
+
+    private final EnumCounter<Application.ApplicationStatus> applicationsByStatus =
+            new EnumCounter<>(Application.ApplicationStatus.class);
+    private final EnumCounter<Interview.InterviewStatus> interviewsByStatus =
+            new EnumCounter<>(Interview.InterviewStatus.class);
+    private final EnumCounter<Interview.InterviewType> interviewsByType =
+            new EnumCounter<>(Interview.InterviewType.class);
+    private final EnumCounter<Interview.InterviewMode> interviewsByMode =
+            new EnumCounter<>(Interview.InterviewMode.class);
+    private final EnumCounter<Evaluation.EvaluationType> evaluationsByType =
+            new EnumCounter<>(Evaluation.EvaluationType.class);
+    private final EnumCounter<Evaluation.EvaluationStatus> evaluationsByStatus =
+            new EnumCounter<>(Evaluation.EvaluationStatus.class);
+    private final AtomicLong totalApplications = new AtomicLong();
+    private final AtomicLong totalInterviews = new AtomicLong();
+    private final AtomicLong totalEvaluations = new AtomicLong();
+    private final AtomicLong totalUsers = new AtomicLong();
+
+    // ================== SIEMBRA Y RECONCILIACIÓN ==================
+
+    /**
+     * Siembra inicial de contadores al arrancar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedCounters() {
+        try {
+            reconcile();
+            log.info("✅ Contadores de admisión sembrados: {} postulaciones, {} entrevistas, {} evaluaciones",
+                    totalApplications.get(), totalInterviews.get(), totalEvaluations.get());
+        } catch (Exception e) {
+            log.error("❌ Error sembrando contadores de admisión", e);
+        }
+    }
+
+    /**
+     * Corrige desviaciones de los contadores frente a la base de datos cada 15 minutos
+     */
+    @Scheduled(fixedDelay = 900000, initialDelay = 900000) // 15 minutos
+    public void reconcileCounters() {
+        try {
+            long drift = reconcile();
+            if (drift > 0) {
+                log.warn("⚠️ Reconciliación de contadores corrigió una desviación de {} registros", drift);
+            } else {
+                log.debug("✅ Contadores de admisión sin desviación");
+            }
+        } catch (Exception e) {
+            log.error("❌ Error reconciliando contadores de admisión", e);
+        }
+    }
+
+    /**
+     * Recalcula todos los contadores desde la base de datos y devuelve la desviación total corregida
+     *
+     * No se sobrescriben los valores: se toma una foto del contador antes de consultar y se
+     * suma la diferencia con la base de datos, así los eventos que llegan mientras corre la
+     * consulta no se pierden. Los totales se cuentan aparte (incluyen filas con estado nulo,
+     * que no aparecen en las distribuciones).
+     */
+    @Transactional(readOnly = true)
+    public long reconcile() {
+        long drift = 0;
+        drift += applicationsByStatus.reconcile(applicationRepository::findStatusDistribution);
+        drift += interviewsByStatus.reconcile(interviewRepository::findStatusDistribution);
+        drift += interviewsByType.reconcile(interviewRepository::findTypeDistribution);
+        drift += interviewsByMode.reconcile(interviewRepository::findModeDistribution);
+        drift += evaluationsByType.reconcile(evaluationRepository::findTypeDistribution);
+        drift += evaluationsByStatus.reconcile(evaluationRepository::findStatusDistribution);
+        drift += reconcileTotal(totalApplications, applicationRepository::count);
+        drift += reconcileTotal(totalInterviews, interviewRepository::count);
+        drift += reconcileTotal(totalEvaluations, evaluationRepository::count);
+        drift += reconcileTotal(totalUsers, userRepository::count);
+        return drift;
+    }
+
+    private long reconcileTotal(AtomicLong counter, LongSupplier query) {
+        long snapshot = counter.get();
+        long delta = query.getAsLong() - snapshot;
+        if (delta != 0) {
+            counter.addAndGet(delta);
+        }
+        return Math.abs(delta);
+    }
+
+    // ================== ACTUALIZACIÓN POR EVENTOS ==================
+
+    public void applicationCreated(Application.ApplicationStatus status) {
+        totalApplications.incrementAndGet();
+        applicationsByStatus.increment(status);
+    }
+
+    public void applicationStatusChanged(Application.ApplicationStatus from, Application.ApplicationStatus to) {
+        applicationsByStatus.move(from, to);
+    }
+
+    public void applicationDeleted(Application.ApplicationStatus status) {
+        totalApplications.decrementAndGet();
+        applicationsByStatus.decrement(status);
+    }
+
+    public void interviewCreated(Interview.InterviewStatus status, Interview.InterviewType type,
+                                 Interview.InterviewMode mode) {
+        totalInterviews.incrementAndGet();
+        interviewsByStatus.increment(status);
+        interviewsByType.increment(type);
+        interviewsByMode.increment(mode);
+    }
+
+    public void interviewChanged(Interview.InterviewStatus fromStatus, Interview.InterviewStatus toStatus,
+                                 Interview.InterviewType fromType, Interview.InterviewType toType,
+                                 Interview.InterviewMode fromMode, Interview.InterviewMode toMode) {
+        interviewsByStatus.move(fromStatus, toStatus);
+        interviewsByType.move(fromType, toType);
+        interviewsByMode.move(fromMode, toMode);
+    }
+
+    public void interviewDeleted(Interview.InterviewStatus status, Interview.InterviewType type,
+                                 Interview.InterviewMode mode) {
+        totalInterviews.decrementAndGet();
+        interviewsByStatus.decrement(status);
+        interviewsByType.decrement(type);
+        interviewsByMode.decrement(mode);
+    }
+
+    public void evaluationCreated(Evaluation.EvaluationType type, Evaluation.EvaluationStatus status) {
+        totalEvaluations.incrementAndGet();
+        evaluationsByType.increment(type);
+        evaluationsByStatus.increment(status);
+    }
+
+    public void evaluationChanged(Evaluation.EvaluationType fromType, Evaluation.EvaluationType toType,
+                                  Evaluation.EvaluationStatus fromStatus, Evaluation.EvaluationStatus toStatus) {
+        evaluationsByType.move(fromType, toType);
+        evaluationsByStatus.move(fromStatus, toStatus);
+    }
+
+    public void evaluationDeleted(Evaluation.EvaluationType type, Evaluation.EvaluationStatus status) {
+        totalEvaluations.decrementAndGet();
+        evaluationsByType.decrement(type);
+        evaluationsByStatus.decrement(status);
+    }
+
+    public void userCreated() {
+        totalUsers.incrementAndGet();
+    }
+
+    public void userDeleted() {
+        totalUsers.decrementAndGet();
+    }
+
+    // ================== LECTURAS O(1) ==================
+
+    public long getTotalApplications() {
+        return totalApplications.get();
+    }
+
+    public long getTotalInterviews() {
+        return totalInterviews.get();
+    }
+
+    public long getTotalEvaluations() {
+        return totalEvaluations.get();
+    }
+
+    public long getTotalUsers() {
+        return totalUsers.get();
+    }
+
+    public long countApplications(Application.ApplicationStatus status) {
+        return applicationsByStatus.get(status);
+    }
+
+    public long countApplications(Application.ApplicationStatus... statuses) {
+        long count = 0;
+        for (Application.ApplicationStatus status : statuses) {
+            count += applicationsByStatus.get(status);
+        }
+        return count;
+    }
+
+    public long countEvaluations(Evaluation.EvaluationStatus status) {
+        return evaluationsByStatus.get(status);
+    }
+
+    public Map<String, Long> getApplicationStatusDistribution() {
+        return applicationsByStatus.asMap();
+    }
+
+    public Map<String, Long> getInterviewStatusDistribution() {
+        return interviewsByStatus.asMap();
+    }
+
+    public Map<String, Long> getInterviewTypeDistribution() {
+        return interviewsByType.asMap();
+    }
+
+    public Map<String, Long> getInterviewModeDistribution() {
+        return interviewsByMode.asMap();
+    }
+
+    public Map<String, Long> getEvaluationTypeDistribution() {
+        return evaluationsByType.asMap();
+    }
+
+    public Map<String, Long> getEvaluationStatusDistribution() {
+        return evaluationsByStatus.asMap();
+    }
+
+    /**
+     * Contador por valor de enum respaldado por un arreglo atómico indexado por ordinal
+     */
+    private static final class EnumCounter<E extends Enum<E>> {
+        private final Class<E> enumType;
+        private final E[] constants;
+        private final AtomicLongArray counts;
+
+        private EnumCounter(Class<E> enumType) {
+            this.enumType = enumType;
+            this.constants = enumType.getEnumConstants();
+            this.counts = new AtomicLongArray(constants.length);
+        }
+
+        private void increment(E value) {
+            if (value != null) {
+                counts.incrementAndGet(value.ordinal());
+            }
+        }
+
+        private void decrement(E value) {
+            if (value != null) {
+                counts.decrementAndGet(value.ordinal());
+            }
+        }
+
+        private void move(E from, E to) {
+            if (from != to) {
+                decrement(from);
+                increment(to);
+            }
+        }
+
+        private long get(E value) {
+            return value != null ? counts.get(value.ordinal()) : 0L;
+        }
+
+        /**
+         * Ajusta los valores a las filas [enum, count] de la consulta sumando la diferencia
+         * contra la foto tomada antes de ejecutarla, y devuelve la desviación absoluta
+         */
+        private long reconcile(Supplier<List<Object[]>> query) {
+            long[] snapshot = new long[constants.length];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+            }
+            Map<E, Long> fresh = new EnumMap<>(enumType);
+            for (Object[] row : query.get()) {
+                if (row[0] != null) {
+                    fresh.put(enumType.cast(row[0]), ((Number) row[1]).longValue());
+                }
+            }
+            long drift = 0;
+            for (E constant : constants) {
+                long delta = fresh.getOrDefault(constant, 0L) - snapshot[constant.ordinal()];
+                if (delta != 0) {
+                    counts.addAndGet(constant.ordinal(), delta);
+                }
+                drift += Math.abs(delta);
+            }
+            return drift;
+        }
+
+        private Map<String, Long> asMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (E constant : constants) {
+                map.put(constant.name(), counts.get(constant.ordinal()));
+            }
+            return map;
+        }
+    }
+}
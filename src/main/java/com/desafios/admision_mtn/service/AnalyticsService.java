@@ -1,19 +1,13 @@
 package com.desafios.admision_mtn.service;
 
-import com.desafios.admision_mtn.entity.Application;
-import com.desafios.admision_mtn.entity.User;
-import com.desafios.admision_mtn.entity.Evaluation;
 import com.desafios.admision_mtn.entity.Application.ApplicationStatus;
 import com.desafios.admision_mtn.entity.User.UserRole;
-import com.desafios.admision_mtn.repository.ApplicationRepository;
-import com.desafios.admision_mtn.repository.UserRepository;
-import com.desafios.admision_mtn.repository.EvaluationRepository;
+import com.desafios.admision_mtn.service.AnalyticsSnapshotService.AnalyticsSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,71 +16,50 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AnalyticsService {
 
-    private final ApplicationRepository applicationRepository;
-    private final UserRepository userRepository;
-    private final EvaluationRepository evaluationRepository;
+    private static final UserRole[] EVALUATOR_ROLES = {
+        UserRole.TEACHER, UserRole.COORDINATOR, UserRole.PSYCHOLOGIST, UserRole.CYCLE_DIRECTOR
+    };
+
+    private final AnalyticsSnapshotService analyticsSnapshotService;
 
     /**
      * Obtener métricas principales del dashboard
      */
     public Map<String, Object> getDashboardMetrics() {
+        return getDashboardMetrics(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getDashboardMetrics(AnalyticsSnapshot snapshot) {
         log.info("📊 Calculando métricas principales del dashboard");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        List<User> allUsers = userRepository.findAll();
-        List<Evaluation> allEvaluations = evaluationRepository.findAll();
-        
+        long totalApplications = snapshot.totalApplications();
         Map<String, Object> metrics = new HashMap<>();
         
         // Total de postulaciones
-        metrics.put("totalApplications", allApplications.size());
+        metrics.put("totalApplications", totalApplications);
         
         // Postulaciones del último mes
-        LocalDateTime lastMonth = LocalDateTime.now().minusMonths(1);
-        long applicationsThisMonth = allApplications.stream()
-            .filter(app -> app.getCreatedAt().isAfter(lastMonth))
-            .count();
-        metrics.put("applicationsThisMonth", applicationsThisMonth);
+        metrics.put("applicationsThisMonth", snapshot.applicationsLastMonth());
         
         // Tasa de conversión (aceptadas)
-        long acceptedApplications = allApplications.stream()
-            .filter(app -> app.getStatus() == ApplicationStatus.APPROVED)
-            .count();
-        double conversionRate = allApplications.isEmpty() ? 0.0 : 
-            (double) acceptedApplications / allApplications.size() * 100;
+        long acceptedApplications = snapshot.countByStatus(ApplicationStatus.APPROVED);
+        double conversionRate = totalApplications == 0 ? 0.0 : 
+            (double) acceptedApplications / totalApplications * 100;
         metrics.put("conversionRate", Math.round(conversionRate));
         metrics.put("acceptedApplications", acceptedApplications);
         
         // Tiempo promedio para completar postulación
-        double averageCompletionDays = allApplications.stream()
-            .filter(app -> app.getSubmissionDate() != null)
-            .mapToLong(app -> {
-                return java.time.Duration.between(app.getCreatedAt(), app.getSubmissionDate()).toDays();
-            })
-            .average()
-            .orElse(0.0);
-        metrics.put("averageCompletionDays", Math.round(averageCompletionDays));
+        metrics.put("averageCompletionDays", Math.round(snapshot.averageCompletionDays()));
         
         // Evaluadores activos
-        long activeEvaluators = allUsers.stream()
-            .filter(user -> user.getActive())
-            .filter(user -> Arrays.asList(
-                UserRole.TEACHER, 
-                UserRole.COORDINATOR, 
-                UserRole.PSYCHOLOGIST, 
-                UserRole.CYCLE_DIRECTOR
-            ).contains(user.getRole()))
-            .count();
+        long activeEvaluators = snapshot.activeUsers(EVALUATOR_ROLES);
         metrics.put("activeEvaluators", activeEvaluators);
         
         // Total usuarios activos
-        long totalActiveUsers = allUsers.stream()
-            .filter(user -> user.getActive())
-            .count();
-        metrics.put("totalActiveUsers", totalActiveUsers);
+        metrics.put("totalActiveUsers", snapshot.totalActiveUsers());
         
         log.info("✅ Métricas principales calculadas: {} postulaciones, {}% conversión, {} evaluadores", 
-                allApplications.size(), Math.round(conversionRate), activeEvaluators);
+                totalApplications, Math.round(conversionRate), activeEvaluators);
         
         return metrics;
     }
@@ -95,25 +68,28 @@ public class AnalyticsService {
      * Obtener distribución por estado de postulaciones
      */
     public Map<String, Object> getStatusDistribution() {
+        return getStatusDistribution(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getStatusDistribution(AnalyticsSnapshot snapshot) {
         log.info("📈 Calculando distribución por estado");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        
-        Map<String, Long> statusCount = allApplications.stream()
-            .collect(Collectors.groupingBy(
-                app -> app.getStatus().name(),
-                Collectors.counting()
+        long totalApplications = snapshot.totalApplications();
+        Map<String, Long> statusCount = snapshot.applicationsByStatus().entrySet().stream()
+            .collect(Collectors.toMap(
+                entry -> entry.getKey().name(),
+                Map.Entry::getValue
             ));
         
         Map<String, Object> distribution = new HashMap<>();
         distribution.put("statusCount", statusCount);
-        distribution.put("totalApplications", allApplications.size());
+        distribution.put("totalApplications", totalApplications);
         
         // Calcular porcentajes
         Map<String, Double> statusPercentages = new HashMap<>();
         for (Map.Entry<String, Long> entry : statusCount.entrySet()) {
-            double percentage = allApplications.isEmpty() ? 0.0 : 
-                (double) entry.getValue() / allApplications.size() * 100;
+            double percentage = totalApplications == 0 ? 0.0 : 
+                (double) entry.getValue() / totalApplications * 100;
             statusPercentages.put(entry.getKey(), Math.round(percentage * 100.0) / 100.0);
         }
         distribution.put("statusPercentages", statusPercentages);
@@ -126,26 +102,24 @@ public class AnalyticsService {
      * Obtener distribución por grado académico
      */
     public Map<String, Object> getGradeDistribution() {
+        return getGradeDistribution(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getGradeDistribution(AnalyticsSnapshot snapshot) {
         log.info("📚 Calculando distribución por grado");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        
-        Map<String, Long> gradeCount = allApplications.stream()
-            .collect(Collectors.groupingBy(
-                app -> app.getStudent().getGradeApplied() != null ? 
-                    app.getStudent().getGradeApplied() : "Sin especificar",
-                Collectors.counting()
-            ));
+        long totalApplications = snapshot.totalApplications();
+        Map<String, Long> gradeCount = new HashMap<>(snapshot.applicationsByGrade());
         
         Map<String, Object> distribution = new HashMap<>();
         distribution.put("gradeCount", gradeCount);
-        distribution.put("totalApplications", allApplications.size());
+        distribution.put("totalApplications", totalApplications);
         
         // Calcular porcentajes
         Map<String, Double> gradePercentages = new HashMap<>();
         for (Map.Entry<String, Long> entry : gradeCount.entrySet()) {
-            double percentage = allApplications.isEmpty() ? 0.0 : 
-                (double) entry.getValue() / allApplications.size() * 100;
+            double percentage = totalApplications == 0 ? 0.0 : 
+                (double) entry.getValue() / totalApplications * 100;
             gradePercentages.put(entry.getKey(), Math.round(percentage * 100.0) / 100.0);
         }
         distribution.put("gradePercentages", gradePercentages);
@@ -158,15 +132,16 @@ public class AnalyticsService {
      * Obtener análisis de evaluadores
      */
     public Map<String, Object> getEvaluatorAnalysis() {
+        return getEvaluatorAnalysis(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getEvaluatorAnalysis(AnalyticsSnapshot snapshot) {
         log.info("👥 Calculando análisis de evaluadores");
         
-        List<User> allUsers = userRepository.findAll();
-        
-        Map<String, Long> evaluatorsByRole = allUsers.stream()
-            .filter(user -> user.getActive())
-            .collect(Collectors.groupingBy(
-                user -> user.getRole().name(),
-                Collectors.counting()
+        Map<String, Long> evaluatorsByRole = snapshot.activeUsersByRole().entrySet().stream()
+            .collect(Collectors.toMap(
+                entry -> entry.getKey().name(),
+                Map.Entry::getValue
             ));
         
         // Contar evaluadores por tipo específico
@@ -178,12 +153,7 @@ public class AnalyticsService {
         analysis.put("admin", evaluatorsByRole.getOrDefault("ADMIN", 0L));
         
         // Total de evaluadores activos
-        long totalEvaluators = Arrays.asList(
-            UserRole.TEACHER, UserRole.COORDINATOR, 
-            UserRole.PSYCHOLOGIST, UserRole.CYCLE_DIRECTOR
-        ).stream()
-            .mapToLong(role -> evaluatorsByRole.getOrDefault(role.name(), 0L))
-            .sum();
+        long totalEvaluators = snapshot.activeUsers(EVALUATOR_ROLES);
         
         analysis.put("totalEvaluators", totalEvaluators);
         analysis.put("evaluatorsByRole", evaluatorsByRole);
@@ -196,16 +166,14 @@ public class AnalyticsService {
      * Obtener tendencias temporales
      */
     public Map<String, Object> getTemporalTrends() {
+        return getTemporalTrends(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getTemporalTrends(AnalyticsSnapshot snapshot) {
         log.info("📅 Calculando tendencias temporales");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        
         // Agrupamos por mes (últimos 6 meses)
-        Map<String, Long> monthlyApplications = allApplications.stream()
-            .collect(Collectors.groupingBy(
-                app -> app.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                Collectors.counting()
-            ));
+        Map<String, Long> monthlyApplications = snapshot.applicationsByMonth();
         
         // Ordenamos y tomamos los últimos 6 meses
         Map<String, Long> last6Months = monthlyApplications.entrySet()
@@ -223,12 +191,9 @@ public class AnalyticsService {
         trends.put("monthlyApplications", last6Months);
         
         // Comparación mes actual vs anterior
-        LocalDateTime now = LocalDateTime.now();
-        String currentMonth = now.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        String lastMonth = now.minusMonths(1).format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        
-        long currentMonthCount = monthlyApplications.getOrDefault(currentMonth, 0L);
-        long lastMonthCount = monthlyApplications.getOrDefault(lastMonth, 0L);
+        LocalDateTime now = snapshot.takenAt();
+        long currentMonthCount = snapshot.countByMonth(now);
+        long lastMonthCount = snapshot.countByMonth(now.minusMonths(1));
         
         trends.put("currentMonthApplications", currentMonthCount);
         trends.put("lastMonthApplications", lastMonthCount);
@@ -249,38 +214,35 @@ public class AnalyticsService {
      * Obtener métricas de rendimiento del proceso
      */
     public Map<String, Object> getPerformanceMetrics() {
+        return getPerformanceMetrics(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getPerformanceMetrics(AnalyticsSnapshot snapshot) {
         log.info("⚡ Calculando métricas de rendimiento");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        
+        long totalApplications = snapshot.totalApplications();
         Map<String, Object> metrics = new HashMap<>();
         
         // Postulaciones completadas (no en PENDING)
-        long completedApplications = allApplications.stream()
-            .filter(app -> app.getStatus() != ApplicationStatus.PENDING)
-            .count();
-        double completionRate = allApplications.isEmpty() ? 0.0 : 
-            (double) completedApplications / allApplications.size() * 100;
+        long completedApplications = totalApplications - snapshot.countByStatus(ApplicationStatus.PENDING);
+        double completionRate = totalApplications == 0 ? 0.0 : 
+            (double) completedApplications / totalApplications * 100;
         metrics.put("completionRate", Math.round(completionRate * 100.0) / 100.0);
         
         // En proceso de evaluación
-        long underReviewApplications = allApplications.stream()
-            .filter(app -> app.getStatus() == ApplicationStatus.UNDER_REVIEW)
-            .count();
-        double underReviewRate = allApplications.isEmpty() ? 0.0 : 
-            (double) underReviewApplications / allApplications.size() * 100;
+        long underReviewApplications = snapshot.countByStatus(ApplicationStatus.UNDER_REVIEW);
+        double underReviewRate = totalApplications == 0 ? 0.0 : 
+            (double) underReviewApplications / totalApplications * 100;
         metrics.put("underReviewRate", Math.round(underReviewRate * 100.0) / 100.0);
         
         // Proceso finalizado (APPROVED, REJECTED, WAITLIST)
-        long finalizedApplications = allApplications.stream()
-            .filter(app -> Arrays.asList(
-                ApplicationStatus.APPROVED, 
-                ApplicationStatus.REJECTED, 
-                ApplicationStatus.WAITLIST
-            ).contains(app.getStatus()))
-            .count();
-        double finalizationRate = allApplications.isEmpty() ? 0.0 : 
-            (double) finalizedApplications / allApplications.size() * 100;
+        long finalizedApplications = snapshot.countByStatusIn(
+            ApplicationStatus.APPROVED, 
+            ApplicationStatus.REJECTED, 
+            ApplicationStatus.WAITLIST
+        );
+        double finalizationRate = totalApplications == 0 ? 0.0 : 
+            (double) finalizedApplications / totalApplications * 100;
         metrics.put("finalizationRate", Math.round(finalizationRate * 100.0) / 100.0);
         
         metrics.put("completedApplications", completedApplications);
@@ -296,18 +258,18 @@ public class AnalyticsService {
      * Obtener insights y recomendaciones
      */
     public Map<String, Object> getInsights() {
+        return getInsights(analyticsSnapshotService.takeSnapshot());
+    }
+
+    private Map<String, Object> getInsights(AnalyticsSnapshot snapshot) {
         log.info("💡 Generando insights y recomendaciones");
         
-        List<Application> allApplications = applicationRepository.findAll();
-        List<User> allUsers = userRepository.findAll();
-        
+        long totalApplications = snapshot.totalApplications();
         Map<String, Object> insights = new HashMap<>();
         List<Map<String, String>> recommendations = new ArrayList<>();
         
         // Carga de trabajo
-        long underReviewCount = allApplications.stream()
-            .filter(app -> app.getStatus() == ApplicationStatus.UNDER_REVIEW)
-            .count();
+        long underReviewCount = snapshot.countByStatus(ApplicationStatus.UNDER_REVIEW);
         
         Map<String, String> workloadInsight = new HashMap<>();
         workloadInsight.put("type", "workload");
@@ -325,11 +287,9 @@ public class AnalyticsService {
         recommendations.add(workloadInsight);
         
         // Eficiencia del proceso
-        long completedApplications = allApplications.stream()
-            .filter(app -> app.getStatus() != ApplicationStatus.PENDING)
-            .count();
-        double completionRate = allApplications.isEmpty() ? 0.0 : 
-            (double) completedApplications / allApplications.size();
+        long completedApplications = totalApplications - snapshot.countByStatus(ApplicationStatus.PENDING);
+        double completionRate = totalApplications == 0 ? 0.0 : 
+            (double) completedApplications / totalApplications;
         
         Map<String, String> efficiencyInsight = new HashMap<>();
         efficiencyInsight.put("type", "efficiency");
@@ -344,35 +304,22 @@ public class AnalyticsService {
         recommendations.add(efficiencyInsight);
         
         // Recursos humanos
-        long activeEvaluators = allUsers.stream()
-            .filter(user -> user.getActive())
-            .filter(user -> Arrays.asList(
-                UserRole.TEACHER, UserRole.COORDINATOR, 
-                UserRole.PSYCHOLOGIST, UserRole.CYCLE_DIRECTOR
-            ).contains(user.getRole()))
-            .count();
+        long activeEvaluators = snapshot.activeUsers(EVALUATOR_ROLES);
         
         Map<String, String> resourcesInsight = new HashMap<>();
         resourcesInsight.put("type", "resources");
         resourcesInsight.put("title", "Recursos Humanos");
         resourcesInsight.put("message", String.format(
             "%d evaluadores activos para %d postulaciones.", 
-            activeEvaluators, allApplications.size()
+            activeEvaluators, totalApplications
         ));
         resourcesInsight.put("level", "info");
         recommendations.add(resourcesInsight);
         
         // Tendencia general
-        LocalDateTime now = LocalDateTime.now();
-        String currentMonth = now.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        String lastMonth = now.minusMonths(1).format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        
-        long currentMonthCount = allApplications.stream()
-            .filter(app -> app.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")).equals(currentMonth))
-            .count();
-        long lastMonthCount = allApplications.stream()
-            .filter(app -> app.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")).equals(lastMonth))
-            .count();
+        LocalDateTime now = snapshot.takenAt();
+        long currentMonthCount = snapshot.countByMonth(now);
+        long lastMonthCount = snapshot.countByMonth(now.minusMonths(1));
         
         Map<String, String> trendInsight = new HashMap<>();
         trendInsight.put("type", "trend");
@@ -406,7 +353,8 @@ public class AnalyticsService {
     }
 
     /**
-     * Obtener todas las métricas de análisis en una sola llamada
+     * Obtener todas las métricas de análisis en una sola llamada.
+     * Todas las secciones comparten el mismo snapshot (una consulta por tabla).
      */
     public Map<String, Object> getCompleteAnalytics() {
         log.info("🎯 Generando análisis completo");
@@ -414,13 +362,14 @@ public class AnalyticsService {
         Map<String, Object> completeAnalytics = new HashMap<>();
         
         try {
-            completeAnalytics.put("dashboardMetrics", getDashboardMetrics());
-            completeAnalytics.put("statusDistribution", getStatusDistribution());
-            completeAnalytics.put("gradeDistribution", getGradeDistribution());
-            completeAnalytics.put("evaluatorAnalysis", getEvaluatorAnalysis());
-            completeAnalytics.put("temporalTrends", getTemporalTrends());
-            completeAnalytics.put("performanceMetrics", getPerformanceMetrics());
-            completeAnalytics.put("insights", getInsights());
+            AnalyticsSnapshot snapshot = analyticsSnapshotService.takeSnapshot();
+            completeAnalytics.put("dashboardMetrics", getDashboardMetrics(snapshot));
+            completeAnalytics.put("statusDistribution", getStatusDistribution(snapshot));
+            completeAnalytics.put("gradeDistribution", getGradeDistribution(snapshot));
+            completeAnalytics.put("evaluatorAnalysis", getEvaluatorAnalysis(snapshot));
+            completeAnalytics.put("temporalTrends", getTemporalTrends(snapshot));
+            completeAnalytics.put("performanceMetrics", getPerformanceMetrics(snapshot));
+            completeAnalytics.put("insights", getInsights(snapshot));
             
             completeAnalytics.put("generatedAt", LocalDateTime.now().toString());
             
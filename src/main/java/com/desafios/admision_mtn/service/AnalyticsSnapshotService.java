@@ -0,0 +1,153 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Application.ApplicationStatus;
+import com.desafios.admision_mtn.entity.User.UserRole;
+import com.desafios.admision_mtn.repository.DashboardAggregateRepository;
+import com.desafios.admision_mtn.repository.DashboardAggregateRepository.ApplicationAnalyticsRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Motor de snapshots para analytics
+ *
+ * Calcula todos los contadores de analytics con una consulta por tabla: las postulaciones
+ * se recorren en una sola pasada sobre una proyección liviana (sin entidades) y los usuarios
+ * se agrupan por rol y estado en la base de datos. El snapshot resultante es inmutable y se
+ * comparte entre todos los métodos de {@link AnalyticsService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsSnapshotService {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final DashboardAggregateRepository dashboardAggregateRepository;
+
+    /**
+     * Construir un snapshot nuevo (2 consultas: postulaciones y usuarios)
+     */
+    @Transactional(readOnly = true)
+    public AnalyticsSnapshot takeSnapshot() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        ApplicationAccumulator accumulator = new ApplicationAccumulator(now.minusMonths(1));
+        try (Stream<ApplicationAnalyticsRow> rows = dashboardAggregateRepository.streamApplicationAnalyticsRows()) {
+            rows.forEach(accumulator::accept);
+        }
+
+        Map<UserRole, Long> activeUsersByRole = new EnumMap<>(UserRole.class);
+        for (DashboardAggregateRepository.RoleActiveCount row : dashboardAggregateRepository.countUsersByRoleAndActive()) {
+            if (Boolean.TRUE.equals(row.active())) {
+                activeUsersByRole.merge(row.role(), row.count(), Long::sum);
+            }
+        }
+
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot(
+                now,
+                accumulator.total,
+                accumulator.createdLastMonth,
+                accumulator.completionDaysCount == 0 ? 0.0
+                        : (double) accumulator.completionDaysSum / accumulator.completionDaysCount,
+                Map.copyOf(accumulator.statusCount),
+                Map.copyOf(accumulator.gradeCount),
+                Map.copyOf(accumulator.monthlyCount),
+                Map.copyOf(activeUsersByRole)
+        );
+
+        log.debug("📸 Snapshot de analytics generado en {} ms ({} postulaciones)",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), snapshot.totalApplications());
+        return snapshot;
+    }
+
+    /**
+     * Acumulador mutable de una sola pasada; nunca sale de este servicio
+     */
+    private static final class ApplicationAccumulator {
+        private final LocalDateTime lastMonth;
+        private final Map<ApplicationStatus, Long> statusCount = new EnumMap<>(ApplicationStatus.class);
+        private final Map<String, Long> gradeCount = new HashMap<>();
+        private final Map<String, Long> monthlyCount = new HashMap<>();
+        private long total;
+        private long createdLastMonth;
+        private long completionDaysSum;
+        private long completionDaysCount;
+
+        private ApplicationAccumulator(LocalDateTime lastMonth) {
+            this.lastMonth = lastMonth;
+        }
+
+        private void accept(ApplicationAnalyticsRow row) {
+            total++;
+            if (row.status() != null) {
+                statusCount.merge(row.status(), 1L, Long::sum);
+            }
+            gradeCount.merge(row.gradeApplied() != null ? row.gradeApplied() : "Sin especificar", 1L, Long::sum);
+
+            LocalDateTime createdAt = row.createdAt();
+            if (createdAt != null) {
+                monthlyCount.merge(createdAt.format(MONTH_FORMAT), 1L, Long::sum);
+                if (createdAt.isAfter(lastMonth)) {
+                    createdLastMonth++;
+                }
+                if (row.submissionDate() != null) {
+                    completionDaysSum += Duration.between(createdAt, row.submissionDate()).toDays();
+                    completionDaysCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Snapshot inmutable de contadores de analytics
+     */
+    public record AnalyticsSnapshot(
+            LocalDateTime takenAt,
+            long totalApplications,
+            long applicationsLastMonth,
+            double averageCompletionDays,
+            Map<ApplicationStatus, Long> applicationsByStatus,
+            Map<String, Long> applicationsByGrade,
+            Map<String, Long> applicationsByMonth,
+            Map<UserRole, Long> activeUsersByRole
+    ) {
+        public long countByStatus(ApplicationStatus status) {
+            return applicationsByStatus.getOrDefault(status, 0L);
+        }
+
+        public long countByStatusIn(ApplicationStatus... statuses) {
+            long count = 0;
+            for (ApplicationStatus status : statuses) {
+                count += countByStatus(status);
+            }
+            return count;
+        }
+
+        public long countByMonth(LocalDateTime month) {
+            return applicationsByMonth.getOrDefault(month.format(MONTH_FORMAT), 0L);
+        }
+
+        public long activeUsers(UserRole... roles) {
+            long count = 0;
+            for (UserRole role : roles) {
+                count += activeUsersByRole.getOrDefault(role, 0L);
+            }
+            return count;
+        }
+
+        public long totalActiveUsers() {
+            return activeUsersByRole.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.desafios.admision_mtn.service;
 
+import com.desafios.admision_mtn.dto.ApplicationPageResponse;
 import com.desafios.admision_mtn.dto.ApplicationResponse;
 import com.desafios.admision_mtn.dto.CreateApplicationRequest;
 import com.desafios.admision_mtn.entity.*;
+import com.desafios.admision_mtn.repository.ApplicationListingRepository;
+import com.desafios.admision_mtn.repository.ApplicationListingRepository.ApplicationListRow;
 import com.desafios.admision_mtn.repository.ApplicationRepository;
 import com.desafios.admision_mtn.repository.UserRepository;
 import com.desafios.admision_mtn.repository.EvaluationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,10 +31,29 @@ import java.util.stream.Collectors;
 @Transactional
 public class ApplicationService {
 
+    private static final int RECENT_APPLICATIONS_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ApplicationRepository applicationRepository;
     private final UserRepository userRepository;
     private final EvaluationRepository evaluationRepository;
-    private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+    private final ApplicationListingRepository applicationListingRepository;
+
+    /**
+     * Completa al iniciar el curso desnormalizado de las postulaciones anteriores a la columna
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillGradeApplied() {
+        try {
+            int updated = applicationListingRepository.backfillGradeApplied();
+            if (updated > 0) {
+                log.info("✅ Curso copiado a {} postulaciones para el listado por curso", updated);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error copiando el curso a las postulaciones", e);
+        }
+    }
 
     public ApplicationResponse createApplication(CreateApplicationRequest request, String userEmail) {
         try {
@@ -129,63 +156,65 @@ public class ApplicationService {
         return applicationRepository.findByApplicantUserWithStudent(user);
     }
 
-    public List<Application> getAllApplications() {
+    /**
+     * Las postulaciones más recientes como filas proyectadas (endpoints /admin/all y
+     * /public/all): solo columnas de la postulación y del estudiante, sin apoderados ni el
+     * usuario postulante. Para recorrer todo el listado usar {@link #listApplications}
+     */
+    @Transactional(readOnly = true)
+    public List<ApplicationListRow> getAllApplications() {
+        return applicationListingRepository.findPage(null, null, null, null, RECENT_APPLICATIONS_LIMIT);
+    }
+
+    /**
+     * Página del listado de administración, filtrada por estado y/o curso
+     *
+     * @param cursor {@code nextCursor} de la página anterior, o null para la primera
+     */
+    @Transactional(readOnly = true)
+    public ApplicationPageResponse listApplications(Application.ApplicationStatus status, String gradeApplied,
+                                                    String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageCursor after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+
+        // Una fila extra indica si hay página siguiente sin hacer COUNT
+        List<ApplicationListRow> rows = applicationListingRepository.findPage(status, gradeApplied,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        ApplicationListRow last = hasMore ? rows.get(rows.size() - 1) : null;
+
+        return ApplicationPageResponse.builder()
+                .applications(rows)
+                .size(rows.size())
+                .hasMore(hasMore)
+                .nextCursor(last != null ? encodeCursor(last.createdAt(), last.id()) : null)
+                .build();
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decodeCursor(String cursor) {
         try {
-            log.info("Attempting to fetch all applications...");
-            
-            // TEMPORAL: Usar JDBC directo para esquivar problemas de Hibernate
-            try {
-                Integer jdbcCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM applications", Integer.class);
-                log.info("JdbcTemplate finds {} applications in database", jdbcCount);
-                
-                if (jdbcCount > 0) {
-                    // Si hay datos, usar consulta JDBC para obtener los datos básicos
-                    List<Map<String, Object>> rawData = jdbcTemplate.queryForList(
-                        "SELECT a.id, a.status, a.submission_date, a.created_at, " +
-                        "s.first_name, s.paternal_last_name, s.maternal_last_name, s.rut " +
-                        "FROM applications a " +
-                        "LEFT JOIN students s ON a.student_id = s.id " +
-                        "ORDER BY a.created_at DESC LIMIT 50"
-                    );
-                    
-                    log.info("Retrieved {} application records using JDBC", rawData.size());
-                    
-                    // Convertir a objetos Application básicos (sin relaciones completas)
-                    List<Application> applications = rawData.stream().map(row -> {
-                        Application app = new Application();
-                        app.setId(((Number) row.get("id")).longValue());
-                        app.setStatus(Application.ApplicationStatus.valueOf((String) row.get("status")));
-                        
-                        // Crear un objeto Student básico
-                        Student student = new Student();
-                        student.setFirstName((String) row.get("first_name"));
-                        student.setLastName((String) row.get("paternal_last_name"));
-                        student.setMaternalLastName((String) row.get("maternal_last_name"));
-                        student.setRut((String) row.get("rut"));
-                        app.setStudent(student);
-                        
-                        return app;
-                    }).collect(Collectors.toList());
-                    
-                    log.info("Successfully converted {} JDBC records to Application objects", applications.size());
-                    return applications;
-                }
-            } catch (Exception jdbcEx) {
-                log.error("JDBC query failed: {}", jdbcEx.getMessage(), jdbcEx);
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
             }
-            
-            // Fallback al método JPA original
-            List<Application> applications = applicationRepository.findAll();
-            log.info("JPA Repository found {} applications", applications.size());
-            
-            return applications;
-            
-        } catch (Exception e) {
-            log.error("Error fetching applications: {}", e.getMessage(), e);
-            return new ArrayList<>();
+            return new PageCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
         }
     }
 
+    // Última fila (created_at, id) de la página anterior
+    private record PageCursor(LocalDateTime createdAt, Long id) {}
+
     public Application getApplicationById(Long id) {
         return applicationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Postulación no encontrada"));
@@ -4,13 +4,24 @@ import com.desafios.admision_mtn.entity.*;
 import com.desafios.admision_mtn.repository.*;
 import com.desafios.admision_mtn.service.ApplicationService;
 import com.desafios.admision_mtn.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para manejar las transiciones automáticas de estados de aplicaciones
@@ -20,6 +31,10 @@ import java.util.*;
  * 2. UNDER_REVIEW → INTERVIEW_SCHEDULED (cuando evaluaciones están asignadas)
  * 3. INTERVIEW_SCHEDULED → EXAM_SCHEDULED (cuando entrevista está completada)
  * 4. EXAM_SCHEDULED → APPROVED/REJECTED/WAITLIST (cuando evaluaciones están completas)
+ *
+ * Las reglas se evalúan sobre {@link TransitionFacts} precargados (documentos, evaluaciones y
+ * entrevistas) para que la evaluación masiva pueda cargar un bloque completo con pocas
+ * consultas IN y evaluar las reglas en paralelo.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +48,58 @@ public class ApplicationWorkflowService {
     private final InterviewRepository interviewRepository;
     private final NotificationService notificationService;
     private final StateTransitionValidationService stateValidationService;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    private static final List<Application.ApplicationStatus> ACTIVE_STATUSES = List.of(
+        Application.ApplicationStatus.PENDING,
+        Application.ApplicationStatus.DOCUMENTS_REQUESTED,
+        Application.ApplicationStatus.UNDER_REVIEW,
+        Application.ApplicationStatus.INTERVIEW_SCHEDULED,
+        Application.ApplicationStatus.EXAM_SCHEDULED
+    );
+    
+    @Value("${app.workflow.transition-chunk-size:200}")
+    private int transitionChunkSize;
+    
+    private final AtomicInteger pendingInRun = new AtomicInteger();
+    private Counter evaluatedCounter;
+    private Counter advancedCounter;
+    private Counter failedCounter;
+    private Timer chunkTimer;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("workflow.transitions.pending", pendingInRun, AtomicInteger::get)
+                .description("Aplicaciones por evaluar en la evaluación masiva en curso")
+                .register(meterRegistry);
+        evaluatedCounter = Counter.builder("workflow.transitions.evaluated")
+                .description("Aplicaciones evaluadas para transición automática")
+                .register(meterRegistry);
+        advancedCounter = Counter.builder("workflow.transitions.advanced")
+                .description("Aplicaciones que avanzaron de estado automáticamente")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("workflow.transitions.failed")
+                .description("Aplicaciones con error durante la evaluación automática")
+                .register(meterRegistry);
+        chunkTimer = Timer.builder("workflow.transitions.chunk")
+                .description("Duración de evaluación y commit por bloque")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Datos precargados que necesitan las reglas de transición de una aplicación
+     */
+    private record TransitionFacts(List<Document.DocumentType> missingDocuments,
+                                   List<EvaluationFacts> evaluations,
+                                   Interview.InterviewStatus firstInterviewStatus) {
+    }
+    
+    private record EvaluationFacts(Evaluation.EvaluationType type,
+                                   Evaluation.EvaluationStatus status,
+                                   Integer score,
+                                   boolean assigned) {}
     
     /**
      * Evalúa si una aplicación puede avanzar automáticamente al siguiente estado
@@ -40,15 +107,64 @@ public class ApplicationWorkflowService {
     public boolean evaluateAndAdvanceApplication(Long applicationId) {
         Application application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Aplicación no encontrada"));
-                
+        
+        TransitionFacts facts = loadTransitionFacts(List.of(applicationId)).get(applicationId);
+        Application.ApplicationStatus nextStatus = determineNextStatus(application, facts);
+        Map<Long, StateTransitionValidationService.ValidationResult> validations =
+                validateAutoTransitions(List.of(application), Map.of(applicationId, nextStatus));
+        return applyTransition(application, facts, nextStatus, validations.get(applicationId));
+    }
+    
+    /**
+     * Valida en lote las transiciones automáticas decididas para un bloque
+     *
+     * Una sola llamada a {@link StateTransitionValidationService#validateTransitions} carga el
+     * contexto de todas las aplicaciones del bloque. Solo se incluyen las aplicaciones cuyo
+     * próximo estado es distinto del actual y está permitido por el flujo automático.
+     */
+    private Map<Long, StateTransitionValidationService.ValidationResult> validateAutoTransitions(
+            List<Application> applications, Map<Long, Application.ApplicationStatus> nextStatuses) {
+        List<StateTransitionValidationService.TransitionRequest> requests = new ArrayList<>();
+        for (Application application : applications) {
+            Application.ApplicationStatus nextStatus = nextStatuses.get(application.getId());
+            if (nextStatus != application.getStatus() && canTransitionTo(application.getStatus(), nextStatus)) {
+                requests.add(new StateTransitionValidationService.TransitionRequest(
+                        application.getId(), application.getStatus(), nextStatus));
+            }
+        }
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+        
+        List<StateTransitionValidationService.ValidationResult> results = stateValidationService.validateTransitions(requests);
+        Map<Long, StateTransitionValidationService.ValidationResult> byApplication = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            byApplication.put(requests.get(i).applicationId(), results.get(i));
+        }
+        return byApplication;
+    }
+    
+    /**
+     * Aplica la transición ya decidida y validada: persiste, audita y notifica
+     */
+    private boolean applyTransition(Application application, TransitionFacts facts,
+                                    Application.ApplicationStatus nextStatus,
+                                    StateTransitionValidationService.ValidationResult validationResult) {
+        Long applicationId = application.getId();
         Application.ApplicationStatus currentStatus = application.getStatus();
-        Application.ApplicationStatus nextStatus = determineNextStatus(application);
+        
+        if (currentStatus == Application.ApplicationStatus.UNDER_REVIEW
+                && nextStatus == Application.ApplicationStatus.DOCUMENTS_REQUESTED) {
+            // 📧 NOTIFICAR DOCUMENTOS FALTANTES (el correo se encola en esta misma transacción)
+            List<String> missingDocs = facts.missingDocuments().stream()
+                    .map(Enum::name)
+                    .toList();
+            notificationService.notifyMissingDocuments(application, missingDocs);
+            log.info("📄 Notificación de documentos faltantes enviada para aplicación {}", applicationId);
+        }
         
         if (nextStatus != currentStatus && canTransitionTo(currentStatus, nextStatus)) {
-            // Validar la transición con el servicio de validaciones
-            StateTransitionValidationService.ValidationResult validationResult = 
-                    stateValidationService.validateTransition(applicationId, currentStatus, nextStatus);
-            
+            // Resultado de validateAutoTransitions, calculado para todo el bloque
             if (!validationResult.isValid()) {
                 log.warn("⚠️ Auto-transición bloqueada por validación: aplicación {} de {} → {}. Razón: {}", 
                         applicationId, currentStatus, nextStatus, validationResult.getMessage());
@@ -65,16 +181,12 @@ public class ApplicationWorkflowService {
             // Log del cambio para auditoría
             logStatusTransition(application, currentStatus, nextStatus, "AUTO_TRANSITION");
             
-            // 📧 NOTIFICACIÓN AUTOMÁTICA: Enviar email al apoderado
-            try {
-                notificationService.notifyApplicationStatusChange(application, currentStatus, nextStatus);
-                log.info("📧 Notificación automática enviada para transición {} → {}", 
-                        currentStatus, nextStatus);
-            } catch (Exception e) {
-                log.error("❌ Error enviando notificación automática para aplicación {}", 
-                        applicationId, e);
-                // No fallar la transición por error de email
-            }
+            // 📧 NOTIFICACIÓN AUTOMÁTICA: se encola junto con el cambio de estado. Si el outbox
+            // falla se revierte la transición completa; la evaluación masiva reintenta entonces
+            // aplicación por aplicación, así que el error queda aislado en esta fila.
+            notificationService.notifyApplicationStatusChange(application, currentStatus, nextStatus);
+            log.info("📧 Notificación automática enviada para transición {} → {}", 
+                    currentStatus, nextStatus);
             
             return true;
         }
@@ -84,57 +196,49 @@ public class ApplicationWorkflowService {
     
     /**
      * Determina el próximo estado basado en las condiciones actuales
+     *
+     * No tiene efectos secundarios ni accede a la base de datos, por lo que puede
+     * ejecutarse en paralelo sobre un bloque de aplicaciones.
      */
-    private Application.ApplicationStatus determineNextStatus(Application application) {
+    private Application.ApplicationStatus determineNextStatus(Application application, TransitionFacts facts) {
         Application.ApplicationStatus currentStatus = application.getStatus();
+        Long applicationId = application.getId();
         
         return switch (currentStatus) {
             case PENDING -> {
-                if (areRequiredDocumentsComplete(application.getId())) {
+                if (areRequiredDocumentsComplete(applicationId, facts)) {
                     yield Application.ApplicationStatus.UNDER_REVIEW;
                 }
                 yield currentStatus;
             }
             
             case UNDER_REVIEW -> {
-                if (areEvaluationsAssigned(application.getId())) {
+                if (areEvaluationsAssigned(applicationId, facts)) {
                     yield Application.ApplicationStatus.INTERVIEW_SCHEDULED;
                 }
-                if (areMissingDocuments(application.getId())) {
-                    // 📧 NOTIFICAR DOCUMENTOS FALTANTES
-                    try {
-                        List<String> missingDocs = applicationService.getMissingDocuments(application.getId())
-                                .stream()
-                                .map(Enum::name)
-                                .toList();
-                        notificationService.notifyMissingDocuments(application, missingDocs);
-                        log.info("📄 Notificación de documentos faltantes enviada para aplicación {}", 
-                                application.getId());
-                    } catch (Exception e) {
-                        log.error("❌ Error enviando notificación de documentos faltantes", e);
-                    }
+                if (!facts.missingDocuments().isEmpty()) {
                     yield Application.ApplicationStatus.DOCUMENTS_REQUESTED;
                 }
                 yield currentStatus;
             }
             
             case DOCUMENTS_REQUESTED -> {
-                if (areRequiredDocumentsComplete(application.getId())) {
+                if (areRequiredDocumentsComplete(applicationId, facts)) {
                     yield Application.ApplicationStatus.UNDER_REVIEW;
                 }
                 yield currentStatus;
             }
             
             case INTERVIEW_SCHEDULED -> {
-                if (isInterviewCompleted(application.getId())) {
+                if (isInterviewCompleted(applicationId, facts)) {
                     yield Application.ApplicationStatus.EXAM_SCHEDULED;
                 }
                 yield currentStatus;
             }
             
             case EXAM_SCHEDULED -> {
-                if (areAllEvaluationsComplete(application.getId())) {
-                    yield determineAdmissionDecision(application.getId());
+                if (areAllEvaluationsComplete(applicationId, facts)) {
+                    yield determineAdmissionDecision(applicationId, facts);
                 }
                 yield currentStatus;
             }
@@ -146,50 +250,31 @@ public class ApplicationWorkflowService {
     /**
      * Verifica si los documentos requeridos están completos
      */
-    private boolean areRequiredDocumentsComplete(Long applicationId) {
-        try {
-            List<String> missingDocs = applicationService.getMissingDocuments(applicationId)
-                    .stream()
-                    .map(Enum::name)
-                    .toList();
-                    
-            // Documentos críticos que DEBEN estar presentes
-            Set<String> criticalDocuments = Set.of(
-                "BIRTH_CERTIFICATE",
-                "STUDENT_PHOTO"
-            );
-            
-            boolean criticalComplete = criticalDocuments.stream()
-                    .noneMatch(missingDocs::contains);
-                    
-            log.debug("📄 Aplicación {}: Docs críticos completos: {}, Faltantes: {}", 
-                    applicationId, criticalComplete, missingDocs);
-                    
-            return criticalComplete;
-        } catch (Exception e) {
-            log.error("Error verificando documentos para aplicación {}", applicationId, e);
-            return false;
-        }
-    }
-    
-    /**
-     * Verifica si hay documentos faltantes
-     */
-    private boolean areMissingDocuments(Long applicationId) {
-        try {
-            List<Document.DocumentType> missing = applicationService.getMissingDocuments(applicationId);
-            return !missing.isEmpty();
-        } catch (Exception e) {
-            log.error("Error verificando documentos faltantes para aplicación {}", applicationId, e);
-            return true; // Asumir que faltan documentos en caso de error
-        }
+    private boolean areRequiredDocumentsComplete(Long applicationId, TransitionFacts facts) {
+        List<String> missingDocs = facts.missingDocuments().stream()
+                .map(Enum::name)
+                .toList();
+                
+        // Documentos críticos que DEBEN estar presentes
+        Set<String> criticalDocuments = Set.of(
+            "BIRTH_CERTIFICATE",
+            "STUDENT_PHOTO"
+        );
+        
+        boolean criticalComplete = criticalDocuments.stream()
+                .noneMatch(missingDocs::contains);
+                
+        log.debug("📄 Aplicación {}: Docs críticos completos: {}, Faltantes: {}", 
+                applicationId, criticalComplete, missingDocs);
+                
+        return criticalComplete;
     }
     
     /**
      * Verifica si las evaluaciones están asignadas
      */
-    private boolean areEvaluationsAssigned(Long applicationId) {
-        List<Evaluation> evaluations = evaluationRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+    private boolean areEvaluationsAssigned(Long applicationId, TransitionFacts facts) {
+        List<EvaluationFacts> evaluations = facts.evaluations();
         
         // Verificar que existan evaluaciones mínimas requeridas
         Set<Evaluation.EvaluationType> requiredTypes = Set.of(
@@ -199,9 +284,9 @@ public class ApplicationWorkflowService {
         );
         
         Set<Evaluation.EvaluationType> assignedTypes = evaluations.stream()
-                .filter(e -> e.getEvaluator() != null)
-                .map(Evaluation::getEvaluationType)
-                .collect(java.util.stream.Collectors.toSet());
+                .filter(EvaluationFacts::assigned)
+                .map(EvaluationFacts::type)
+                .collect(Collectors.toSet());
                 
         boolean hasRequiredEvaluations = assignedTypes.containsAll(requiredTypes);
         
@@ -214,15 +299,13 @@ public class ApplicationWorkflowService {
     /**
      * Verifica si la entrevista está completada
      */
-    private boolean isInterviewCompleted(Long applicationId) {
-        Optional<Interview> interview = interviewRepository.findFirstByApplicationIdOrderByScheduledDateAsc(applicationId);
-        
-        if (interview.isEmpty()) {
+    private boolean isInterviewCompleted(Long applicationId, TransitionFacts facts) {
+        if (facts.firstInterviewStatus() == null) {
             log.debug("📅 Aplicación {}: No hay entrevista programada", applicationId);
             return false;
         }
         
-        boolean completed = interview.get().getStatus() == Interview.InterviewStatus.COMPLETED;
+        boolean completed = facts.firstInterviewStatus() == Interview.InterviewStatus.COMPLETED;
         log.debug("📅 Aplicación {}: Entrevista completada: {}", applicationId, completed);
         
         return completed;
@@ -231,15 +314,15 @@ public class ApplicationWorkflowService {
     /**
      * Verifica si todas las evaluaciones están completas
      */
-    private boolean areAllEvaluationsComplete(Long applicationId) {
-        List<Evaluation> evaluations = evaluationRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+    private boolean areAllEvaluationsComplete(Long applicationId, TransitionFacts facts) {
+        List<EvaluationFacts> evaluations = facts.evaluations();
         
         if (evaluations.isEmpty()) {
             return false;
         }
         
         long completedEvaluations = evaluations.stream()
-                .mapToLong(e -> e.getStatus() == Evaluation.EvaluationStatus.COMPLETED ? 1 : 0)
+                .mapToLong(e -> e.status() == Evaluation.EvaluationStatus.COMPLETED ? 1 : 0)
                 .sum();
                 
         boolean allComplete = completedEvaluations == evaluations.size() && evaluations.size() >= 3;
@@ -253,8 +336,8 @@ public class ApplicationWorkflowService {
     /**
      * Determina la decisión de admisión basada en las evaluaciones
      */
-    private Application.ApplicationStatus determineAdmissionDecision(Long applicationId) {
-        List<Evaluation> evaluations = evaluationRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+    private Application.ApplicationStatus determineAdmissionDecision(Long applicationId, TransitionFacts facts) {
+        List<EvaluationFacts> evaluations = facts.evaluations();
         
         if (evaluations.isEmpty()) {
             return Application.ApplicationStatus.EXAM_SCHEDULED;
@@ -262,8 +345,8 @@ public class ApplicationWorkflowService {
         
         // Algoritmo simple: promedio de calificaciones
         OptionalDouble averageScore = evaluations.stream()
-                .filter(e -> e.getScore() != null && e.getScore() > 0)
-                .mapToDouble(Evaluation::getScore)
+                .filter(e -> e.score() != null && e.score() > 0)
+                .mapToDouble(EvaluationFacts::score)
                 .average();
                 
         if (averageScore.isEmpty()) {
@@ -272,7 +355,7 @@ public class ApplicationWorkflowService {
         }
         
         double avg = averageScore.getAsDouble();
-        log.info("🎯 Aplicación {}: Promedio de evaluaciones: {:.2f}", applicationId, avg);
+        log.info("🎯 Aplicación {}: Promedio de evaluaciones: {}", applicationId, String.format("%.2f", avg));
         
         if (avg >= 7.0) {
             return Application.ApplicationStatus.APPROVED;
@@ -283,6 +366,50 @@ public class ApplicationWorkflowService {
         }
     }
     
+    /**
+     * Carga con una consulta IN por tabla los datos de transición de un bloque de aplicaciones
+     */
+    private Map<Long, TransitionFacts> loadTransitionFacts(Collection<Long> applicationIds) {
+        Map<Long, Set<Document.DocumentType>> documentTypes = new HashMap<>();
+        for (Object[] row : documentRepository.findDocumentTypesByApplicationIds(applicationIds)) {
+            documentTypes.computeIfAbsent((Long) row[0], id -> EnumSet.noneOf(Document.DocumentType.class))
+                    .add((Document.DocumentType) row[1]);
+        }
+        
+        Map<Long, List<EvaluationFacts>> evaluations = new HashMap<>();
+        for (Object[] row : evaluationRepository.findSummariesByApplicationIds(applicationIds)) {
+            evaluations.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new EvaluationFacts((Evaluation.EvaluationType) row[1],
+                            (Evaluation.EvaluationStatus) row[2], (Integer) row[3], row[4] != null));
+        }
+        
+        // Estado de la primera entrevista por fecha programada
+        Map<Long, Object[]> firstInterviews = new HashMap<>();
+        for (Object[] row : interviewRepository.findScheduleStatusByApplicationIds(applicationIds)) {
+            firstInterviews.merge((Long) row[0], row, (current, candidate) ->
+                    isScheduledBefore((LocalDate) candidate[1], (LocalDate) current[1]) ? candidate : current);
+        }
+        
+        List<Document.DocumentType> requiredTypes = applicationService.getRequiredDocumentTypes();
+        Map<Long, TransitionFacts> facts = new HashMap<>();
+        for (Long applicationId : applicationIds) {
+            Set<Document.DocumentType> uploaded = documentTypes.getOrDefault(applicationId, Set.of());
+            Object[] firstInterview = firstInterviews.get(applicationId);
+            facts.put(applicationId, new TransitionFacts(
+                    requiredTypes.stream().filter(type -> !uploaded.contains(type)).toList(),
+                    evaluations.getOrDefault(applicationId, List.of()),
+                    firstInterview != null ? (Interview.InterviewStatus) firstInterview[2] : null));
+        }
+        return facts;
+    }
+    
+    private static boolean isScheduledBefore(LocalDate candidate, LocalDate current) {
+        if (candidate == null) {
+            return false;
+        }
+        return current == null || candidate.isBefore(current);
+    }
+    
     /**
      * Verifica si es válida la transición entre estados
      */
@@ -315,34 +442,100 @@ public class ApplicationWorkflowService {
     
     /**
      * Evalúa todas las aplicaciones pendientes para transiciones automáticas
+     *
+     * Procesa las aplicaciones activas en bloques: cada bloque precarga sus datos, evalúa
+     * las reglas en paralelo y aplica las transiciones en su propia transacción, de modo que
+     * un error en un bloque no revierte los anteriores. Si el bloque falla (y se revierte
+     * completo) se reintenta una aplicación por transacción, para que una fila mala no
+     * deshaga las transiciones de las demás. Las métricas se registran después del commit.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void evaluateAllApplicationsForTransition() {
         log.info("🔄 Iniciando evaluación masiva de transiciones automáticas");
         
-        List<Application.ApplicationStatus> activeStatuses = List.of(
-            Application.ApplicationStatus.PENDING,
-            Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-            Application.ApplicationStatus.UNDER_REVIEW,
-            Application.ApplicationStatus.INTERVIEW_SCHEDULED,
-            Application.ApplicationStatus.EXAM_SCHEDULED
-        );
-        
-        List<Application> applicationsToEvaluate = applicationRepository.findByStatusIn(activeStatuses);
+        List<Long> applicationIds = applicationRepository.findIdsByStatusIn(ACTIVE_STATUSES);
+        pendingInRun.set(applicationIds.size());
         
         int transitioned = 0;
-        for (Application application : applicationsToEvaluate) {
-            try {
-                boolean advanced = evaluateAndAdvanceApplication(application.getId());
-                if (advanced) {
-                    transitioned++;
+        try {
+            for (int from = 0; from < applicationIds.size(); from += transitionChunkSize) {
+                List<Long> chunk = applicationIds.subList(from, Math.min(from + transitionChunkSize, applicationIds.size()));
+                try {
+                    ChunkResult result = chunkTimer.record(() -> transactionTemplate.execute(status -> evaluateChunk(chunk)));
+                    transitioned += recordCommitted(result);
+                } catch (Exception e) {
+                    log.warn("⚠️ Bloque de {} aplicaciones (desde ID {}) revertido, se reintenta una por una: {}",
+                            chunk.size(), chunk.get(0), e.getMessage());
+                    transitioned += evaluateOneByOne(chunk);
                 }
-            } catch (Exception e) {
-                log.error("Error evaluando aplicación {}", application.getId(), e);
+                pendingInRun.addAndGet(-chunk.size());
+                log.debug("📊 Evaluación masiva: {}/{} aplicaciones procesadas",
+                        Math.min(from + transitionChunkSize, applicationIds.size()), applicationIds.size());
             }
+        } finally {
+            pendingInRun.set(0);
         }
         
         log.info("✅ Evaluación masiva completada: {}/{} aplicaciones avanzaron", 
-                transitioned, applicationsToEvaluate.size());
+                transitioned, applicationIds.size());
+    }
+    
+    /**
+     * Reintenta un bloque fallido con una transacción por aplicación
+     *
+     * @return cantidad de aplicaciones que avanzaron de estado
+     */
+    private int evaluateOneByOne(List<Long> applicationIds) {
+        int advanced = 0;
+        for (Long applicationId : applicationIds) {
+            try {
+                advanced += recordCommitted(transactionTemplate.execute(status -> evaluateChunk(List.of(applicationId))));
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("❌ Error evaluando aplicación {}", applicationId, e);
+            }
+        }
+        return advanced;
+    }
+    
+    private int recordCommitted(ChunkResult result) {
+        if (result == null) {
+            return 0;
+        }
+        evaluatedCounter.increment(result.evaluated());
+        advancedCounter.increment(result.advanced());
+        return result.advanced();
+    }
+    
+    private record ChunkResult(int evaluated, int advanced) {}
+    
+    /**
+     * Evalúa un bloque de aplicaciones dentro de la transacción actual
+     *
+     * Cualquier error se propaga y revierte el bloque completo; el llamador decide si
+     * reintentar y registra las métricas solo cuando la transacción hizo commit.
+     */
+    private ChunkResult evaluateChunk(List<Long> applicationIds) {
+        List<Application> applications = applicationRepository.findAllByIdWithRelations(applicationIds);
+        Map<Long, TransitionFacts> facts = loadTransitionFacts(applicationIds);
+        
+        // Las reglas son puras: se evalúan en paralelo sobre los datos precargados
+        Map<Long, Application.ApplicationStatus> nextStatuses = applications.parallelStream()
+                .collect(Collectors.toConcurrentMap(Application::getId,
+                        application -> determineNextStatus(application, facts.get(application.getId()))));
+        
+        Map<Long, StateTransitionValidationService.ValidationResult> validations =
+                validateAutoTransitions(applications, nextStatuses);
+        
+        int advanced = 0;
+        for (Application application : applications) {
+            Long applicationId = application.getId();
+            if (applyTransition(application, facts.get(applicationId), nextStatuses.get(applicationId),
+                    validations.get(applicationId))) {
+                advanced++;
+            }
+        }
+        return new ChunkResult(applications.size(), advanced);
     }
     
     /**
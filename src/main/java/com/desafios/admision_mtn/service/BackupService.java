@@ -1,5 +1,6 @@
 package com.desafios.admision_mtn.service;
 
+import com.desafios.admision_mtn.util.TarGzArchiveWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,12 +9,13 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -26,12 +28,25 @@ import java.util.concurrent.CompletableFuture;
  * 
  * Gestiona copias de seguridad de la base de datos, archivos del sistema
  * y configuraciones críticas con rotación automática.
+ *
+ * Cada backup se escribe directamente en un único {@code .tar.gz} con
+ * {@link TarGzArchiveWriter}: las configuraciones se leen desde su ubicación original, sin
+ * copia intermedia. Solo el dump de pg_dump pasa por un directorio de trabajo, porque tar
+ * necesita conocer el tamaño de cada entrada antes de escribirla.
+ *
+ * Los documentos subidos no entran al {@code .tar.gz}: se respaldan en
+ * {@link DocumentBackupStore}, que guarda cada contenido una sola vez por hash, y el
+ * archivo incluye el manifiesto de esa ejecución. El backup incremental solo copia los
+ * documentos nuevos; el dump de base de datos queda en el backup completo salvo que
+ * {@code backup.incremental.include-database} lo active.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BackupService {
     
+    private final DocumentBackupStore documentBackupStore;
+    
     @Value("${backup.database.host:localhost}")
     private String dbHost;
     
@@ -53,8 +68,14 @@ public class BackupService {
     @Value("${backup.retention.days:7}")
     private int retentionDays;
     
-    @Value("${uploads.directory:uploads/}")
-    private String uploadsDirectory;
+    @Value("${backup.compression.level:6}")
+    private int compressionLevel;
+    
+    @Value("${backup.compression.threads:2}")
+    private int compressionThreads;
+    
+    @Value("${backup.incremental.include-database:false}")
+    private boolean incrementalIncludesDatabase;
     
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     
@@ -119,38 +140,44 @@ public class BackupService {
             try {
                 log.info("🔄 Iniciando backup completo del sistema...");
                 
-                // Crear directorio de backup
+                // Directorio de trabajo para el dump de base de datos
                 Path backupPath = createBackupDirectory(backupName);
                 
-                // 1. Backup de base de datos
-                BackupResult dbResult = backupDatabase(backupPath, "complete");
-                if (!dbResult.isSuccess()) {
-                    throw new RuntimeException("Fallo backup de base de datos: " + dbResult.getErrorMessage());
-                }
-                
-                // 2. Backup de archivos uploadados
-                BackupResult filesResult = backupUploadedFiles(backupPath);
-                if (!filesResult.isSuccess()) {
-                    log.warn("⚠️ Fallo backup de archivos: {}", filesResult.getErrorMessage());
-                }
-                
-                // 3. Backup de configuraciones
-                BackupResult configResult = backupConfigurations(backupPath);
-                if (!configResult.isSuccess()) {
-                    log.warn("⚠️ Fallo backup de configuraciones: {}", configResult.getErrorMessage());
+                try (TarGzArchiveWriter archive = openArchive(backupPath)) {
+                    // 1. Backup de base de datos
+                    BackupResult dbResult = backupDatabase(backupPath, "complete");
+                    if (!dbResult.isSuccess()) {
+                        throw new RuntimeException("Fallo backup de base de datos: " + dbResult.getErrorMessage());
+                    }
+                    archiveDatabaseDump(archive, backupName, dbResult);
+                    
+                    // 2. Backup de documentos subidos (almacén por contenido + manifiesto)
+                    BackupResult filesResult = backupDocuments(archive, backupName);
+                    if (!filesResult.isSuccess()) {
+                        log.warn("⚠️ Fallo backup de archivos: {}", filesResult.getErrorMessage());
+                    }
+                    
+                    // 3. Backup de configuraciones
+                    BackupResult configResult = backupConfigurations(archive, backupName);
+                    if (!configResult.isSuccess()) {
+                        log.warn("⚠️ Fallo backup de configuraciones: {}", configResult.getErrorMessage());
+                    }
+                    
+                    // 4. Generar archivo de metadatos
+                    archive.addBytes(backupName + "/backup_metadata.txt",
+                        generateBackupMetadata("COMPLETE", List.of(dbResult, filesResult, configResult)),
+                        FileTime.fromMillis(System.currentTimeMillis()));
+                    
+                    // 5. Publicar el archivo comprimido
+                    String compressedFile = finishArchive(archive).toString();
+                    
+                    log.info("✅ Backup completo exitoso: {}", compressedFile);
+                    return new BackupResult(true, compressedFile, "Backup completo exitoso", 
+                        archive.getCompressedBytes());
+                } finally {
+                    deleteDirectory(backupPath);
                 }
                 
-                // 4. Generar archivo de metadatos
-                generateBackupMetadata(backupPath, "COMPLETE", 
-                    List.of(dbResult, filesResult, configResult));
-                
-                // 5. Comprimir backup si es exitoso
-                String compressedFile = compressBackup(backupPath);
-                
-                log.info("✅ Backup completo exitoso: {}", compressedFile);
-                return new BackupResult(true, compressedFile, "Backup completo exitoso", 
-                    backupPath.toFile().length());
-                
             } catch (Exception e) {
                 log.error("❌ Error en backup completo", e);
                 return new BackupResult(false, "", "Error: " + e.getMessage(), 0);
@@ -159,7 +186,8 @@ public class BackupService {
     }
     
     /**
-     * Ejecuta un backup incremental (solo cambios recientes)
+     * Ejecuta un backup incremental: copia solo los documentos nuevos al almacén por
+     * contenido y, si está habilitado, agrega un dump de base de datos
      */
     @Async
     public CompletableFuture<BackupResult> performIncrementalBackup() {
@@ -170,20 +198,36 @@ public class BackupService {
             try {
                 log.debug("🔄 Iniciando backup incremental...");
                 
-                Path backupPath = createBackupDirectory(backupName);
-                
-                // Backup incremental solo de datos recientes (últimas 6 horas)
-                BackupResult dbResult = backupDatabase(backupPath, "incremental");
+                DocumentBackupStore.DocumentSnapshot snapshot = documentBackupStore.snapshot(backupName);
+                BackupResult filesResult = new BackupResult(true, snapshot.manifest().toString(),
+                    "Backup documentos exitoso", snapshot.storedBytes());
+                if (!incrementalIncludesDatabase) {
+                    log.debug("✅ Backup incremental exitoso: {}", snapshot.manifest());
+                    return filesResult;
+                }
                 
-                generateBackupMetadata(backupPath, "INCREMENTAL", List.of(dbResult));
+                Path backupPath = createBackupDirectory(backupName);
                 
-                if (dbResult.isSuccess()) {
-                    String compressedFile = compressBackup(backupPath);
-                    log.debug("✅ Backup incremental exitoso: {}", compressedFile);
-                    return new BackupResult(true, compressedFile, "Backup incremental exitoso", 
-                        backupPath.toFile().length());
-                } else {
-                    return dbResult;
+                try {
+                    BackupResult dbResult = backupDatabase(backupPath, "incremental");
+                    if (!dbResult.isSuccess()) {
+                        return dbResult;
+                    }
+                    
+                    try (TarGzArchiveWriter archive = openArchive(backupPath)) {
+                        archiveDatabaseDump(archive, backupName, dbResult);
+                        archive.addFile(backupName + "/" + snapshot.manifest().getFileName(), snapshot.manifest());
+                        archive.addBytes(backupName + "/backup_metadata.txt",
+                            generateBackupMetadata("INCREMENTAL", List.of(dbResult, filesResult)),
+                            FileTime.fromMillis(System.currentTimeMillis()));
+                        
+                        String compressedFile = finishArchive(archive).toString();
+                        log.debug("✅ Backup incremental exitoso: {}", compressedFile);
+                        return new BackupResult(true, compressedFile, "Backup incremental exitoso", 
+                            archive.getCompressedBytes());
+                    }
+                } finally {
+                    deleteDirectory(backupPath);
                 }
                 
             } catch (Exception e) {
@@ -272,81 +316,49 @@ public class BackupService {
     }
     
     /**
-     * Backup de archivos subidos por usuarios
+     * Backup de documentos subidos: copia al almacén por contenido los que aún no están y
+     * agrega el manifiesto de la ejecución al archivo comprimido
      */
-    private BackupResult backupUploadedFiles(Path backupPath) {
+    private BackupResult backupDocuments(TarGzArchiveWriter archive, String backupName) {
         try {
-            Path uploadsPath = Paths.get(uploadsDirectory);
-            if (!Files.exists(uploadsPath)) {
-                return new BackupResult(true, "", "No hay archivos para respaldar", 0);
-            }
+            DocumentBackupStore.DocumentSnapshot snapshot = documentBackupStore.snapshot(backupName);
+            String entryName = backupName + "/" + snapshot.manifest().getFileName();
+            archive.addFile(entryName, snapshot.manifest());
             
-            Path filesBackupDir = backupPath.resolve("uploaded_files");
-            Files.createDirectories(filesBackupDir);
-            
-            // Copiar recursivamente todos los archivos
-            copyDirectory(uploadsPath, filesBackupDir);
-            
-            long totalSize = Files.walk(filesBackupDir)
-                .filter(Files::isRegularFile)
-                .mapToLong(path -> {
-                    try {
-                        return Files.size(path);
-                    } catch (IOException e) {
-                        return 0;
-                    }
-                })
-                .sum();
-            
-            log.info("✅ Backup de archivos completado: {} bytes", totalSize);
-            return new BackupResult(true, filesBackupDir.toString(), 
-                "Backup archivos exitoso", totalSize);
+            log.info("✅ Backup de documentos completado: {} documentos, {} bytes nuevos de {}", 
+                snapshot.documents(), snapshot.storedBytes(), snapshot.totalBytes());
+            return new BackupResult(true, snapshot.manifest().toString(), 
+                "Backup documentos exitoso", snapshot.totalBytes());
             
         } catch (Exception e) {
             log.error("❌ Error en backup de archivos", e);
-            return new BackupResult(false, "", "Error archivos: " + e.getMessage(), 0);
+            return new BackupResult(false, "", "Error documentos: " + e.getMessage(), 0);
         }
     }
     
     /**
      * Backup de configuraciones del sistema
      */
-    private BackupResult backupConfigurations(Path backupPath) {
+    private BackupResult backupConfigurations(TarGzArchiveWriter archive, String backupName) {
         try {
-            Path configDir = backupPath.resolve("configurations");
-            Files.createDirectories(configDir);
-            
-            // Backup de application.yml
-            Path appConfig = Paths.get("src/main/resources/application.yml");
-            if (Files.exists(appConfig)) {
-                Files.copy(appConfig, configDir.resolve("application.yml"));
-            }
-            
-            // Backup de logback configuration si existe
-            Path logbackConfig = Paths.get("src/main/resources/logback-spring.xml");
-            if (Files.exists(logbackConfig)) {
-                Files.copy(logbackConfig, configDir.resolve("logback-spring.xml"));
-            }
+            String entryRoot = backupName + "/configurations";
+            long totalSize = 0;
             
-            // Backup de pom.xml
-            Path pomConfig = Paths.get("pom.xml");
-            if (Files.exists(pomConfig)) {
-                Files.copy(pomConfig, configDir.resolve("pom.xml"));
+            // application.yml, logback y pom.xml si existen
+            List<Path> configFiles = List.of(
+                Paths.get("src/main/resources/application.yml"),
+                Paths.get("src/main/resources/logback-spring.xml"),
+                Paths.get("pom.xml")
+            );
+            for (Path configFile : configFiles) {
+                if (Files.exists(configFile)) {
+                    archive.addFile(entryRoot + "/" + configFile.getFileName(), configFile);
+                    totalSize += Files.size(configFile);
+                }
             }
             
-            long totalSize = Files.walk(configDir)
-                .filter(Files::isRegularFile)
-                .mapToLong(path -> {
-                    try {
-                        return Files.size(path);
-                    } catch (IOException e) {
-                        return 0;
-                    }
-                })
-                .sum();
-            
             log.info("✅ Backup de configuraciones completado: {} bytes", totalSize);
-            return new BackupResult(true, configDir.toString(), 
+            return new BackupResult(true, entryRoot, 
                 "Backup config exitoso", totalSize);
             
         } catch (Exception e) {
@@ -356,12 +368,18 @@ public class BackupService {
     }
     
     /**
-     * Genera archivo de metadatos del backup
+     * Agrega el dump de base de datos al archivo, en la raíz del backup
      */
-    private void generateBackupMetadata(Path backupPath, String type, List<BackupResult> results) 
+    private void archiveDatabaseDump(TarGzArchiveWriter archive, String backupName, BackupResult dbResult)
             throws IOException {
-        Path metadataFile = backupPath.resolve("backup_metadata.txt");
-        
+        Path dumpFile = Paths.get(dbResult.getPath());
+        archive.addFile(backupName + "/" + dumpFile.getFileName(), dumpFile);
+    }
+    
+    /**
+     * Genera el contenido del archivo de metadatos del backup
+     */
+    private byte[] generateBackupMetadata(String type, List<BackupResult> results) {
         StringBuilder metadata = new StringBuilder();
         metadata.append("Backup Metadata\n");
         metadata.append("===============\n");
@@ -382,30 +400,25 @@ public class BackupService {
             }
         }
         
-        Files.writeString(metadataFile, metadata.toString());
+        return metadata.toString().getBytes(StandardCharsets.UTF_8);
     }
     
     /**
-     * Comprime el directorio de backup
+     * Abre el archivo comprimido del backup junto a su directorio de trabajo
      */
-    private String compressBackup(Path backupPath) throws IOException, InterruptedException {
-        String tarFile = backupPath.toString() + ".tar.gz";
-        
-        ProcessBuilder pb = new ProcessBuilder(
-            "tar", "-czf", tarFile, "-C", backupPath.getParent().toString(), 
-            backupPath.getFileName().toString()
-        );
-        
-        Process process = pb.start();
-        int exitCode = process.waitFor();
-        
-        if (exitCode == 0) {
-            // Eliminar directorio original después de compresión exitosa
-            deleteDirectory(backupPath);
-            return tarFile;
-        } else {
-            throw new RuntimeException("Falló compresión del backup, código de salida: " + exitCode);
-        }
+    private TarGzArchiveWriter openArchive(Path backupPath) throws IOException {
+        Path archiveFile = backupPath.resolveSibling(backupPath.getFileName() + ".tar.gz");
+        return TarGzArchiveWriter.create(archiveFile, compressionLevel, compressionThreads);
+    }
+    
+    /**
+     * Cierra el archivo comprimido y lo publica con su nombre definitivo
+     */
+    private Path finishArchive(TarGzArchiveWriter archive) throws IOException {
+        Path archiveFile = archive.finish();
+        log.info("🗜️ Backup comprimido: {} bytes → {} bytes (nivel {}, {} hilos)", 
+            archive.getUncompressedBytes(), archive.getCompressedBytes(), compressionLevel, compressionThreads);
+        return archiveFile;
     }
     
     /**
@@ -426,6 +439,8 @@ public class BackupService {
             return;
         }
         
+        documentBackupStore.collectGarbage();
+        
         LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
         
         Files.list(backupDir)
@@ -448,25 +463,6 @@ public class BackupService {
             });
     }
     
-    /**
-     * Copia directorio recursivamente
-     */
-    private void copyDirectory(Path source, Path destination) throws IOException {
-        Files.walk(source)
-            .forEach(sourcePath -> {
-                try {
-                    Path targetPath = destination.resolve(source.relativize(sourcePath));
-                    if (Files.isDirectory(sourcePath)) {
-                        Files.createDirectories(targetPath);
-                    } else {
-                        Files.copy(sourcePath, targetPath);
-                    }
-                } catch (IOException e) {
-                    log.error("Error copiando: {} -> {}", sourcePath, destination, e);
-                }
-            });
-    }
-    
     /**
      * Elimina directorio recursivamente
      */
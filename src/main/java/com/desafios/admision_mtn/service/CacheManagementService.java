@@ -6,6 +6,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,7 +29,7 @@ public class CacheManagementService {
     /**
      * Limpia todos los caches del sistema
      */
-    @CacheEvict(value = {"users", "evaluations", "applications", "interviews", 
+    @CacheEvict(value = {"users", "user-details", "evaluations", "applications", "interviews", 
                         "statistics", "notifications", "documents", "workflow-states", 
                         "validation-rules"}, allEntries = true)
     public void clearAllCaches() {
@@ -64,6 +66,59 @@ public class CacheManagementService {
         log.info("🗑️ Caches de usuario '{}' limpiados", userEmail);
     }
 
+    /**
+     * Invalida los UserDetails cacheados de los emails indicados.
+     * Se invalida de inmediato y, si hay una transacción activa, nuevamente tras el commit
+     * para que una lectura concurrente no vuelva a cachear el estado anterior.
+     */
+    public void evictUserDetails(String... userEmails) {
+        evictUserEntries(userEmails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUserEntries(userEmails);
+                }
+            });
+        }
+    }
+
+    private void evictUserEntries(String... userEmails) {
+        Cache userDetailsCache = cacheManager.getCache("user-details");
+        Cache userCache = cacheManager.getCache("users");
+        for (String userEmail : userEmails) {
+            if (userEmail == null) {
+                continue;
+            }
+            if (userDetailsCache != null) {
+                userDetailsCache.evict(userEmail);
+            }
+            if (userCache != null) {
+                userCache.evict(userEmail);
+            }
+        }
+        log.debug("🗑️ UserDetails invalidados para {}", (Object) userEmails);
+    }
+
+    /**
+     * Invalida la metadata cacheada de un documento, de inmediato y nuevamente tras el commit
+     */
+    public void evictDocument(Long documentId) {
+        Cache documentsCache = cacheManager.getCache("documents");
+        if (documentsCache == null) {
+            return;
+        }
+        documentsCache.evict(documentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    documentsCache.evict(documentId);
+                }
+            });
+        }
+    }
+
     /**
      * Limpia caches relacionados con estadísticas tras cambios importantes
      */
@@ -99,7 +154,7 @@ public class CacheManagementService {
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            String[] cacheNames = {"users", "evaluations", "applications", "interviews", 
+            String[] cacheNames = {"users", "user-details", "evaluations", "applications", "interviews", 
                                  "statistics", "notifications", "documents", 
                                  "workflow-states", "validation-rules"};
             
@@ -1,5 +1,6 @@
 package com.desafios.admision_mtn.service;
 
+import com.desafios.admision_mtn.model.RolUsuario;
 import com.desafios.admision_mtn.model.Usuario;
 import com.desafios.admision_mtn.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +14,22 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    // Autoridades inmutables precalculadas por rol (rol principal + permisos específicos)
+    private static final Map<RolUsuario, List<GrantedAuthority>> AUTHORITIES_BY_ROL = new EnumMap<>(RolUsuario.class);
+
+    static {
+        for (RolUsuario rol : RolUsuario.values()) {
+            AUTHORITIES_BY_ROL.put(rol, buildAuthorities(rol));
+        }
+    }
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -30,13 +42,27 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("Usuario inactivo: " + username);
         }
 
+        List<GrantedAuthority> authorities = AUTHORITIES_BY_ROL.get(usuario.getRol());
+
+        return User.builder()
+                .username(usuario.getUsername())
+                .password(usuario.getPassword())
+                .authorities(authorities)
+                .accountExpired(false)
+                .accountLocked(false)
+                .credentialsExpired(false)
+                .disabled(!usuario.isActive())
+                .build();
+    }
+
+    private static List<GrantedAuthority> buildAuthorities(RolUsuario rol) {
         List<GrantedAuthority> authorities = new ArrayList<>();
         
         // Agregar rol principal
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + usuario.getRol().name()));
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + rol.name()));
         
         // Agregar permisos específicos basados en el rol
-        switch (usuario.getRol()) {
+        switch (rol) {
             case ADMIN:
                 authorities.add(new SimpleGrantedAuthority("PERM_MANAGE_USERS"));
                 authorities.add(new SimpleGrantedAuthority("PERM_MANAGE_APPLICATIONS"));
@@ -71,16 +97,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                 authorities.add(new SimpleGrantedAuthority("PERM_VIEW_PROFILE"));
                 break;
         }
-
-        return User.builder()
-                .username(usuario.getUsername())
-                .password(usuario.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!usuario.isActive())
-                .build();
+        
+        return List.copyOf(authorities);
     }
 
     // Método auxiliar para obtener el usuario completo por username
@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -35,6 +36,8 @@ public class DashboardService {
     private final InterviewRepository interviewRepository;
     private final EvaluationRepository evaluationRepository;
     private final UserRepository userRepository;
+    private final DashboardAggregateRepository dashboardAggregateRepository;
+    private final AdmissionCounterService admissionCounterService;
     // private final StudentsRepository studentsRepository;
 
     /**
@@ -94,11 +97,11 @@ public class DashboardService {
         Map<String, Object> overview = new HashMap<>();
         
         // Contadores principales
-        long totalApplications = applicationRepository.count();
-        long totalStudents = applicationRepository.count(); // Usando aplicaciones como proxy para estudiantes
-        long totalInterviews = interviewRepository.count();
-        long totalEvaluations = evaluationRepository.count();
-        long totalUsers = userRepository.count();
+        long totalApplications = admissionCounterService.getTotalApplications();
+        long totalStudents = totalApplications; // Usando aplicaciones como proxy para estudiantes
+        long totalInterviews = admissionCounterService.getTotalInterviews();
+        long totalEvaluations = admissionCounterService.getTotalEvaluations();
+        long totalUsers = admissionCounterService.getTotalUsers();
         
         overview.put("totalApplications", totalApplications);
         overview.put("totalStudents", totalStudents);
@@ -111,10 +114,10 @@ public class DashboardService {
         overview.put("lastUpdate", LocalDateTime.now());
         
         // Distribución de usuarios por rol
-        Map<String, Long> usersByRole = userRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                    user -> user.getRole().name(),
-                    Collectors.counting()
+        Map<String, Long> usersByRole = dashboardAggregateRepository.countUsersByRole().stream()
+                .collect(Collectors.toMap(
+                    row -> row.role().name(),
+                    DashboardAggregateRepository.RoleCount::count
                 ));
         overview.put("userDistribution", usersByRole);
         
@@ -130,12 +133,7 @@ public class DashboardService {
         Map<String, Object> stats = new HashMap<>();
         
         // Distribución por estado
-        Map<String, Long> statusDistribution = new HashMap<>();
-        for (Application.ApplicationStatus status : Application.ApplicationStatus.values()) {
-            long count = applicationRepository.countByStatus(status);
-            statusDistribution.put(status.name(), count);
-        }
-        stats.put("statusDistribution", statusDistribution);
+        stats.put("statusDistribution", admissionCounterService.getApplicationStatusDistribution());
         
         // Aplicaciones por mes (últimos 12 meses)
         Map<String, Long> monthlyApplications = getApplicationsByMonth();
@@ -152,11 +150,11 @@ public class DashboardService {
         stats.put("recentApplicationsCount", recentApplications.size());
         
         // Aplicaciones pendientes de revisión
-        long pendingReview = applicationRepository.countByStatus(Application.ApplicationStatus.UNDER_REVIEW);
+        long pendingReview = admissionCounterService.countApplications(Application.ApplicationStatus.UNDER_REVIEW);
         stats.put("pendingReviewCount", pendingReview);
         
         // Tasa de aprobación
-        long approvedCount = applicationRepository.countByStatus(Application.ApplicationStatus.APPROVED);
+        long approvedCount = admissionCounterService.countApplications(Application.ApplicationStatus.APPROVED);
         long totalProcessed = getTotalProcessedApplications();
         double approvalRate = totalProcessed > 0 ? (double) approvedCount / totalProcessed * 100 : 0;
         stats.put("approvalRate", Math.round(approvalRate * 100.0) / 100.0);
@@ -173,28 +171,13 @@ public class DashboardService {
         Map<String, Object> analysis = new HashMap<>();
         
         // Distribución por estado
-        Map<String, Long> statusDistribution = new HashMap<>();
-        for (Interview.InterviewStatus status : Interview.InterviewStatus.values()) {
-            long count = interviewRepository.countByStatus(status);
-            statusDistribution.put(status.name(), count);
-        }
-        analysis.put("statusDistribution", statusDistribution);
+        analysis.put("statusDistribution", admissionCounterService.getInterviewStatusDistribution());
         
         // Distribución por tipo
-        Map<String, Long> typeDistribution = new HashMap<>();
-        for (Interview.InterviewType type : Interview.InterviewType.values()) {
-            long count = interviewRepository.countByType(type);
-            typeDistribution.put(type.name(), count);
-        }
-        analysis.put("typeDistribution", typeDistribution);
+        analysis.put("typeDistribution", admissionCounterService.getInterviewTypeDistribution());
         
         // Distribución por modalidad
-        Map<String, Long> modeDistribution = new HashMap<>();
-        for (Interview.InterviewMode mode : Interview.InterviewMode.values()) {
-            long count = interviewRepository.countByMode(mode);
-            modeDistribution.put(mode.name(), count);
-        }
-        analysis.put("modeDistribution", modeDistribution);
+        analysis.put("modeDistribution", admissionCounterService.getInterviewModeDistribution());
         
         // Entrevistas por día (próximos 7 días)
         List<Interview> upcomingInterviews = interviewRepository.findUpcomingInterviews(
@@ -222,24 +205,14 @@ public class DashboardService {
         Map<String, Object> metrics = new HashMap<>();
         
         // Distribución por tipo de evaluación
-        Map<String, Long> typeDistribution = new HashMap<>();
-        for (Evaluation.EvaluationType type : Evaluation.EvaluationType.values()) {
-            long count = evaluationRepository.countByType(type);
-            typeDistribution.put(type.name(), count);
-        }
-        metrics.put("typeDistribution", typeDistribution);
+        metrics.put("typeDistribution", admissionCounterService.getEvaluationTypeDistribution());
         
         // Distribución por estado
-        Map<String, Long> statusDistribution = new HashMap<>();
-        for (Evaluation.EvaluationStatus status : Evaluation.EvaluationStatus.values()) {
-            long count = evaluationRepository.countByStatus(status);
-            statusDistribution.put(status.name(), count);
-        }
-        metrics.put("statusDistribution", statusDistribution);
+        metrics.put("statusDistribution", admissionCounterService.getEvaluationStatusDistribution());
         
         // Evaluaciones completadas vs pendientes
-        long completedEvaluations = evaluationRepository.countByStatus(Evaluation.EvaluationStatus.COMPLETED);
-        long pendingEvaluations = evaluationRepository.countByStatus(Evaluation.EvaluationStatus.PENDING);
+        long completedEvaluations = admissionCounterService.countEvaluations(Evaluation.EvaluationStatus.COMPLETED);
+        long pendingEvaluations = admissionCounterService.countEvaluations(Evaluation.EvaluationStatus.PENDING);
         
         metrics.put("completedCount", completedEvaluations);
         metrics.put("pendingCount", pendingEvaluations);
@@ -298,7 +271,7 @@ public class DashboardService {
         kpis.put("averageTotalProcessDays", avgTotalTime);
         
         // Eficiencia del proceso (aplicaciones completadas vs iniciadas)
-        long totalApplications = applicationRepository.count();
+        long totalApplications = admissionCounterService.getTotalApplications();
         long completedApplications = getCompletedApplicationsCount();
         double efficiency = totalApplications > 0 ? (double) completedApplications / totalApplications * 100 : 0;
         kpis.put("processEfficiency", Math.round(efficiency * 100.0) / 100.0);
@@ -380,13 +353,10 @@ public class DashboardService {
     // ================== MÉTODOS AUXILIARES ==================
 
     private Map<String, Long> getApplicationsByMonth() {
-        // Implementación simplificada - podría usar query nativa para mejor rendimiento
-        List<Application> allApplications = applicationRepository.findAll();
-        
-        return allApplications.stream()
-                .collect(Collectors.groupingBy(
-                    app -> app.getCreatedAt().getMonth().name(),
-                    Collectors.counting()
+        return dashboardAggregateRepository.countApplicationsByMonth().stream()
+                .collect(Collectors.toMap(
+                    row -> Month.of(row.month()).name(),
+                    DashboardAggregateRepository.MonthlyCount::count
                 ));
     }
 
@@ -404,43 +374,36 @@ public class DashboardService {
     }
 
     private long getTotalProcessedApplications() {
-        return applicationRepository.countByStatus(Application.ApplicationStatus.APPROVED) +
-               applicationRepository.countByStatus(Application.ApplicationStatus.REJECTED) +
-               applicationRepository.countByStatus(Application.ApplicationStatus.WAITLIST);
+        return admissionCounterService.countApplications(
+                Application.ApplicationStatus.APPROVED,
+                Application.ApplicationStatus.REJECTED,
+                Application.ApplicationStatus.WAITLIST);
     }
 
     private Map<String, Long> getInterviewerWorkload() {
-        List<Interview> allInterviews = interviewRepository.findAll();
-        
-        return allInterviews.stream()
-                .filter(interview -> interview.getInterviewer() != null)
-                .collect(Collectors.groupingBy(
-                    interview -> interview.getInterviewer().getFirstName() + " " + 
-                               interview.getInterviewer().getLastName(),
-                    Collectors.counting()
+        // Se agrupa por id en la base de datos y se combinan homónimos como antes
+        return dashboardAggregateRepository.countInterviewsByInterviewer().stream()
+                .collect(Collectors.toMap(
+                    DashboardAggregateRepository.UserCount::fullName,
+                    DashboardAggregateRepository.UserCount::count,
+                    Long::sum
                 ));
     }
 
     private Map<String, Double> calculateAverageScoresByType() {
-        List<Evaluation> allEvaluations = evaluationRepository.findAll();
-        
-        return allEvaluations.stream()
-                .filter(eval -> eval.getScore() != null)
-                .collect(Collectors.groupingBy(
-                    eval -> eval.getEvaluationType().name(),
-                    Collectors.averagingDouble(Evaluation::getScore)
+        return dashboardAggregateRepository.averageScoreByEvaluationType().stream()
+                .collect(Collectors.toMap(
+                    row -> row.type().name(),
+                    DashboardAggregateRepository.TypeAverage::average
                 ));
     }
 
     private Map<String, Long> getEvaluatorActivity() {
-        List<Evaluation> allEvaluations = evaluationRepository.findAll();
-        
-        return allEvaluations.stream()
-                .filter(eval -> eval.getEvaluator() != null)
-                .collect(Collectors.groupingBy(
-                    eval -> eval.getEvaluator().getFirstName() + " " + 
-                           eval.getEvaluator().getLastName(),
-                    Collectors.counting()
+        return dashboardAggregateRepository.countEvaluationsByEvaluator().stream()
+                .collect(Collectors.toMap(
+                    DashboardAggregateRepository.UserCount::fullName,
+                    DashboardAggregateRepository.UserCount::count,
+                    Long::sum
                 ));
     }
 
@@ -493,13 +456,11 @@ public class DashboardService {
     }
 
     private long getCompletedApplicationsCount() {
-        return applicationRepository.countByStatus(Application.ApplicationStatus.APPROVED) +
-               applicationRepository.countByStatus(Application.ApplicationStatus.REJECTED) +
-               applicationRepository.countByStatus(Application.ApplicationStatus.WAITLIST);
+        return getTotalProcessedApplications();
     }
 
     private double calculateAverageWorkloadPerEvaluator() {
-        long totalEvaluations = evaluationRepository.count();
+        long totalEvaluations = admissionCounterService.getTotalEvaluations();
         long totalEvaluators = userRepository.countByRole(User.UserRole.TEACHER) +
                               userRepository.countByRole(User.UserRole.COORDINATOR);
         
@@ -0,0 +1,240 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.repository.DocumentRepository;
+import com.desafios.admision_mtn.util.ContentHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de backups de documentos direccionado por contenido
+ *
+ * Cada archivo se guarda una sola vez en {@code objects/<2 primeros>/<sha256>} y cada
+ * ejecución escribe un manifiesto {@code manifests/<backup>.manifest} con una línea
+ * {@code hash, bytes, id, ruta} por documento. El hash viene de la columna
+ * {@code documents.content_hash}, calculada al subir el archivo, así que un documento ya
+ * respaldado solo cuesta una consulta de existencia; el contenido se lee únicamente para
+ * documentos nuevos o sin hash. Los objetos que ningún manifiesto referencia se eliminan
+ * en {@link #collectGarbage()}, que no corre a la vez que un {@link #snapshot}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBackupStore {
+
+    private static final String MANIFEST_SUFFIX = ".manifest";
+
+    private final DocumentRepository documentRepository;
+
+    @Value("${backup.directory:/tmp/admision-backups}")
+    private String backupDirectory;
+
+    @Value("${backup.retention.days:7}")
+    private int retentionDays;
+
+    /**
+     * Copia al almacén los documentos que aún no están y escribe el manifiesto del backup
+     */
+    public synchronized DocumentSnapshot snapshot(String backupName) throws IOException {
+        Path objectsRoot = objectsRoot();
+        Path manifestsRoot = manifestsRoot();
+        Files.createDirectories(objectsRoot);
+        Files.createDirectories(manifestsRoot);
+
+        int documents = 0;
+        int missing = 0;
+        int storedObjects = 0;
+        long storedBytes = 0;
+        long totalBytes = 0;
+
+        Path manifest = manifestsRoot.resolve(backupName + MANIFEST_SUFFIX);
+        Path partManifest = manifest.resolveSibling(manifest.getFileName() + ".part");
+        try (BufferedWriter writer = Files.newBufferedWriter(partManifest, StandardCharsets.UTF_8)) {
+            writer.write("# hash\tbytes\tdocument_id\tfile_path\n");
+
+            for (Object[] entry : documentRepository.findBackupEntries()) {
+                Long documentId = (Long) entry[0];
+                Path file = Paths.get((String) entry[1]);
+                String hash = (String) entry[2];
+
+                if (!Files.isRegularFile(file)) {
+                    log.warn("⚠️ Documento {} sin archivo en disco: {}", documentId, file);
+                    missing++;
+                    continue;
+                }
+                if (!ContentHash.isValid(hash)) {
+                    // Documentos subidos antes de existir la columna: se calcula una vez
+                    hash = ContentHash.of(file);
+                    documentRepository.updateContentHash(documentId, hash);
+                }
+
+                Path object = objectPath(objectsRoot, hash);
+                if (!Files.exists(object)) {
+                    String actualHash = store(file, objectsRoot);
+                    if (!actualHash.equals(hash)) {
+                        log.warn("⚠️ Hash desactualizado para documento {}; se registra el contenido actual", documentId);
+                        documentRepository.updateContentHash(documentId, actualHash);
+                        hash = actualHash;
+                        object = objectPath(objectsRoot, hash);
+                    }
+                    storedObjects++;
+                    storedBytes += Files.size(object);
+                }
+
+                long size = Files.size(object);
+                totalBytes += size;
+                documents++;
+                writer.write(hash + "\t" + size + "\t" + documentId + "\t" + file + "\n");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partManifest);
+            throw e;
+        }
+        Files.move(partManifest, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("📄 Manifiesto de documentos {}: {} documentos ({} bytes), {} objetos nuevos ({} bytes), {} sin archivo",
+            manifest.getFileName(), documents, totalBytes, storedObjects, storedBytes, missing);
+        return new DocumentSnapshot(manifest, documents, missing, storedObjects, storedBytes, totalBytes);
+    }
+
+    /**
+     * Elimina manifiestos fuera de la retención (siempre conserva el más reciente) y los
+     * objetos que ya no aparecen en ninguno
+     */
+    public synchronized void collectGarbage() throws IOException {
+        Path manifestsRoot = manifestsRoot();
+        Path objectsRoot = objectsRoot();
+        if (!Files.exists(manifestsRoot) || !Files.exists(objectsRoot)) {
+            return;
+        }
+
+        List<Path> manifests;
+        try (Stream<Path> paths = Files.list(manifestsRoot)) {
+            manifests = paths
+                .filter(path -> path.getFileName().toString().endsWith(MANIFEST_SUFFIX))
+                .sorted(Comparator.comparing(DocumentBackupStore::lastModified).reversed())
+                .toList();
+        }
+
+        Instant manifestCutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        Set<String> referenced = new HashSet<>();
+        for (int i = 0; i < manifests.size(); i++) {
+            Path manifest = manifests.get(i);
+            if (i > 0 && lastModified(manifest).toInstant().isBefore(manifestCutoff)) {
+                Files.delete(manifest);
+                log.info("🗑️ Manifiesto antiguo eliminado: {}", manifest.getFileName());
+                continue;
+            }
+            readHashes(manifest, referenced);
+        }
+
+        int deleted = 0;
+        long freedBytes = 0;
+        try (Stream<Path> paths = Files.walk(objectsRoot)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path object = iterator.next();
+                String name = object.getFileName().toString();
+                if (referenced.contains(name)) {
+                    continue;
+                }
+                long size = Files.size(object);
+                Files.delete(object);
+                deleted++;
+                freedBytes += size;
+            }
+        }
+        if (deleted > 0) {
+            log.info("🧹 Objetos de documentos sin referencia eliminados: {} ({} bytes)", deleted, freedBytes);
+        }
+    }
+
+    /**
+     * Copia el archivo a un temporal del almacén verificando su hash y lo publica con
+     * el nombre del hash real del contenido
+     */
+    private String store(Path file, Path objectsRoot) throws IOException {
+        Path temp = objectsRoot.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                Files.copy(in, temp);
+            }
+            String hash = ContentHash.toHex(digest);
+            Path object = objectPath(objectsRoot, hash);
+            Files.createDirectories(object.getParent());
+            Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void readHashes(Path manifest, Set<String> hashes) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                hashes.add(tab == -1 ? line : line.substring(0, tab));
+            }
+        }
+    }
+
+    private static Path objectPath(Path objectsRoot, String hash) {
+        return objectsRoot.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path objectsRoot() {
+        return Paths.get(backupDirectory, "documents", "objects");
+    }
+
+    private Path manifestsRoot() {
+        return Paths.get(backupDirectory, "documents", "manifests");
+    }
+
+    /**
+     * Resultado de una ejecución: documentos del manifiesto y lo que realmente se copió
+     */
+    public record DocumentSnapshot(
+        Path manifest,
+        int documents,
+        int missingFiles,
+        int storedObjects,
+        long storedBytes,
+        long totalBytes
+    ) {}
+}
@@ -0,0 +1,334 @@
+package com.desafios.admision_mtn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Miniaturas JPEG de los documentos subidos
+ *
+ * Se generan en un pool propio después de cada subida y se guardan en
+ * {@code <upload.dir>/previews/<hash[0..2]>/<hash>.jpg}, así que documentos con el mismo
+ * contenido comparten miniatura y una miniatura nunca cambia. Las imágenes se decodifican
+ * con submuestreo para no cargar el original completo en memoria; de los PDF se rasteriza
+ * solo la primera página. Si la cola está llena la subida no espera: la miniatura se genera
+ * cuando alguien la pide por primera vez.
+ *
+ * La generación bajo demanda también pasa por el pool acotado, nunca por el hilo del request:
+ * quien pide la miniatura espera como mucho {@code request-wait-ms} y, si no está lista, recibe
+ * {@link PreviewStatus#PENDING} para reintentar. Pedidos simultáneos del mismo contenido
+ * comparten una sola generación.
+ */
+@Service
+@Slf4j
+public class DocumentPreviewService {
+
+    private static final String PREVIEW_ROOT = "previews";
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.preview.max-size:320}")
+    private int maxSize;
+
+    @Value("${app.upload.preview.workers:2}")
+    private int workers;
+
+    @Value("${app.upload.preview.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.upload.preview.request-wait-ms:2000}")
+    private long requestWaitMs;
+
+    private ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, CompletableFuture<Optional<Path>>> inFlight = new ConcurrentHashMap<>();
+    private Counter generatedCounter;
+    private Counter failedCounter;
+    private Timer generationTimer;
+
+    public DocumentPreviewService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("document-preview-"));
+        generatedCounter = Counter.builder("documents.preview.generated")
+                .description("Miniaturas de documentos generadas")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("documents.preview.failed")
+                .description("Documentos de los que no se pudo generar miniatura")
+                .register(meterRegistry);
+        generationTimer = Timer.builder("documents.preview.generation")
+                .description("Duración de generación de una miniatura")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Encola la generación de la miniatura; no bloquea al llamador
+     */
+    public void schedulePreview(String contentHash, String filePath, String contentType) {
+        if (contentHash == null || Files.exists(previewPath(contentHash))) {
+            return;
+        }
+        try {
+            submit(contentHash, Paths.get(filePath), contentType).whenComplete((preview, error) -> {
+                if (error != null) {
+                    log.warn("⚠️ No se pudo generar la miniatura de {}", filePath, error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Cola de miniaturas llena; {} se generará bajo demanda", filePath);
+        }
+    }
+
+    /**
+     * Devuelve la miniatura del contenido; si aún no existe la encola en el pool y espera
+     * como mucho {@code request-wait-ms}
+     */
+    public PreviewLookup getPreview(String contentHash, String filePath, String contentType) {
+        if (contentHash == null) {
+            return PreviewLookup.of(PreviewStatus.UNAVAILABLE);
+        }
+        Path preview = previewPath(contentHash);
+        if (Files.exists(preview)) {
+            return new PreviewLookup(PreviewStatus.READY, preview);
+        }
+        Path source = Paths.get(filePath);
+        if (!Files.isRegularFile(source)) {
+            return PreviewLookup.of(PreviewStatus.UNAVAILABLE);
+        }
+
+        CompletableFuture<Optional<Path>> generation;
+        try {
+            generation = submit(contentHash, source, contentType);
+        } catch (RejectedExecutionException e) {
+            return PreviewLookup.of(PreviewStatus.BUSY);
+        }
+        try {
+            return generation.get(requestWaitMs, TimeUnit.MILLISECONDS)
+                    .map(path -> new PreviewLookup(PreviewStatus.READY, path))
+                    .orElse(PreviewLookup.of(PreviewStatus.UNAVAILABLE));
+        } catch (TimeoutException e) {
+            return PreviewLookup.of(PreviewStatus.PENDING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PreviewLookup.of(PreviewStatus.PENDING);
+        } catch (ExecutionException e) {
+            log.warn("⚠️ No se pudo generar la miniatura de {}", filePath, e.getCause());
+            return PreviewLookup.of(PreviewStatus.UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Elimina la miniatura de un contenido que ya ningún documento usa
+     */
+    public void deletePreview(String contentHash) {
+        if (contentHash == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(previewPath(contentHash));
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar la miniatura {}", contentHash, e);
+        }
+    }
+
+    /**
+     * Encola la generación en el pool, o devuelve la que ya está en curso para el mismo contenido
+     *
+     * @throws RejectedExecutionException si la cola está llena
+     */
+    private CompletableFuture<Optional<Path>> submit(String contentHash, Path source, String contentType) {
+        return inFlight.computeIfAbsent(contentHash, hash -> {
+            CompletableFuture<Optional<Path>> generation = new CompletableFuture<>();
+            executor.execute(() -> {
+                try {
+                    generation.complete(generatePreview(hash, source, contentType));
+                } catch (Exception e) {
+                    generation.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(hash, generation);
+                }
+            });
+            return generation;
+        });
+    }
+
+    private Optional<Path> generatePreview(String contentHash, Path source, String contentType) throws IOException {
+        Path preview = previewPath(contentHash);
+        if (Files.exists(preview)) {
+            return Optional.of(preview);
+        }
+        if (!Files.isRegularFile(source)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        BufferedImage thumbnail;
+        try {
+            thumbnail = "application/pdf".equals(contentType) ? renderPdfFirstPage(source) : readScaledImage(source);
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            throw e;
+        }
+        if (thumbnail == null) {
+            failedCounter.increment();
+            return Optional.empty();
+        }
+
+        Files.createDirectories(preview.getParent());
+        Path temp = Files.createTempFile(preview.getParent(), contentHash, ".part");
+        try {
+            writeJpeg(thumbnail, temp);
+            Files.move(temp, preview, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        generatedCounter.increment();
+        generationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(preview);
+    }
+
+    /**
+     * Decodifica la imagen saltando píxeles para que el resultado mida como mucho el doble
+     * de la miniatura, y luego la escala con interpolación
+     */
+    private BufferedImage readScaledImage(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, Math.max(width, height) / (maxSize * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage renderPdfFirstPage(Path source) throws IOException {
+        try (PDDocument document = Loader.loadPDF(source.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDPage page = document.getPage(0);
+            float longestSide = Math.max(page.getMediaBox().getWidth(), page.getMediaBox().getHeight());
+            float renderScale = longestSide > 0 ? maxSize / longestSide : 1f;
+            return new PDFRenderer(document).renderImage(0, renderScale, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1d, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        // JPEG no admite transparencia: se dibuja siempre sobre un lienzo RGB blanco
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(java.awt.Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path previewPath(String contentHash) {
+        return Paths.get(uploadDir, PREVIEW_ROOT, contentHash.substring(0, 2), contentHash + ".jpg");
+    }
+
+    public enum PreviewStatus {
+        READY,
+        // En generación; se puede volver a pedir en unos segundos
+        PENDING,
+        // Cola del pool llena
+        BUSY,
+        // No hay miniatura posible: sin hash, sin archivo o formato no soportado
+        UNAVAILABLE
+    }
+
+    public record PreviewLookup(PreviewStatus status, Path path) {
+        static PreviewLookup of(PreviewStatus status) {
+            return new PreviewLookup(status, null);
+        }
+    }
+}
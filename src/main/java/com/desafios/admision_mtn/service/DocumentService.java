@@ -4,26 +4,41 @@ import com.desafios.admision_mtn.entity.Application;
 import com.desafios.admision_mtn.entity.Document;
 import com.desafios.admision_mtn.repository.ApplicationRepository;
 import com.desafios.admision_mtn.repository.DocumentRepository;
+import com.desafios.admision_mtn.util.ContentHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -34,9 +49,10 @@ public class DocumentService {
     private final DocumentRepository documentRepository;
     private final ApplicationRepository applicationRepository;
     private final ApplicationService applicationService;
-
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private final CacheManagementService cacheManagementService;
+    private final DocumentStorageService storageService;
+    private final DocumentPreviewService previewService;
+    private final MeterRegistry meterRegistry;
 
     private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList(
             "application/pdf",
@@ -49,8 +65,54 @@ public class DocumentService {
             ".pdf", ".jpg", ".jpeg", ".png"
     );
 
+    private static final Map<String, String> EXTENSION_CONTENT_TYPES = Map.of(
+            ".pdf", "application/pdf",
+            ".jpg", "image/jpeg",
+            ".jpeg", "image/jpeg",
+            ".png", "image/png"
+    );
+
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
+    // Firmas de los formatos aceptados
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int MAGIC_HEADER_LENGTH = 8;
+
+    private Timer uploadTimer;
+    private DistributionSummary uploadBytes;
+    private DistributionSummary uploadThroughput;
+    private Counter deduplicatedCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        uploadTimer = Timer.builder("documents.upload")
+                .description("Duración de escritura, hash y validación de un documento subido")
+                .register(meterRegistry);
+        uploadBytes = DistributionSummary.builder("documents.upload.bytes")
+                .description("Tamaño de los documentos subidos")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        uploadThroughput = DistributionSummary.builder("documents.upload.throughput")
+                .description("Velocidad de escritura de cada documento subido")
+                .baseUnit("bytes_per_second")
+                .register(meterRegistry);
+        deduplicatedCounter = Counter.builder("documents.upload.deduplicated")
+                .description("Subidas idénticas a un documento existente")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("documents.upload.rejected")
+                .description("Subidas cuyo contenido no es PDF, JPG o PNG válido")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Guarda un documento leyendo el archivo una sola vez: el contenido va a un temporal
+     * mientras se calcula su SHA-256 y se revisan sus bytes iniciales. Solo después se mueve
+     * atómicamente a su ruta final en {@link DocumentStorageService}. Si la aplicación ya
+     * tiene ese mismo contenido para el tipo de documento, se devuelve el existente.
+     */
     public Document uploadDocument(Long applicationId, Document.DocumentType documentType, 
                                  MultipartFile file, boolean isRequired) throws IOException {
         
@@ -80,53 +142,75 @@ public class DocumentService {
         Application application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Aplicación no encontrada"));
 
-        // Verificar si ya existe un documento de este tipo para esta aplicación
-        documentRepository.findByApplicationIdAndDocumentType(applicationId, documentType)
-                .ifPresent(existingDoc -> {
-                    log.info("Reemplazando documento existente: {}", existingDoc.getFileName());
-                    deleteFileIfExists(existingDoc.getFilePath());
-                    documentRepository.delete(existingDoc);
-                });
-
-        // Generar nombre único para el archivo
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uniqueFilename = String.format("%s_%s_%s_%s%s", 
-                applicationId, 
-                documentType.name(), 
-                timestamp,
-                UUID.randomUUID().toString().substring(0, 8),
-                fileExtension);
-
-        // Crear directorio si no existe
-        Path uploadPath = Paths.get(uploadDir, "applications", applicationId.toString());
-        Files.createDirectories(uploadPath);
-
-        // Guardar archivo
-        Path filePath = uploadPath.resolve(uniqueFilename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        // Crear entidad Document
-        Document document = new Document();
-        document.setFileName(uniqueFilename);
-        document.setOriginalName(originalFilename);
-        document.setFilePath(filePath.toString());
-        document.setFileSize(file.getSize());
-        document.setContentType(contentType);
-        document.setDocumentType(documentType);
-        document.setIsRequired(isRequired);
-        document.setApplication(application);
-
-        Document savedDocument = documentRepository.save(document);
-        log.info("Documento guardado: {} para aplicación {}", uniqueFilename, applicationId);
-
-        // Actualizar estado de la aplicación basado en documentos completados
+        long startNanos = System.nanoTime();
+        StagedUpload staged = stageUpload(file);
         try {
-            applicationService.updateApplicationStatusBasedOnDocuments(applicationId);
-        } catch (Exception e) {
-            log.warn("Error actualizando estado de aplicación después de subir documento", e);
-        }
+            // El contenido real debe coincidir con el tipo declarado y con la extensión
+            String detectedType = staged.detectedType();
+            if (detectedType == null
+                    || !detectedType.equals(canonicalContentType(contentType))
+                    || !detectedType.equals(EXTENSION_CONTENT_TYPES.get(fileExtension))) {
+                rejectedCounter.increment();
+                throw new IllegalArgumentException("El contenido del archivo no corresponde a un PDF, JPG o PNG válido");
+            }
 
-        return savedDocument;
+            Optional<Document> existing = documentRepository.findByApplicationIdAndDocumentType(applicationId, documentType);
+            if (existing.isPresent() && staged.contentHash().equals(existing.get().getContentHash())) {
+                deduplicatedCounter.increment();
+                log.info("Documento idéntico ya registrado: {} para aplicación {}", existing.get().getFileName(), applicationId);
+                return existing.get();
+            }
+
+            // Generar nombre único para el archivo
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String uniqueFilename = String.format("%s_%s_%s_%s%s", 
+                    applicationId, 
+                    documentType.name(), 
+                    timestamp,
+                    UUID.randomUUID().toString().substring(0, 8),
+                    fileExtension);
+
+            Path filePath = storageService.pathFor(staged.contentHash(), uniqueFilename);
+            publishStagedUpload(staged, filePath);
+            afterRollback(() -> deleteFileIfExists(filePath.toString()));
+
+            // El archivo anterior se elimina solo cuando el reemplazo quedó confirmado
+            existing.ifPresent(existingDoc -> {
+                log.info("Reemplazando documento existente: {}", existingDoc.getFileName());
+                documentRepository.delete(existingDoc);
+                cacheManagementService.evictDocument(existingDoc.getId());
+                afterCommit(() -> deleteFileIfExists(existingDoc.getFilePath()));
+                deletePreviewIfUnused(existingDoc.getContentHash());
+            });
+
+            // Crear entidad Document
+            Document document = new Document();
+            document.setFileName(uniqueFilename);
+            document.setOriginalName(originalFilename);
+            document.setFilePath(filePath.toString());
+            document.setFileSize(staged.size());
+            document.setContentType(detectedType);
+            document.setContentHash(staged.contentHash());
+            document.setDocumentType(documentType);
+            document.setIsRequired(isRequired);
+            document.setApplication(application);
+
+            Document savedDocument = documentRepository.save(document);
+            recordUploadMetrics(staged.size(), System.nanoTime() - startNanos);
+            afterCommit(() -> previewService.schedulePreview(staged.contentHash(), filePath.toString(), detectedType));
+            log.info("Documento guardado: {} para aplicación {}", uniqueFilename, applicationId);
+
+            // Actualizar estado de la aplicación basado en documentos completados
+            try {
+                applicationService.updateApplicationStatusBasedOnDocuments(applicationId);
+            } catch (Exception e) {
+                log.warn("Error actualizando estado de aplicación después de subir documento", e);
+            }
+
+            return savedDocument;
+        } finally {
+            Files.deleteIfExists(staged.tempFile());
+        }
     }
 
     public List<Document> getDocumentsByApplication(Long applicationId) {
@@ -142,6 +226,31 @@ public class DocumentService {
                 .orElseThrow(() -> new RuntimeException("Documento no encontrado"));
     }
 
+    /**
+     * Metadata necesaria para servir el archivo de un documento, cacheada por id.
+     * Los archivos no se sobrescriben (cada subida tiene nombre único), así que la entrada
+     * solo se invalida al eliminar o reemplazar el documento.
+     */
+    @Cacheable(value = "documents", key = "#documentId")
+    @Transactional(readOnly = true)
+    public DocumentContent getDocumentContent(Long documentId) throws IOException {
+        Document document = getDocumentById(documentId);
+        Path filePath = Paths.get(document.getFilePath());
+        if (!Files.isRegularFile(filePath)) {
+            throw new RuntimeException("Archivo no encontrado: " + document.getFileName());
+        }
+
+        long size = Files.size(filePath);
+        long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+        String etag = document.getContentHash() != null
+                ? "\"" + document.getContentHash() + "\""
+                : "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        String contentType = document.getContentType() != null ? document.getContentType() : "application/octet-stream";
+
+        return new DocumentContent(document.getId(), filePath.toString(), document.getOriginalName(),
+                contentType, size, lastModified, etag, document.getContentHash());
+    }
+
     public Resource loadFileAsResource(Long documentId) throws IOException {
         Document document = getDocumentById(documentId);
         Path filePath = Paths.get(document.getFilePath());
@@ -166,10 +275,21 @@ public class DocumentService {
         
         // Eliminar registro de base de datos
         documentRepository.delete(document);
+        cacheManagementService.evictDocument(documentId);
+        deletePreviewIfUnused(document.getContentHash());
         
         log.info("Documento eliminado: {}", document.getFileName());
     }
 
+    /**
+     * Programa la eliminación de la miniatura si ningún otro documento tiene el mismo contenido
+     */
+    private void deletePreviewIfUnused(String contentHash) {
+        if (contentHash != null && documentRepository.findFirstByContentHash(contentHash).isEmpty()) {
+            afterCommit(() -> previewService.deletePreview(contentHash));
+        }
+    }
+
     private void deleteFileIfExists(String filePath) {
         try {
             Path path = Paths.get(filePath);
@@ -182,6 +302,127 @@ public class DocumentService {
         }
     }
 
+    /**
+     * Copia el archivo subido a un temporal en una sola pasada, calculando el hash, el
+     * tamaño real y el tipo según sus bytes iniciales
+     */
+    private StagedUpload stageUpload(MultipartFile file) throws IOException {
+        Path tempFile = storageService.createStagingFile();
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            byte[] header = new byte[MAGIC_HEADER_LENGTH];
+            int headerLength = 0;
+            long size = 0;
+            byte[] buffer = new byte[64 * 1024];
+
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = Files.newOutputStream(tempFile, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > MAX_FILE_SIZE) {
+                        throw new IllegalArgumentException("El archivo no puede exceder 10MB");
+                    }
+                    if (headerLength < header.length) {
+                        int copy = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            return new StagedUpload(tempFile, ContentHash.toHex(digest), size, detectContentType(header, headerLength));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Mueve el temporal a su nombre final. Si otro documento ya tiene el mismo contenido, se
+     * crea un enlace duro a su archivo en lugar de guardar una segunda copia.
+     */
+    private void publishStagedUpload(StagedUpload staged, Path filePath) throws IOException {
+        Optional<Path> identical = documentRepository.findFirstByContentHash(staged.contentHash())
+                .map(document -> Paths.get(document.getFilePath()))
+                .filter(Files::isRegularFile);
+        if (identical.isPresent()) {
+            try {
+                Files.createLink(filePath, identical.get());
+                deduplicatedCounter.increment();
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("No se pudo enlazar {} con {}; se guarda una copia", filePath, identical.get(), e);
+            }
+        }
+        Files.move(staged.tempFile(), filePath, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String detectContentType(byte[] header, int length) {
+        if (startsWith(header, length, PDF_MAGIC)) {
+            return "application/pdf";
+        }
+        if (startsWith(header, length, JPEG_MAGIC)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, length, PNG_MAGIC)) {
+            return "image/png";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String canonicalContentType(String contentType) {
+        return "image/jpg".equals(contentType) ? "image/jpeg" : contentType;
+    }
+
+    private void recordUploadMetrics(long size, long elapsedNanos) {
+        uploadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        uploadBytes.record(size);
+        if (elapsedNanos > 0) {
+            uploadThroughput.record(size * 1_000_000_000d / elapsedNanos);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || filename.isEmpty()) {
             return "";
@@ -193,4 +434,23 @@ public class DocumentService {
     public Long getDocumentCountByApplication(Long applicationId) {
         return documentRepository.countByApplication_Id(applicationId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Archivo subido escrito en un temporal, con su hash, tamaño real y tipo detectado
+     */
+    private record StagedUpload(Path tempFile, String contentHash, long size, String detectedType) {}
+
+    /**
+     * Archivo de un documento listo para enviarse: ruta, tamaño y validadores HTTP
+     */
+    public record DocumentContent(
+            Long documentId,
+            String filePath,
+            String originalName,
+            String contentType,
+            long size,
+            long lastModified,
+            String etag,
+            String contentHash
+    ) {}
+}
@@ -0,0 +1,197 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.repository.DocumentRepository;
+import com.desafios.admision_mtn.util.ContentHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migra en segundo plano los documentos del layout {@code applications/<id>/} al layout por
+ * hash de {@link DocumentStorageService}
+ *
+ * Cada lote enlaza (o copia) los archivos a su nueva ruta, actualiza {@code filePath} en una
+ * transacción corta con un UPDATE condicionado a la ruta anterior y solo entonces elimina el
+ * archivo viejo, de modo que la ruta registrada siempre existe. El avance queda en la propia
+ * tabla: un documento migrado ya no aparece en la consulta, así que un reinicio retoma
+ * donde quedó.
+ *
+ * Los documentos sin archivo en disco no se pueden migrar nunca: se recuerdan por id y se
+ * saltan sin volver a registrarlos. Si una pasada completa termina sin migrar ningún
+ * documento, el migrador se detiene hasta el próximo reinicio en lugar de reintentar los
+ * mismos errores cada intervalo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentStorageMigrator {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStorageService storageService;
+    private final CacheManagementService cacheManagementService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.upload.migration.batch-size:200}")
+    private int batchSize;
+
+    // Último id visto en la pasada actual; los documentos que fallan se saltan hasta la siguiente
+    private long lastSeenId;
+    private int failuresInPass;
+    private int migratedInPass;
+    // Documentos cuyo archivo no existe; solo los usa el hilo del scheduler
+    private final Set<Long> missingFiles = new HashSet<>();
+    private volatile boolean completed;
+
+    @Scheduled(initialDelayString = "${app.upload.migration.interval-ms:60000}",
+               fixedDelayString = "${app.upload.migration.interval-ms:60000}")
+    public void migrateNextBatch() {
+        if (!enabled || completed) {
+            return;
+        }
+        try {
+            List<Object[]> batch = documentRepository.findUnshardedEntries(
+                storageService.shardedPrefix(), lastSeenId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                finishPass();
+                return;
+            }
+            lastSeenId = (Long) batch.get(batch.size() - 1)[0];
+            migrateBatch(batch);
+        } catch (Exception e) {
+            log.error("❌ Error migrando documentos al layout por hash", e);
+        }
+    }
+
+    private void migrateBatch(List<Object[]> batch) {
+        List<Relocation> relocations = new ArrayList<>(batch.size());
+        for (Object[] entry : batch) {
+            Long documentId = (Long) entry[0];
+            if (missingFiles.contains(documentId)) {
+                continue;
+            }
+            try {
+                Relocation relocation = prepare(documentId, (String) entry[1], (String) entry[2]);
+                if (relocation != null) {
+                    relocations.add(relocation);
+                }
+            } catch (IOException e) {
+                failuresInPass++;
+                log.warn("⚠️ No se pudo preparar la migración del documento {}", documentId, e);
+            }
+        }
+        if (relocations.isEmpty()) {
+            return;
+        }
+
+        List<Relocation> committed = transactionTemplate.execute(status -> {
+            List<Relocation> updated = new ArrayList<>(relocations.size());
+            for (Relocation relocation : relocations) {
+                int rows = documentRepository.relocateFile(relocation.documentId(),
+                    relocation.source().toString(), relocation.target().toString(), relocation.contentHash());
+                if (rows == 1) {
+                    updated.add(relocation);
+                }
+            }
+            return updated;
+        });
+
+        for (Relocation relocation : relocations) {
+            if (committed.contains(relocation)) {
+                cacheManagementService.evictDocument(relocation.documentId());
+                deleteQuietly(relocation.source());
+                storageService.deleteDirectoryIfEmpty(relocation.source().getParent());
+            } else if (relocation.createdTarget()) {
+                // El documento cambió o se eliminó mientras tanto
+                deleteQuietly(relocation.target());
+            }
+        }
+        migratedInPass += committed.size();
+        log.info("📦 Documentos migrados al layout por hash: {} de {}", committed.size(), batch.size());
+    }
+
+    /**
+     * Deja el archivo disponible en su nueva ruta sin tocar el original
+     */
+    private Relocation prepare(Long documentId, String filePath, String contentHash) throws IOException {
+        Path source = Paths.get(filePath);
+        if (!Files.isRegularFile(source)) {
+            missingFiles.add(documentId);
+            log.warn("⚠️ Documento {} sin archivo en disco, no se migrará: {}", documentId, source);
+            return null;
+        }
+        String hash = ContentHash.isValid(contentHash) ? contentHash : ContentHash.of(source);
+        Path target = storageService.pathFor(hash, source.getFileName().toString());
+        if (Files.exists(target)) {
+            return new Relocation(documentId, source, target, hash, false);
+        }
+
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            return new Relocation(documentId, source, target, hash, false);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Otro volumen o sin soporte de enlaces: copia completa y movimiento atómico
+            Path temp = storageService.createStagingFile();
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new Relocation(documentId, source, target, hash, true);
+    }
+
+    /**
+     * Una consulta vacía desde el inicio significa que no queda nada por migrar; una pasada
+     * sin ningún documento migrado significa que solo quedan los que no se pueden migrar. En
+     * otro caso se empieza otra pasada para reintentar los documentos que fallaron
+     */
+    private void finishPass() {
+        if (lastSeenId == 0) {
+            completed = true;
+            log.info("✅ Todos los documentos están en el layout por hash");
+            return;
+        }
+        if (migratedInPass == 0) {
+            completed = true;
+            log.warn("⚠️ Migración detenida sin avance: {} documentos sin archivo y {} con error quedan en el " +
+                    "layout anterior; se reintentarán al reiniciar", missingFiles.size(), failuresInPass);
+            return;
+        }
+        if (failuresInPass > 0) {
+            log.warn("⚠️ Pasada de migración terminada con {} documentos pendientes; se reintentarán", failuresInPass);
+        }
+        lastSeenId = 0;
+        failuresInPass = 0;
+        migratedInPass = 0;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar {}", path, e);
+        }
+    }
+
+    private record Relocation(Long documentId, Path source, Path target, String contentHash, boolean createdTarget) {}
+}
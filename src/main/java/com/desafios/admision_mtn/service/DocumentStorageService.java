@@ -0,0 +1,83 @@
+package com.desafios.admision_mtn.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Ubicación de los archivos de documentos en disco
+ *
+ * Los archivos se guardan en {@code <upload.dir>/files/<hash[0..2]>/<hash[2..4]>/<nombre>},
+ * repartidos en 65.536 directorios según el SHA-256 del contenido, para que ningún directorio
+ * crezca con la cantidad de aplicaciones. Las subidas se escriben primero en
+ * {@code <upload.dir>/staging}, en el mismo volumen, para poder moverlas atómicamente.
+ * El layout anterior ({@code applications/<id>/}) se migra con {@link DocumentStorageMigrator}.
+ */
+@Service
+@Slf4j
+public class DocumentStorageService {
+
+    private static final String SHARDED_ROOT = "files";
+    private static final String STAGING_ROOT = "staging";
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    /**
+     * Temporal para escribir una subida antes de conocer su hash
+     */
+    public Path createStagingFile() throws IOException {
+        Path stagingRoot = Paths.get(uploadDir, STAGING_ROOT);
+        Files.createDirectories(stagingRoot);
+        return Files.createTempFile(stagingRoot, "upload-", ".part");
+    }
+
+    /**
+     * Ruta definitiva de un archivo con el contenido indicado; crea su directorio
+     */
+    public Path pathFor(String contentHash, String fileName) throws IOException {
+        Path directory = shardedRoot()
+                .resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4));
+        Files.createDirectories(directory);
+        return directory.resolve(fileName);
+    }
+
+    /**
+     * Prefijo de {@code Document.filePath} para archivos que ya están en el layout por hash
+     */
+    public String shardedPrefix() {
+        return shardedRoot() + File.separator;
+    }
+
+    public boolean isSharded(String filePath) {
+        return filePath.startsWith(shardedPrefix());
+    }
+
+    /**
+     * Elimina el directorio de un archivo migrado si quedó vacío
+     */
+    public void deleteDirectoryIfEmpty(Path directory) {
+        if (directory == null || isSharded(directory + File.separator)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory);
+        } catch (DirectoryNotEmptyException e) {
+            // Aún tiene archivos sin migrar
+        } catch (IOException e) {
+            log.debug("No se pudo eliminar el directorio {}", directory, e);
+        }
+    }
+
+    private Path shardedRoot() {
+        return Paths.get(uploadDir, SHARDED_ROOT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.EmailNotification.TargetSchool;
+import com.desafios.admision_mtn.repository.EmailNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estadísticas de correos enviados
+ *
+ * Todos los contadores se resuelven con COUNT/SUM en la base de datos: una pasada para las
+ * cifras generales y un GROUP BY por tipo y por escuela. No se hidrata ninguna notificación,
+ * así que el costo no depende de cuántos correos acumulen los procesos de admisión.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailAnalyticsService {
+
+    private static final int RECENT_DAYS = 30;
+
+    private final EmailNotificationRepository emailNotificationRepository;
+
+    /**
+     * Cifras generales, por tipo de correo y de los últimos 30 días (2 consultas)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEmailStats() {
+        List<Object[]> rows = emailNotificationRepository.getEmailStats(LocalDateTime.now().minusDays(RECENT_DAYS));
+        Object[] general = rows.isEmpty() ? new Object[0] : rows.get(0);
+
+        long total = longAt(general, 0);
+        long opened = longAt(general, 1);
+        long responded = longAt(general, 2);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalEmails", total);
+        stats.put("openedEmails", opened);
+        stats.put("respondedEmails", responded);
+        stats.put("openRate", total > 0 ? Math.round((double) opened / total * 100) : 0);
+        stats.put("responseRate", total > 0 ? Math.round((double) responded / total * 100) : 0);
+
+        Map<String, Long> emailTypeStats = new HashMap<>();
+        for (Object[] row : emailNotificationRepository.getEmailStatsByType()) {
+            if (row.length >= 2 && row[0] != null && row[1] != null) {
+                emailTypeStats.put(row[0].toString(), ((Number) row[1]).longValue());
+            }
+        }
+        stats.put("emailsByType", emailTypeStats);
+
+        stats.put("recentEmailsCount", longAt(general, 3));
+        stats.put("pendingResponsesCount", longAt(general, 4));
+        stats.put("unopenedEmailsCount", longAt(general, 5));
+        return stats;
+    }
+
+    /**
+     * Total, abiertos y respondidos por escuela; las escuelas sin correos aparecen en cero
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatsBySchool() {
+        Map<TargetSchool, Object[]> rowsBySchool = new EnumMap<>(TargetSchool.class);
+        for (Object[] row : emailNotificationRepository.getEmailStatsBySchool()) {
+            if (row[0] instanceof TargetSchool school) {
+                rowsBySchool.put(school, row);
+            }
+        }
+
+        Map<String, Object> schoolStats = new HashMap<>();
+        for (TargetSchool school : TargetSchool.values()) {
+            Object[] row = rowsBySchool.getOrDefault(school, new Object[0]);
+            Map<String, Object> counts = new HashMap<>();
+            counts.put("total", longAt(row, 1));
+            counts.put("opened", longAt(row, 2));
+            counts.put("responded", longAt(row, 3));
+            schoolStats.put(school.name(), counts);
+        }
+        return schoolStats;
+    }
+
+    // SUM devuelve null sobre una tabla vacía
+    private static long longAt(Object[] row, int index) {
+        return index < row.length && row[index] != null ? ((Number) row[index]).longValue() : 0;
+    }
+}
@@ -0,0 +1,224 @@
+package com.desafios.admision_mtn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Buffer write-behind de aperturas de correo registradas por el pixel de tracking
+ *
+ * El endpoint del pixel solo encola la apertura y responde. Cada
+ * {@code app.email-tracking.flush-interval-ms} se drena la cola, las aperturas se agrupan
+ * por token y se aplican en una transacción con dos batches JDBC: un
+ * {@code open_count = open_count + n} por correo, atómico frente a otras escrituras, y un
+ * INSERT por evento. Si la cola se llena las aperturas se descartan: el tracking es
+ * informativo y no debe frenar la respuesta del pixel.
+ *
+ * IP y user agent vienen de cabeceras que controla el cliente, así que se validan al
+ * encolar: una IP que no cabe en {@code email_events.ip_address} se guarda como null y el
+ * user agent se recorta. Si aun así falla el lote completo, se reintenta token por token
+ * para que una fila mala no se lleve las aperturas válidas del mismo drenado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOpenTrackingBuffer {
+
+    private static final String UPDATE_OPENS_SQL =
+        "UPDATE email_notifications SET open_count = COALESCE(open_count, 0) + ?, opened = true, " +
+        "opened_at = COALESCE(opened_at, ?) WHERE id = ?";
+    private static final String INSERT_EVENT_SQL =
+        "INSERT INTO email_events (email_notification_id, event_type, ip_address, user_agent, " +
+        "event_date, additional_info, created_at) VALUES (?, 'OPENED', ?, ?, ?, CAST('{}' AS jsonb), ?)";
+    private static final String FIND_IDS_SQL =
+        "SELECT id, tracking_token FROM email_notifications WHERE tracking_token IN (:tokens)";
+
+    // Largo de email_events.ip_address; solo dígitos, hex, '.' y ':' (IPv4, IPv6 e IPv4 mapeada)
+    private static final int MAX_IP_LENGTH = 45;
+    private static final Pattern IP_ADDRESS = Pattern.compile("[0-9A-Fa-f.:]{2," + MAX_IP_LENGTH + "}");
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+    private static final int MAX_TOKEN_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.email-tracking.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.email-tracking.batch-size:1000}")
+    private int batchSize;
+
+    private BlockingQueue<OpenHit> queue;
+    private Counter recordedCounter;
+    private Counter droppedCounter;
+    private Counter unknownTokenCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("email.tracking.opens.pending", queue, BlockingQueue::size)
+            .description("Aperturas de correo en espera de escritura")
+            .register(meterRegistry);
+        recordedCounter = Counter.builder("email.tracking.opens.recorded")
+            .description("Aperturas de correo escritas en base de datos")
+            .register(meterRegistry);
+        droppedCounter = Counter.builder("email.tracking.opens.dropped")
+            .description("Aperturas descartadas por cola llena")
+            .register(meterRegistry);
+        unknownTokenCounter = Counter.builder("email.tracking.opens.unknown")
+            .description("Aperturas con token de tracking inexistente")
+            .register(meterRegistry);
+        failedCounter = Counter.builder("email.tracking.opens.failed")
+            .description("Aperturas perdidas por error al escribir")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * Encola una apertura; nunca bloquea
+     */
+    public void record(String trackingToken, String ipAddress, String userAgent) {
+        if (trackingToken == null || trackingToken.length() > MAX_TOKEN_LENGTH) {
+            unknownTokenCounter.increment();
+            return;
+        }
+        OpenHit hit = new OpenHit(trackingToken, sanitizeIp(ipAddress), truncate(userAgent, MAX_USER_AGENT_LENGTH),
+            LocalDateTime.now());
+        if (!queue.offer(hit)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Escribe lo que había en la cola al comenzar, en lotes de {@code batchSize}; lo que llega
+     * mientras tanto espera al siguiente ciclo, así un flujo constante de aperturas no deja
+     * al hilo del scheduler atrapado en un solo flush
+     */
+    @Scheduled(fixedDelayString = "${app.email-tracking.flush-interval-ms:2000}")
+    public void flush() {
+        try {
+            int remaining = queue.size();
+            List<OpenHit> hits = new ArrayList<>(Math.min(remaining, batchSize));
+            while (remaining > 0) {
+                int drained = queue.drainTo(hits, Math.min(remaining, batchSize));
+                if (drained == 0) {
+                    break;
+                }
+                remaining -= drained;
+                apply(hits);
+                hits.clear();
+            }
+        } catch (Exception e) {
+            log.error("❌ Error escribiendo aperturas de correo", e);
+        }
+    }
+
+    private void apply(List<OpenHit> hits) {
+        Map<String, List<OpenHit>> byToken = new LinkedHashMap<>();
+        for (OpenHit hit : hits) {
+            byToken.computeIfAbsent(hit.trackingToken(), token -> new ArrayList<>()).add(hit);
+        }
+
+        Map<String, Long> notificationIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(FIND_IDS_SQL,
+            new MapSqlParameterSource("tokens", byToken.keySet()),
+            rs -> {
+                notificationIds.put(rs.getString("tracking_token"), rs.getLong("id"));
+            });
+
+        List<TokenWrite> writes = new ArrayList<>(notificationIds.size());
+        byToken.forEach((token, tokenHits) -> {
+            Long notificationId = notificationIds.get(token);
+            if (notificationId == null) {
+                unknownTokenCounter.increment(tokenHits.size());
+                log.debug("Token de tracking inexistente: {}", token);
+                return;
+            }
+            Timestamp firstOpen = Timestamp.valueOf(tokenHits.get(0).openedAt());
+            List<Object[]> events = new ArrayList<>(tokenHits.size());
+            for (OpenHit hit : tokenHits) {
+                Timestamp openedAt = Timestamp.valueOf(hit.openedAt());
+                events.add(new Object[]{notificationId, hit.ipAddress(), hit.userAgent(), openedAt, openedAt});
+            }
+            writes.add(new TokenWrite(token, new Object[]{tokenHits.size(), firstOpen, notificationId}, events));
+        });
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(writes);
+            log.debug("📧 Aperturas registradas en {} correos", writes.size());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Lote de aperturas falló ({}); se reintenta por correo", e.getMessage());
+            for (TokenWrite tokenWrite : writes) {
+                try {
+                    write(List.of(tokenWrite));
+                } catch (RuntimeException tokenError) {
+                    failedCounter.increment(tokenWrite.events().size());
+                    log.error("❌ No se pudieron registrar {} aperturas del token {}",
+                        tokenWrite.events().size(), tokenWrite.trackingToken(), tokenError);
+                }
+            }
+        }
+    }
+
+    private void write(List<TokenWrite> writes) {
+        List<Object[]> openUpdates = new ArrayList<>(writes.size());
+        List<Object[]> eventInserts = new ArrayList<>();
+        for (TokenWrite tokenWrite : writes) {
+            openUpdates.add(tokenWrite.openUpdate());
+            eventInserts.addAll(tokenWrite.events());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_OPENS_SQL, openUpdates);
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, eventInserts);
+        });
+        recordedCounter.increment(eventInserts.size());
+    }
+
+    private static String sanitizeIp(String ipAddress) {
+        if (ipAddress == null) {
+            return null;
+        }
+        String trimmed = ipAddress.trim();
+        return IP_ADDRESS.matcher(trimmed).matches() ? trimmed : null;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record OpenHit(String trackingToken, String ipAddress, String userAgent, LocalDateTime openedAt) {}
+
+    private record TokenWrite(String trackingToken, Object[] openUpdate, List<Object[]> events) {}
+}
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,7 +11,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailService {
     
-    private final JavaMailSender mailSender;
+    private final MailDispatchService mailDispatchService;
     
     @Value("${spring.mail.username:admisiones@mtn.cl}")
     private String fromEmail;
@@ -25,8 +24,15 @@ public class EmailService {
             message.setSubject("Código de Verificación - Monte Tabor & Nazaret");
             message.setText(buildVerificationEmailBody(code));
             
-            mailSender.send(message);
-            log.info("Verification email sent to: {}", to);
+            mailDispatchService.dispatch(message).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    log.info("Verification email sent to: {}", to);
+                } else {
+                    log.error("Error sending verification email to: {}", to, error);
+                    // En desarrollo, logueamos el código para testing
+                    log.warn("DEVELOPMENT MODE - Verification code for {}: {}", to, code);
+                }
+            });
             
         } catch (Exception e) {
             log.error("Error sending verification email to: {}", to, e);
@@ -48,8 +54,14 @@ public class EmailService {
             message.setSubject(subject);
             message.setText(body);
             
-            mailSender.send(message);
-            log.info("Simple email sent to: {} with subject: {}", to, subject);
+            mailDispatchService.dispatch(message).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    log.info("Simple email sent to: {} with subject: {}", to, subject);
+                } else {
+                    log.error("Error sending email to: {} with subject: {}", to, subject, error);
+                    log.warn("DEVELOPMENT MODE - Email content for {}: {}", to, body);
+                }
+            });
             
         } catch (Exception e) {
             log.error("Error sending email to: {} with subject: {}", to, subject, e);
@@ -67,8 +79,13 @@ public class EmailService {
             message.setSubject("Bienvenido/a al Sistema de Admisiones - Monte Tabor & Nazaret");
             message.setText(buildWelcomeEmailBody(firstName, lastName, email, temporaryPassword, role));
             
-            mailSender.send(message);
-            log.info("Welcome email sent to new user: {}", to);
+            mailDispatchService.dispatch(message).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    log.info("Welcome email sent to new user: {}", to);
+                } else {
+                    log.error("Error sending welcome email to: {}", to, error);
+                }
+            });
             
         } catch (Exception e) {
             log.error("Error sending welcome email to: {}", to, e);
@@ -88,8 +105,13 @@ public class EmailService {
             message.setSubject("Contraseña Restablecida - Monte Tabor & Nazaret");
             message.setText(buildPasswordResetEmailBody(firstName, lastName, newPassword));
             
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", to);
+            mailDispatchService.dispatch(message).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    log.info("Password reset email sent to: {}", to);
+                } else {
+                    log.error("Error sending password reset email to: {}", to, error);
+                }
+            });
             
         } catch (Exception e) {
             log.error("Error sending password reset email to: {}", to, e);
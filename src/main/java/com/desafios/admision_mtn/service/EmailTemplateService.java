@@ -0,0 +1,70 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.util.EmailTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Catálogo de plantillas de email compiladas al iniciar la aplicación
+ *
+ * Carga {@code classpath:templates/email/**} y registra cada archivo por su ruta relativa
+ * sin extensión (ej. {@code notification/status-change}). Una plantilla con sintaxis
+ * inválida impide el arranque en lugar de fallar al enviar.
+ */
+@Service
+@Slf4j
+public class EmailTemplateService {
+
+    private static final String TEMPLATE_ROOT = "templates/email/";
+
+    private Map<String, EmailTemplate> templates = Map.of();
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Map<String, EmailTemplate> compiled = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + TEMPLATE_ROOT + "**/*.*");
+        for (Resource resource : resources) {
+            String name = templateName(resource);
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            compiled.put(name, EmailTemplate.compile(name, source));
+        }
+        templates = Map.copyOf(compiled);
+        log.info("✅ {} plantillas de email compiladas", templates.size());
+    }
+
+    public String render(String name, EmailTemplate.Model model) {
+        return get(name).render(model);
+    }
+
+    /**
+     * Renderiza {@code name/variant} o, si no existe, {@code name/default}
+     */
+    public String renderVariant(String name, String variant, EmailTemplate.Model model) {
+        EmailTemplate template = templates.get(name + "/" + variant);
+        return (template != null ? template : get(name + "/default")).render(model);
+    }
+
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Plantilla de email no encontrada: " + name);
+        }
+        return template;
+    }
+
+    private static String templateName(Resource resource) throws IOException {
+        String path = resource.getURL().getPath();
+        String relative = path.substring(path.lastIndexOf(TEMPLATE_ROOT) + TEMPLATE_ROOT.length());
+        int extension = relative.lastIndexOf('.');
+        return extension > 0 ? relative.substring(0, extension) : relative;
+    }
+}
@@ -0,0 +1,128 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.Interview;
+import com.desafios.admision_mtn.entity.User;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asignador por lotes de entrevistas para una corrida de planificación
+ *
+ * Trabaja sobre un {@link InterviewAvailabilityIndex} que ya contiene la agenda persistida:
+ * cada asignación se reserva en el índice en el momento, así las siguientes aplicaciones del
+ * lote ven los horarios ocupados y no hay doble reserva aunque nada se haya guardado aún.
+ * Para balancear la carga se elige el entrevistador con menos entrevistas en el horizonte
+ * que tenga un horario libre; las entrevistas de una misma aplicación no se superponen.
+ */
+public final class InterviewAssignmentSolver {
+
+    /**
+     * Entrevista asignada, pendiente de persistir
+     */
+    public record Assignment(Application application,
+                             Interview.InterviewType type,
+                             User interviewer,
+                             LocalDate date,
+                             LocalTime time) {}
+
+    private final InterviewAvailabilityIndex availability;
+    private final Map<Interview.InterviewType, List<User>> interviewersByType;
+    private final List<User> defaultInterviewers;
+    private final LocalDate firstDate;
+    private final LocalDate endDate;
+    private final int maxInterviewsPerDay;
+
+    /**
+     * @param firstDate primera fecha asignable
+     * @param endDate   fecha límite (exclusiva)
+     */
+    public InterviewAssignmentSolver(InterviewAvailabilityIndex availability,
+                                     Map<Interview.InterviewType, List<User>> interviewersByType,
+                                     List<User> defaultInterviewers,
+                                     LocalDate firstDate, LocalDate endDate,
+                                     int maxInterviewsPerDay) {
+        this.availability = availability;
+        this.interviewersByType = interviewersByType;
+        this.defaultInterviewers = defaultInterviewers;
+        this.firstDate = firstDate;
+        this.endDate = endDate;
+        this.maxInterviewsPerDay = maxInterviewsPerDay;
+    }
+
+    /**
+     * Asigna todas las entrevistas requeridas de una aplicación, o ninguna
+     *
+     * @return las asignaciones reservadas, o una lista vacía si algún tipo no tiene horario
+     *         disponible (en ese caso se liberan las reservas parciales)
+     */
+    public List<Assignment> assign(Application application, List<Interview.InterviewType> types) {
+        List<Assignment> assignments = new ArrayList<>(types.size());
+        for (Interview.InterviewType type : types) {
+            Assignment assignment = assignOne(application, type, assignments);
+            if (assignment == null) {
+                assignments.forEach(a -> availability.release(a.interviewer().getId(), a.date(), a.time()));
+                return List.of();
+            }
+            availability.record(assignment.interviewer().getId(), assignment.date(), assignment.time(),
+                    Interview.InterviewStatus.SCHEDULED);
+            assignments.add(assignment);
+        }
+        return assignments;
+    }
+
+    private Assignment assignOne(Application application, Interview.InterviewType type, List<Assignment> planned) {
+        List<User> candidates = interviewersByType.getOrDefault(type, List.of());
+        if (candidates.isEmpty()) {
+            candidates = defaultInterviewers;
+        }
+
+        // Menor carga primero; en empate se respeta el orden original de candidatos
+        List<User> byLoad = new ArrayList<>(candidates);
+        byLoad.sort(Comparator.comparingInt(user -> availability.countInterviews(user.getId())));
+
+        for (User interviewer : byLoad) {
+            Assignment assignment = findSlot(application, type, interviewer, planned);
+            if (assignment != null) {
+                return assignment;
+            }
+        }
+        return null;
+    }
+
+    private Assignment findSlot(Application application, Interview.InterviewType type, User interviewer,
+                                List<Assignment> planned) {
+        Long interviewerId = interviewer.getId();
+        for (LocalDate date = firstDate; date.isBefore(endDate); date = date.plusDays(1)) {
+            if (!isWorkingDay(date) || availability.countInterviewsOn(interviewerId, date) >= maxInterviewsPerDay) {
+                continue;
+            }
+            for (LocalTime time : InterviewAvailabilityIndex.PREFERRED_TIMES) {
+                if (availability.isSlotFree(interviewerId, date, time) && !overlaps(planned, date, time)) {
+                    return new Assignment(application, type, interviewer, date, time);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean overlaps(List<Assignment> planned, LocalDate date, LocalTime time) {
+        for (Assignment assignment : planned) {
+            if (assignment.date().equals(date) && assignment.time().equals(time)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWorkingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY; // Lunes a Viernes
+    }
+}
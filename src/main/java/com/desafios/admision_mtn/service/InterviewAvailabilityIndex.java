@@ -0,0 +1,163 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Interview;
+import com.desafios.admision_mtn.repository.InterviewRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice en memoria de la agenda de entrevistadores para una corrida de planificación
+ *
+ * Se carga con una sola consulta de proyección para todos los candidatos y un horizonte
+ * de días fijo. Por entrevistador guarda cuántas entrevistas tiene cada día y un bitmap
+ * (día × horario preferido) de los horarios ocupados por entrevistas activas. Las
+ * consultas de carga, disponibilidad diaria y de horario son búsquedas en memoria, y
+ * {@link #record} mantiene el índice al crear nuevas entrevistas durante la corrida
+ * ({@link #release} deshace una reserva tentativa).
+ */
+public final class InterviewAvailabilityIndex {
+
+    /**
+     * Horarios preferidos, en orden de preferencia
+     */
+    public static final List<LocalTime> PREFERRED_TIMES = List.of(
+        LocalTime.of(9, 0),   // 9:00 AM
+        LocalTime.of(10, 30), // 10:30 AM
+        LocalTime.of(14, 0),  // 2:00 PM
+        LocalTime.of(15, 30), // 3:30 PM
+        LocalTime.of(11, 0),  // 11:00 AM
+        LocalTime.of(16, 0)   // 4:00 PM
+    );
+
+    private static final int SLOTS_PER_DAY = PREFERRED_TIMES.size();
+
+    private final LocalDate start;
+    private final int days;
+    private final Map<Long, InterviewerSchedule> schedules = new HashMap<>();
+
+    private InterviewAvailabilityIndex(LocalDate start, int days) {
+        this.start = start;
+        this.days = days;
+    }
+
+    /**
+     * Carga la agenda de {@code interviewerIds} entre {@code start} y {@code end} (inclusive)
+     */
+    public static InterviewAvailabilityIndex load(InterviewRepository interviewRepository,
+                                                  Collection<Long> interviewerIds,
+                                                  LocalDate start, LocalDate end) {
+        InterviewAvailabilityIndex index =
+            new InterviewAvailabilityIndex(start, (int) ChronoUnit.DAYS.between(start, end) + 1);
+        for (Long interviewerId : interviewerIds) {
+            index.schedules.put(interviewerId, index.new InterviewerSchedule());
+        }
+        if (!interviewerIds.isEmpty()) {
+            for (Object[] row : interviewRepository.findScheduleSlotsByInterviewers(interviewerIds, start, end)) {
+                index.record((Long) row[0], (LocalDate) row[1], (LocalTime) row[2], (Interview.InterviewStatus) row[3]);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Registra una entrevista en el índice (ignora fechas fuera del horizonte)
+     */
+    public void record(Long interviewerId, LocalDate date, LocalTime time, Interview.InterviewStatus status) {
+        int day = dayOffset(date);
+        if (interviewerId == null || day < 0) {
+            return;
+        }
+        InterviewerSchedule schedule = schedules.computeIfAbsent(interviewerId, id -> new InterviewerSchedule());
+        schedule.interviewsPerDay[day]++;
+        schedule.totalInterviews++;
+        int slot = time != null ? PREFERRED_TIMES.indexOf(time) : -1;
+        if (slot >= 0 && status != Interview.InterviewStatus.CANCELLED && status != Interview.InterviewStatus.COMPLETED) {
+            schedule.occupiedSlots.set(day * SLOTS_PER_DAY + slot);
+        }
+    }
+
+    /**
+     * Deshace un {@link #record} de una entrevista activa aún no persistida
+     */
+    public void release(Long interviewerId, LocalDate date, LocalTime time) {
+        InterviewerSchedule schedule = schedules.get(interviewerId);
+        int day = dayOffset(date);
+        if (schedule == null || day < 0 || schedule.interviewsPerDay[day] == 0) {
+            return;
+        }
+        schedule.interviewsPerDay[day]--;
+        schedule.totalInterviews--;
+        int slot = time != null ? PREFERRED_TIMES.indexOf(time) : -1;
+        if (slot >= 0) {
+            schedule.occupiedSlots.clear(day * SLOTS_PER_DAY + slot);
+        }
+    }
+
+    /**
+     * Entrevistas (de cualquier estado) del entrevistador en todo el horizonte del índice
+     */
+    public int countInterviews(Long interviewerId) {
+        InterviewerSchedule schedule = schedules.get(interviewerId);
+        return schedule == null ? 0 : schedule.totalInterviews;
+    }
+
+    /**
+     * Entrevistas (de cualquier estado) del entrevistador entre dos fechas inclusive
+     */
+    public int countInterviews(Long interviewerId, LocalDate from, LocalDate to) {
+        InterviewerSchedule schedule = schedules.get(interviewerId);
+        if (schedule == null) {
+            return 0;
+        }
+        int first = Math.max(0, (int) ChronoUnit.DAYS.between(start, from));
+        int last = Math.min(days - 1, (int) ChronoUnit.DAYS.between(start, to));
+        int count = 0;
+        for (int day = first; day <= last; day++) {
+            count += schedule.interviewsPerDay[day];
+        }
+        return count;
+    }
+
+    /**
+     * Entrevistas (de cualquier estado) del entrevistador en una fecha
+     */
+    public int countInterviewsOn(Long interviewerId, LocalDate date) {
+        InterviewerSchedule schedule = schedules.get(interviewerId);
+        int day = dayOffset(date);
+        return schedule == null || day < 0 ? 0 : schedule.interviewsPerDay[day];
+    }
+
+    /**
+     * Indica si el horario está libre de entrevistas activas (no canceladas ni completadas)
+     */
+    public boolean isSlotFree(Long interviewerId, LocalDate date, LocalTime time) {
+        InterviewerSchedule schedule = schedules.get(interviewerId);
+        int day = dayOffset(date);
+        int slot = PREFERRED_TIMES.indexOf(time);
+        if (schedule == null || day < 0 || slot < 0) {
+            return true;
+        }
+        return !schedule.occupiedSlots.get(day * SLOTS_PER_DAY + slot);
+    }
+
+    private int dayOffset(LocalDate date) {
+        if (date == null) {
+            return -1;
+        }
+        long offset = ChronoUnit.DAYS.between(start, date);
+        return offset >= 0 && offset < days ? (int) offset : -1;
+    }
+
+    private final class InterviewerSchedule {
+        private final int[] interviewsPerDay = new int[days];
+        private final BitSet occupiedSlots = new BitSet(days * SLOTS_PER_DAY);
+        private int totalInterviews;
+    }
+}
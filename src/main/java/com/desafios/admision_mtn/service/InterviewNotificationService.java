@@ -3,11 +3,11 @@ package com.desafios.admision_mtn.service;
 import com.desafios.admision_mtn.entity.Interview;
 import com.desafios.admision_mtn.entity.Application;
 import com.desafios.admision_mtn.entity.User;
+import com.desafios.admision_mtn.util.EmailTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.scheduling.annotation.Async;
@@ -22,7 +22,8 @@ import java.util.Locale;
 @Slf4j
 public class InterviewNotificationService {
 
-    private final JavaMailSender mailSender;
+    private final MailDispatchService mailDispatchService;
+    private final EmailTemplateService templateService;
 
     @Value("${app.mail.from:noreply@mtn.cl}")
     private String fromEmail;
@@ -138,7 +139,7 @@ public class InterviewNotificationService {
     }
 
     private void sendHtmlEmail(String to, String subject, String body) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessage message = mailDispatchService.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
         
         helper.setFrom(fromEmail);
@@ -146,326 +147,44 @@ public class InterviewNotificationService {
         helper.setSubject(subject);
         helper.setText(body, true);
         
-        mailSender.send(message);
+        mailDispatchService.dispatchAndWait(message);
     }
 
     private String buildScheduledEmailBody(Interview interview, String studentName, String interviewerName) {
-        String formattedDate = interview.getScheduledDate().format(DATE_FORMATTER);
-        String formattedTime = interview.getScheduledTime().format(TIME_FORMATTER);
-        String typeLabel = getTypeLabel(interview.getType());
-        String modeLabel = getModeLabel(interview.getMode());
-        
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #1e3a8a; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background-color: #f9fafb; }
-                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
-                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 24px; background-color: #1e3a8a; color: white; text-decoration: none; border-radius: 6px; margin: 10px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Entrevista Programada</h1>
-                        <p>Colegio Monte Tabor y Nazaret</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Estimada familia,</p>
-                        
-                        <p>Nos complace informarles que se ha programado una entrevista para <strong>%s</strong> como parte del proceso de admisión.</p>
-                        
-                        <div class="details">
-                            <h3>Detalles de la Entrevista</h3>
-                            <p><strong>Estudiante:</strong> %s</p>
-                            <p><strong>Tipo de entrevista:</strong> %s</p>
-                            <p><strong>Modalidad:</strong> %s</p>
-                            <p><strong>Fecha:</strong> %s</p>
-                            <p><strong>Hora:</strong> %s</p>
-                            <p><strong>Duración:</strong> %d minutos</p>
-                            <p><strong>Entrevistador:</strong> %s</p>
-                            %s
-                        </div>
-                        
-                        %s
-                        
-                        <a href="%s/apoderado/login" class="button">Ver en Portal Familiar</a>
-                        
-                        <p>Por favor, confirmen su asistencia respondiendo a este correo o contactándose con nosotros.</p>
-                        
-                        <p><strong>Importante:</strong> Lleguen 15 minutos antes de la hora programada.</p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Colegio Monte Tabor y Nazaret<br>
-                        Proceso de Admisión<br>
-                        Este es un correo automático, por favor no responda directamente.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            studentName, studentName, typeLabel, modeLabel, formattedDate, formattedTime,
-            interview.getDuration(), interviewerName,
-            buildLocationInfo(interview),
-            buildPreparationInfo(interview),
-            frontendUrl
-        );
+        return templateService.render("interview/scheduled", interviewModel(interview, studentName, interviewerName)
+                .with("preparationInfo", buildPreparationInfo(interview)));
     }
 
     private String buildConfirmedEmailBody(Interview interview, String studentName, String interviewerName) {
-        String formattedDate = interview.getScheduledDate().format(DATE_FORMATTER);
-        String formattedTime = interview.getScheduledTime().format(TIME_FORMATTER);
-        String typeLabel = getTypeLabel(interview.getType());
-        String modeLabel = getModeLabel(interview.getMode());
-        
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #059669; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background-color: #f0fdf4; }
-                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
-                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 24px; background-color: #059669; color: white; text-decoration: none; border-radius: 6px; margin: 10px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>✅ Entrevista Confirmada</h1>
-                        <p>Colegio Monte Tabor y Nazaret</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Estimada familia,</p>
-                        
-                        <p>Su entrevista para <strong>%s</strong> ha sido <strong>confirmada</strong>.</p>
-                        
-                        <div class="details">
-                            <h3>Detalles Confirmados</h3>
-                            <p><strong>Estudiante:</strong> %s</p>
-                            <p><strong>Tipo de entrevista:</strong> %s</p>
-                            <p><strong>Modalidad:</strong> %s</p>
-                            <p><strong>Fecha:</strong> %s</p>
-                            <p><strong>Hora:</strong> %s</p>
-                            <p><strong>Duración:</strong> %d minutos</p>
-                            <p><strong>Entrevistador:</strong> %s</p>
-                            %s
-                        </div>
-                        
-                        <a href="%s/apoderado/login" class="button">Ver en Portal Familiar</a>
-                        
-                        <p><strong>Recuerden:</strong> Llegar 15 minutos antes de la hora programada.</p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Colegio Monte Tabor y Nazaret<br>
-                        Proceso de Admisión</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            studentName, studentName, typeLabel, modeLabel, formattedDate, formattedTime,
-            interview.getDuration(), interviewerName,
-            buildLocationInfo(interview),
-            frontendUrl
-        );
+        return templateService.render("interview/confirmed", interviewModel(interview, studentName, interviewerName));
     }
 
     private String buildRescheduledEmailBody(Interview interview, String studentName, String interviewerName) {
-        String formattedDate = interview.getScheduledDate().format(DATE_FORMATTER);
-        String formattedTime = interview.getScheduledTime().format(TIME_FORMATTER);
-        String typeLabel = getTypeLabel(interview.getType());
-        String modeLabel = getModeLabel(interview.getMode());
-        
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #d97706; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background-color: #fffbeb; }
-                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
-                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 24px; background-color: #d97706; color: white; text-decoration: none; border-radius: 6px; margin: 10px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>📅 Entrevista Reprogramada</h1>
-                        <p>Colegio Monte Tabor y Nazaret</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Estimada familia,</p>
-                        
-                        <p>La entrevista para <strong>%s</strong> ha sido reprogramada.</p>
-                        
-                        <div class="details">
-                            <h3>Nueva Fecha y Hora</h3>
-                            <p><strong>Estudiante:</strong> %s</p>
-                            <p><strong>Tipo de entrevista:</strong> %s</p>
-                            <p><strong>Modalidad:</strong> %s</p>
-                            <p><strong>Nueva fecha:</strong> %s</p>
-                            <p><strong>Nueva hora:</strong> %s</p>
-                            <p><strong>Duración:</strong> %d minutos</p>
-                            <p><strong>Entrevistador:</strong> %s</p>
-                            %s
-                        </div>
-                        
-                        <a href="%s/apoderado/login" class="button">Ver en Portal Familiar</a>
-                        
-                        <p>Disculpas por cualquier inconveniente. Por favor confirmen su disponibilidad para la nueva fecha.</p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Colegio Monte Tabor y Nazaret<br>
-                        Proceso de Admisión</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            studentName, studentName, typeLabel, modeLabel, formattedDate, formattedTime,
-            interview.getDuration(), interviewerName,
-            buildLocationInfo(interview),
-            frontendUrl
-        );
+        return templateService.render("interview/rescheduled", interviewModel(interview, studentName, interviewerName));
     }
 
     private String buildCancelledEmailBody(Interview interview, String studentName, String reason) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #dc2626; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background-color: #fef2f2; }
-                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
-                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>❌ Entrevista Cancelada</h1>
-                        <p>Colegio Monte Tabor y Nazaret</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Estimada familia,</p>
-                        
-                        <p>Lamentablemente, la entrevista programada para <strong>%s</strong> ha sido cancelada.</p>
-                        
-                        %s
-                        
-                        <p>Nos pondremos en contacto con ustedes próximamente para reprogramar.</p>
-                        
-                        <p>Disculpas por cualquier inconveniente ocasionado.</p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Colegio Monte Tabor y Nazaret<br>
-                        Proceso de Admisión</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            studentName,
-            reason != null && !reason.trim().isEmpty() ? 
-                "<div class=\"details\"><p><strong>Motivo:</strong> " + reason + "</p></div>" : ""
-        );
+        return templateService.render("interview/cancelled", EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("reasonInfo", reason != null && !reason.trim().isEmpty() ? 
+                    "<div class=\"details\"><p><strong>Motivo:</strong> " + reason + "</p></div>" : ""));
     }
 
     private String buildReminderEmailBody(Interview interview, String studentName, String interviewerName) {
-        String formattedDate = interview.getScheduledDate().format(DATE_FORMATTER);
-        String formattedTime = interview.getScheduledTime().format(TIME_FORMATTER);
-        String typeLabel = getTypeLabel(interview.getType());
-        String modeLabel = getModeLabel(interview.getMode());
-        
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background-color: #7c3aed; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background-color: #faf5ff; }
-                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
-                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
-                    .button { display: inline-block; padding: 12px 24px; background-color: #7c3aed; color: white; text-decoration: none; border-radius: 6px; margin: 10px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🔔 Recordatorio de Entrevista</h1>
-                        <p>Colegio Monte Tabor y Nazaret</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Estimada familia,</p>
-                        
-                        <p>Este es un recordatorio de que <strong>%s</strong> tiene una entrevista programada para <strong>mañana</strong>.</p>
-                        
-                        <div class="details">
-                            <h3>Detalles de la Entrevista</h3>
-                            <p><strong>Estudiante:</strong> %s</p>
-                            <p><strong>Tipo de entrevista:</strong> %s</p>
-                            <p><strong>Modalidad:</strong> %s</p>
-                            <p><strong>Fecha:</strong> %s</p>
-                            <p><strong>Hora:</strong> %s</p>
-                            <p><strong>Duración:</strong> %d minutos</p>
-                            <p><strong>Entrevistador:</strong> %s</p>
-                            %s
-                        </div>
-                        
-                        <a href="%s/apoderado/login" class="button">Ver en Portal Familiar</a>
-                        
-                        <p><strong>Recordatorios importantes:</strong></p>
-                        <ul>
-                            <li>Llegar 15 minutos antes de la hora programada</li>
-                            <li>Traer documentos de identificación</li>
-                            <li>Confirmar asistencia si aún no lo han hecho</li>
-                        </ul>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>Colegio Monte Tabor y Nazaret<br>
-                        Proceso de Admisión</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            studentName, studentName, typeLabel, modeLabel, formattedDate, formattedTime,
-            interview.getDuration(), interviewerName,
-            buildLocationInfo(interview),
-            frontendUrl
-        );
+        return templateService.render("interview/reminder", interviewModel(interview, studentName, interviewerName));
+    }
+
+    private EmailTemplate.Model interviewModel(Interview interview, String studentName, String interviewerName) {
+        return EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("typeLabel", getTypeLabel(interview.getType()))
+                .with("modeLabel", getModeLabel(interview.getMode()))
+                .with("date", interview.getScheduledDate().format(DATE_FORMATTER))
+                .with("time", interview.getScheduledTime().format(TIME_FORMATTER))
+                .with("duration", interview.getDuration())
+                .with("interviewerName", interviewerName)
+                .with("locationInfo", buildLocationInfo(interview))
+                .with("frontendUrl", frontendUrl);
     }
 
     private String buildLocationInfo(Interview interview) {
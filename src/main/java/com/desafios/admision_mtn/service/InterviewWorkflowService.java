@@ -37,6 +37,11 @@ public class InterviewWorkflowService {
     private final NotificationService notificationService;
     private final ApplicationWorkflowService workflowService;
 
+    // Días de anticipación mínima y horizonte de búsqueda de horarios
+    private static final int SCHEDULING_LEAD_DAYS = 2;
+    private static final int SCHEDULING_HORIZON_WEEKS = 4;
+    private static final int MAX_INTERVIEWS_PER_DAY = 4;
+
     // ================================
     // PLANIFICACIÓN AUTOMÁTICA
     // ================================
@@ -49,6 +54,7 @@ public class InterviewWorkflowService {
         
         Map<String, Object> result = new HashMap<>();
         int interviewsCreated = 0;
+        int applicationsPlanned = 0;
         int errors = 0;
         List<String> errorMessages = new ArrayList<>();
         
@@ -59,30 +65,40 @@ public class InterviewWorkflowService {
             log.info("📋 Encontradas {} aplicaciones que requieren entrevistas", 
                     applicationsNeedingInterviews.size());
             
+            // Aplicaciones que ya tienen entrevistas programadas, en una sola consulta
+            Set<Long> alreadyScheduled = interviewRepository.findApplicationIdsWithInterviewsByApplicationStatus(
+                    Application.ApplicationStatus.INTERVIEW_SCHEDULED);
+            
+            // Asignar todo el lote en memoria antes de persistir
+            InterviewAssignmentSolver solver = createAssignmentSolver();
+            List<InterviewAssignmentSolver.Assignment> assignments = new ArrayList<>();
+            
             for (Application application : applicationsNeedingInterviews) {
-                try {
-                    // Verificar si ya tiene entrevistas programadas
-                    List<Interview> existingInterviews = interviewRepository
-                            .findByApplicationId(application.getId());
-                    
-                    if (existingInterviews.isEmpty()) {
-                        // Planificar entrevistas requeridas para esta aplicación
-                        planifyRequiredInterviewsForApplication(application);
-                        interviewsCreated++;
-                        
-                        log.info("✅ Entrevistas planificadas para aplicación {}", application.getId());
-                    } else {
-                        log.debug("⏭️ Aplicación {} ya tiene entrevistas programadas", application.getId());
-                    }
-                    
-                } catch (Exception e) {
+                if (alreadyScheduled.contains(application.getId())) {
+                    log.debug("⏭️ Aplicación {} ya tiene entrevistas programadas", application.getId());
+                    continue;
+                }
+                
+                List<InterviewAssignmentSolver.Assignment> planned =
+                        solver.assign(application, determineRequiredInterviewTypes(application));
+                if (planned.isEmpty()) {
                     errors++;
-                    String errorMsg = "Error planificando entrevistas para aplicación " + application.getId();
-                    errorMessages.add(errorMsg + ": " + e.getMessage());
-                    log.error(errorMsg, e);
+                    String errorMsg = "Sin horarios disponibles para las entrevistas de la aplicación " + application.getId();
+                    errorMessages.add(errorMsg);
+                    log.warn("⚠️ {}", errorMsg);
+                } else {
+                    assignments.addAll(planned);
+                    applicationsPlanned++;
+                    log.debug("📅 Entrevistas asignadas para aplicación {}", application.getId());
                 }
             }
             
+            List<Interview> savedInterviews = interviewRepository.saveAll(
+                    assignments.stream().map(this::toInterview).toList());
+            interviewsCreated = savedInterviews.size();
+            
+            notifyInterviewsScheduled(savedInterviews);
+            
         } catch (Exception e) {
             log.error("❌ Error en planificación automática de entrevistas", e);
             errors++;
@@ -91,12 +107,13 @@ public class InterviewWorkflowService {
         
         result.put("success", errors == 0);
         result.put("interviewsCreated", interviewsCreated);
+        result.put("applicationsPlanned", applicationsPlanned);
         result.put("errors", errors);
         result.put("errorMessages", errorMessages);
         result.put("timestamp", LocalDateTime.now());
         
-        log.info("✅ Planificación automática completada: {} entrevistas creadas, {} errores", 
-                interviewsCreated, errors);
+        log.info("✅ Planificación automática completada: {} entrevistas creadas para {} aplicaciones, {} errores", 
+                interviewsCreated, applicationsPlanned, errors);
         
         return result;
     }
@@ -110,25 +127,6 @@ public class InterviewWorkflowService {
                 Application.ApplicationStatus.INTERVIEW_SCHEDULED);
     }
     
-    /**
-     * Planifica las entrevistas requeridas para una aplicación específica
-     */
-    private void planifyRequiredInterviewsForApplication(Application application) {
-        // Tipos de entrevistas requeridas según el nivel educacional del estudiante
-        List<Interview.InterviewType> requiredInterviewTypes = determineRequiredInterviewTypes(application);
-        
-        for (Interview.InterviewType type : requiredInterviewTypes) {
-            try {
-                createInterviewForApplication(application, type);
-                log.debug("📅 Entrevista {} creada para aplicación {}", type, application.getId());
-            } catch (Exception e) {
-                log.error("❌ Error creando entrevista {} para aplicación {}", 
-                        type, application.getId(), e);
-                throw e; // Re-lanzar para manejo en nivel superior
-            }
-        }
-    }
-    
     /**
      * Determina los tipos de entrevistas requeridas según el nivel educacional
      */
@@ -155,66 +153,57 @@ public class InterviewWorkflowService {
     // ================================
     
     /**
-     * Crea una entrevista para una aplicación específica con asignación inteligente
+     * Carga una vez los entrevistadores candidatos y su agenda para todo el horizonte de planificación
      */
-    private void createInterviewForApplication(Application application, Interview.InterviewType type) {
-        // Buscar el mejor entrevistador disponible
-        User bestInterviewer = findBestAvailableInterviewer(type, application);
-        
-        if (bestInterviewer == null) {
-            log.warn("⚠️ No se encontró entrevistador disponible para tipo {} de aplicación {}", 
-                    type, application.getId());
-            // Crear entrevista sin asignar entrevistador
-            bestInterviewer = getDefaultInterviewer(type);
+    private InterviewAssignmentSolver createAssignmentSolver() {
+        LocalDate today = LocalDate.now();
+        Map<Interview.InterviewType, List<User>> interviewersByType = new EnumMap<>(Interview.InterviewType.class);
+        for (Interview.InterviewType type : Interview.InterviewType.values()) {
+            interviewersByType.put(type, findInterviewersByType(type));
         }
+        // Administradores como entrevistadores por defecto si un tipo no tiene candidatos
+        List<User> defaultInterviewers = userRepository.findByRoleAndActiveTrue(User.UserRole.ADMIN);
         
-        // Encontrar mejor fecha disponible
-        LocalDate bestDate = findBestAvailableDate(bestInterviewer, LocalDate.now().plusDays(2));
-        LocalTime bestTime = findBestAvailableTime(bestInterviewer, bestDate);
+        Set<Long> interviewerIds = new HashSet<>();
+        interviewersByType.values().forEach(users -> users.forEach(user -> interviewerIds.add(user.getId())));
+        defaultInterviewers.forEach(user -> interviewerIds.add(user.getId()));
         
-        // Crear la entrevista
+        LocalDate firstDate = today.plusDays(SCHEDULING_LEAD_DAYS);
+        LocalDate endDate = firstDate.plusWeeks(SCHEDULING_HORIZON_WEEKS); // Máximo 4 semanas adelante
+        InterviewAvailabilityIndex availability =
+                InterviewAvailabilityIndex.load(interviewRepository, interviewerIds, firstDate, endDate);
+        
+        return new InterviewAssignmentSolver(availability, interviewersByType, defaultInterviewers,
+                firstDate, endDate, MAX_INTERVIEWS_PER_DAY);
+    }
+    
+    /**
+     * Construye la entrevista a persistir para una asignación
+     */
+    private Interview toInterview(InterviewAssignmentSolver.Assignment assignment) {
         Interview interview = new Interview();
-        interview.setApplication(application);
-        interview.setInterviewer(bestInterviewer);
-        interview.setType(type);
-        interview.setMode(determineInterviewMode(type));
+        interview.setApplication(assignment.application());
+        interview.setInterviewer(assignment.interviewer());
+        interview.setType(assignment.type());
+        interview.setMode(determineInterviewMode(assignment.type()));
         interview.setStatus(Interview.InterviewStatus.SCHEDULED);
-        interview.setScheduledDate(bestDate);
-        interview.setScheduledTime(bestTime);
-        interview.setLocation(determineLocation(type, interview.getMode()));
-        
-        Interview savedInterview = interviewRepository.save(interview);
-        
-        // Enviar notificaciones
-        try {
-            notificationService.notifyInterviewScheduled(savedInterview);
-        } catch (Exception e) {
-            log.error("❌ Error enviando notificaciones para entrevista {}", savedInterview.getId(), e);
-            // No fallar la creación por error de notificación
-        }
-        
-        log.info("✅ Entrevista creada: ID={}, Tipo={}, Fecha={}, Entrevistador={}", 
-                savedInterview.getId(), type, bestDate, bestInterviewer.getEmail());
+        interview.setScheduledDate(assignment.date());
+        interview.setScheduledTime(assignment.time());
+        interview.setLocation(determineLocation(assignment.type(), interview.getMode()));
+        return interview;
     }
     
     /**
-     * Encuentra el mejor entrevistador disponible para un tipo de entrevista
+     * Notifica las entrevistas creadas; un error de notificación no deshace la planificación
      */
-    private User findBestAvailableInterviewer(Interview.InterviewType type, Application application) {
-        List<User> potentialInterviewers = findInterviewersByType(type);
-        
-        if (potentialInterviewers.isEmpty()) {
-            return null;
+    private void notifyInterviewsScheduled(List<Interview> interviews) {
+        for (Interview interview : interviews) {
+            try {
+                notificationService.notifyInterviewScheduled(interview);
+            } catch (Exception e) {
+                log.error("❌ Error enviando notificaciones para entrevista {}", interview.getId(), e);
+            }
         }
-        
-        // Ordenar por carga de trabajo (menos entrevistas asignadas = mejor)
-        return potentialInterviewers.stream()
-                .min((u1, u2) -> {
-                    long u1Load = getInterviewerWorkload(u1.getId());
-                    long u2Load = getInterviewerWorkload(u2.getId());
-                    return Long.compare(u1Load, u2Load);
-                })
-                .orElse(potentialInterviewers.get(0));
     }
     
     /**
@@ -235,103 +224,6 @@ public class InterviewWorkflowService {
             default -> userRepository.findByRoleAndActiveTrue(User.UserRole.CYCLE_DIRECTOR);
         };
     }
-    
-    /**
-     * Obtiene la carga de trabajo de un entrevistador
-     */
-    private long getInterviewerWorkload(Long interviewerId) {
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusWeeks(2); // Próximas 2 semanas
-        
-        return interviewRepository.findByInterviewerAndDateRange(
-                interviewerId, startDate, endDate).size();
-    }
-    
-    /**
-     * Obtiene un entrevistador por defecto si no hay disponibles
-     */
-    private User getDefaultInterviewer(Interview.InterviewType type) {
-        List<User> admins = userRepository.findByRoleAndActiveTrue(User.UserRole.ADMIN);
-        return admins.isEmpty() ? null : admins.get(0);
-    }
-
-    // ================================
-    // GESTIÓN DE HORARIOS
-    // ================================
-    
-    /**
-     * Encuentra la mejor fecha disponible para una entrevista
-     */
-    private LocalDate findBestAvailableDate(User interviewer, LocalDate startDate) {
-        LocalDate currentDate = startDate;
-        LocalDate maxDate = startDate.plusWeeks(4); // Máximo 4 semanas adelante
-        
-        while (currentDate.isBefore(maxDate)) {
-            // Saltar fines de semana
-            if (isWorkingDay(currentDate)) {
-                // Verificar disponibilidad del entrevistador
-                if (isInterviewerAvailableOnDate(interviewer.getId(), currentDate)) {
-                    return currentDate;
-                }
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        // Si no encuentra fecha, usar la fecha de inicio
-        log.warn("⚠️ No se encontró fecha disponible para entrevistador {}, usando fecha por defecto", 
-                interviewer.getEmail());
-        return startDate;
-    }
-    
-    /**
-     * Encuentra la mejor hora disponible en una fecha
-     */
-    private LocalTime findBestAvailableTime(User interviewer, LocalDate date) {
-        List<LocalTime> preferredTimes = Arrays.asList(
-            LocalTime.of(9, 0),   // 9:00 AM
-            LocalTime.of(10, 30), // 10:30 AM
-            LocalTime.of(14, 0),  // 2:00 PM
-            LocalTime.of(15, 30), // 3:30 PM
-            LocalTime.of(11, 0),  // 11:00 AM
-            LocalTime.of(16, 0)   // 4:00 PM
-        );
-        
-        for (LocalTime time : preferredTimes) {
-            if (isTimeSlotAvailable(interviewer.getId(), date, time)) {
-                return time;
-            }
-        }
-        
-        // Si no encuentra hora disponible, usar la primera preferida
-        return preferredTimes.get(0);
-    }
-    
-    /**
-     * Verifica si un día es laborable
-     */
-    private boolean isWorkingDay(LocalDate date) {
-        int dayOfWeek = date.getDayOfWeek().getValue();
-        return dayOfWeek >= 1 && dayOfWeek <= 5; // Lunes a Viernes
-    }
-    
-    /**
-     * Verifica si un entrevistador está disponible en una fecha
-     */
-    private boolean isInterviewerAvailableOnDate(Long interviewerId, LocalDate date) {
-        List<Interview> dayInterviews = interviewRepository.findByInterviewerAndDateRange(
-                interviewerId, date, date);
-        
-        // Máximo 4 entrevistas por día
-        return dayInterviews.size() < 4;
-    }
-    
-    /**
-     * Verifica si un slot de tiempo está disponible
-     */
-    private boolean isTimeSlotAvailable(Long interviewerId, LocalDate date, LocalTime time) {
-        long conflicts = interviewRepository.countConflictingInterviews(interviewerId, date, time);
-        return conflicts == 0;
-    }
 
     // ================================
     // SEGUIMIENTO Y PROGRESO
@@ -1,22 +1,41 @@
 package com.desafios.admision_mtn.service;
 
 import com.desafios.admision_mtn.model.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Máximo de tokens verificados que se mantienen en memoria
+    private static final int VERIFIED_CLAIMS_CACHE_SIZE = 10_000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
     @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
     private String secretKey;
 
@@ -26,6 +45,25 @@ public class JwtService {
     @Value("${jwt.refresh-token.expiration:604800000}") // 7 días por defecto
     private long refreshExpiration;
 
+    // Clave y parser construidos una sola vez (inmutables y thread-safe)
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+
+    // Claims ya verificados, indexados por hash del token y expirados en su 'exp'
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        this.signInKey = buildSignInKey();
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_CLAIMS_CACHE_SIZE)
+                .expireAfter(new ClaimsExpiry())
+                .build();
+    }
+
     // Extraer username del token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -43,7 +81,7 @@ public class JwtService {
 
     // Extraer cualquier claim del token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = getVerifiedClaims(token);
         return claimsResolver.apply(claims);
     }
 
@@ -85,13 +123,18 @@ public class JwtService {
 
     // Validar token
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(getVerifiedClaims(token), userDetails);
+    }
+
+    // Validar claims ya verificados
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
     // Verificar si el token ha expirado
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     // Extraer fecha de expiración
@@ -99,12 +142,25 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Obtener los claims verificados del token.
+     * La firma se verifica una sola vez por token; las llamadas siguientes se sirven
+     * desde el cache hasta que el token expira.
+     */
+    public Claims getVerifiedClaims(String token) {
+        String tokenHash = hashToken(token);
+        Claims claims = verifiedClaims.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = extractAllClaims(token);
+            verifiedClaims.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
     // Extraer todos los claims
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -120,6 +176,11 @@ public class JwtService {
 
     // Obtener la clave de firma
     private SecretKey getSignInKey() {
+        return signInKey;
+    }
+
+    // Construir la clave de firma a partir del secreto configurado
+    private SecretKey buildSignInKey() {
         // Para JWT, siempre usar la clave directamente como string
         // No intentar decodificar base64 ya que JWT usa base64 URL-safe internamente
         byte[] keyBytes = secretKey.getBytes();
@@ -140,16 +201,53 @@ public class JwtService {
     // Verificar si es un refresh token
     public boolean isRefreshToken(String token) {
         try {
-            String tokenType = extractClaim(token, claims -> claims.get("tokenType", String.class));
-            return "refresh".equals(tokenType);
+            return isRefreshToken(getVerifiedClaims(token));
         } catch (Exception e) {
             return false;
         }
     }
 
+    // Verificar si los claims corresponden a un refresh token
+    public boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get("tokenType", String.class));
+    }
+
     // Obtener tiempo restante del token en milisegundos
     public long getExpirationTime(String token) {
         Date expiration = extractExpiration(token);
         return expiration.getTime() - System.currentTimeMillis();
     }
-}
\ No newline at end of file
+
+    // Hash SHA-256 del token para usarlo como clave del cache sin retener el token
+    private static String hashToken(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expira cada entrada del cache exactamente en el 'exp' del token
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0L;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.desafios.admision_mtn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline de despacho de correos salientes
+ *
+ * Los servicios de email encolan mensajes en una cola acotada y un pool dedicado de
+ * workers los envía en lotes: cada lote usa una sola conexión SMTP
+ * ({@link JavaMailSender#send(MimeMessage...)} abre el transporte una vez por llamada).
+ * Si la cola está llena, el productor espera hasta {@code offer-timeout-ms} y luego el
+ * mensaje se rechaza (backpressure). Tamaño de cola, lotes rechazados y duración de
+ * lotes se publican como métricas {@code mail.dispatch.*}.
+ */
+@Service
+@Slf4j
+public class MailDispatchService {
+
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.mail-dispatch.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${app.mail-dispatch.workers:2}")
+    private int workers;
+
+    @Value("${app.mail-dispatch.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail-dispatch.offer-timeout-ms:2000}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<PendingMail> queue;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter rejectedCounter;
+    private Timer batchTimer;
+
+    public MailDispatchService(JavaMailSender mailSender, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("mail-dispatch-"));
+
+        Gauge.builder("mail.dispatch.queue.size", queue, BlockingQueue::size)
+                .description("Correos en espera de envío")
+                .register(meterRegistry);
+        Gauge.builder("mail.dispatch.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Capacidad restante de la cola de correos")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("mail.dispatch.sent").description("Correos enviados").register(meterRegistry);
+        failedCounter = Counter.builder("mail.dispatch.failed").description("Correos con error de envío").register(meterRegistry);
+        rejectedCounter = Counter.builder("mail.dispatch.rejected")
+                .description("Correos rechazados por cola llena")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("mail.dispatch.batch").description("Duración de envío por lote").register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::runWorker);
+        }
+        log.info("✅ Pipeline de correos iniciado: {} workers, cola de {}, lotes de hasta {}",
+                workers, queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("⚠️ Pipeline de correos detenido con {} mensajes sin enviar", queue.size());
+        }
+    }
+
+    /**
+     * Crea un MimeMessage vacío para que el llamador lo complete
+     */
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Encola un correo de texto plano
+     */
+    public CompletableFuture<Void> dispatch(SimpleMailMessage simpleMessage) {
+        MimeMessage message = mailSender.createMimeMessage();
+        simpleMessage.copyTo(new MimeMailMessage(message));
+        return dispatch(message);
+    }
+
+    /**
+     * Encola un MimeMessage; el futuro se completa cuando el lote que lo contiene se envía
+     */
+    public CompletableFuture<Void> dispatch(MimeMessage message) {
+        PendingMail pending = new PendingMail(message, new CompletableFuture<>());
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejectedCounter.increment();
+            pending.result().completeExceptionally(
+                    new MailSendException("Cola de correos llena (" + queueCapacity + " mensajes)"));
+        }
+        return pending.result();
+    }
+
+    /**
+     * Encola y espera el resultado del envío, propagando el error original
+     */
+    public void dispatchAndWait(MimeMessage message) {
+        try {
+            dispatch(message).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MailException mailException) {
+                throw mailException;
+            }
+            throw new MailSendException("Error enviando correo", e.getCause());
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error inesperado en worker de correos", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingMail> batch) {
+        MimeMessage[] messages = new MimeMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = batch.get(i).message();
+        }
+
+        long start = System.nanoTime();
+        Map<Object, Exception> failures = Map.of();
+        Exception batchError = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            // Sin detalle por mensaje el fallo afecta a todo el lote (ej. conexión rechazada)
+            if (failures.isEmpty()) {
+                batchError = e;
+            }
+        } catch (RuntimeException e) {
+            batchError = e;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        for (PendingMail pending : batch) {
+            Exception failure = batchError != null ? batchError : failures.get(pending.message());
+            if (failure == null) {
+                sentCounter.increment();
+                pending.result().complete(null);
+            } else {
+                failedCounter.increment();
+                pending.result().completeExceptionally(failure);
+            }
+        }
+        log.debug("📨 Lote de {} correos procesado ({} con error)", batch.size(),
+                batchError != null ? batch.size() : failures.size());
+    }
+
+    private record PendingMail(MimeMessage message, CompletableFuture<Void> result) {}
+}
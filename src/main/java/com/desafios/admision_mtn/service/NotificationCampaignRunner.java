@@ -0,0 +1,191 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.NotificationCampaign;
+import com.desafios.admision_mtn.entity.NotificationCampaign.CampaignStatus;
+import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.repository.NotificationCampaignRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Avanza las campañas de notificaciones en curso, un lote por ejecución
+ *
+ * El ritmo lo fija un token bucket en memoria: cada ejecución acumula
+ * {@code ratePerMinute} créditos por minuto transcurrido (hasta {@code chunk-size}) y
+ * recorre tantas postulaciones como créditos enteros tenga. Así el outbox nunca recibe
+ * correos de campaña más rápido de lo que el servidor SMTP debe enviarlos. Cada lote se
+ * lee por keyset ({@code id > cursor}) y se encola en una transacción que también guarda
+ * el cursor y los contadores. Una postulación cuyo correo no se puede armar se cuenta como
+ * fallida y el lote sigue; solo un error de infraestructura (base de datos, outbox) revierte
+ * el lote y deja la campaña pausada con el error.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCampaignRunner {
+
+    // Simular documentos faltantes (en producción esto vendría del servicio)
+    private static final List<String> DEFAULT_MISSING_DOCUMENTS = List.of("BIRTH_CERTIFICATE", "STUDENT_PHOTO");
+
+    private final NotificationCampaignRepository campaignRepository;
+    private final ApplicationRepository applicationRepository;
+    private final NotificationService notificationService;
+    private final NotificationOutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notification-campaign.chunk-size:50}")
+    private int chunkSize;
+
+    // Token bucket de la campaña en curso; solo lo usa el hilo del scheduler
+    private Long bucketCampaignId;
+    private double credits;
+    private long lastRefillNanos;
+
+    private Counter enqueuedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        enqueuedCounter = Counter.builder("notifications.campaign.enqueued")
+                .description("Correos de campañas masivas encolados en el outbox")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("notifications.campaign.failed")
+                .description("Postulaciones de campañas masivas que no recibieron correo")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification-campaign.tick-ms:1000}")
+    public void runNextChunk() {
+        try {
+            Optional<NotificationCampaign> next = campaignRepository.findFirstByStatusOrderByIdAsc(CampaignStatus.RUNNING);
+            if (next.isEmpty()) {
+                bucketCampaignId = null;
+                return;
+            }
+            NotificationCampaign campaign = next.get();
+            int allowance = refill(campaign);
+            if (allowance == 0) {
+                return;
+            }
+
+            try {
+                ChunkResult result = processChunk(campaign.getId(), allowance);
+                if (result != null) {
+                    credits -= result.processed();
+                    enqueuedCounter.increment(result.enqueued());
+                    failedCounter.increment(result.failed());
+                }
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Pausada o cancelada mientras se procesaba: el lote se revirtió completo
+                log.info("📣 Lote de la campaña {} revertido por un cambio de estado concurrente", campaign.getId());
+            } catch (RuntimeException e) {
+                pauseAfterFailure(campaign.getId(), e);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error ejecutando campañas de notificaciones", e);
+        }
+    }
+
+    private int refill(NotificationCampaign campaign) {
+        long now = System.nanoTime();
+        if (!campaign.getId().equals(bucketCampaignId)) {
+            bucketCampaignId = campaign.getId();
+            credits = 0;
+            lastRefillNanos = now;
+            return 0;
+        }
+        credits = Math.min(chunkSize, credits + (now - lastRefillNanos) * campaign.getRatePerMinute() / 60e9);
+        lastRefillNanos = now;
+        return (int) credits;
+    }
+
+    /**
+     * Encola los correos de hasta {@code limit} postulaciones y avanza el cursor
+     *
+     * @return resultado del lote, o null si la campaña ya no está en curso
+     */
+    private ChunkResult processChunk(Long campaignId, int limit) {
+        return transactionTemplate.execute(status -> {
+            NotificationCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+            if (campaign == null || campaign.getStatus() != CampaignStatus.RUNNING) {
+                return null;
+            }
+
+            List<Application> page = applicationRepository.findCampaignPage(campaign.getTargetStatus(),
+                    campaign.getUpdatedBefore(), campaign.getLastApplicationId(), PageRequest.of(0, limit));
+            int enqueued = 0;
+            int failed = 0;
+            String firstError = null;
+            for (Application application : page) {
+                NotificationService.OutboundEmail email;
+                try {
+                    email = notificationService.prepareMissingDocuments(application, DEFAULT_MISSING_DOCUMENTS);
+                } catch (RuntimeException e) {
+                    failed++;
+                    if (firstError == null) {
+                        firstError = e.getMessage();
+                    }
+                    log.warn("⚠️ Campaña {}: postulación {} omitida: {}", campaignId, application.getId(), e.getMessage());
+                    continue;
+                }
+                // Un fallo aquí es de infraestructura: se propaga, revierte el lote y pausa la campaña
+                outboxService.enqueue(email.recipientEmail(), email.subject(), email.body());
+                enqueued++;
+            }
+            // Se conserva el primer error; el total queda en failedCount
+            if (firstError != null && campaign.getLastError() == null) {
+                campaign.setLastError(firstError);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (!page.isEmpty()) {
+                campaign.setLastApplicationId(page.get(page.size() - 1).getId());
+            }
+            campaign.setProcessedCount(campaign.getProcessedCount() + page.size());
+            campaign.setEnqueuedCount(campaign.getEnqueuedCount() + enqueued);
+            campaign.setFailedCount(campaign.getFailedCount() + failed);
+            if (campaign.getLastChunkAt() != null) {
+                campaign.setActiveMillis(campaign.getActiveMillis()
+                        + Duration.between(campaign.getLastChunkAt(), now).toMillis());
+            }
+            campaign.setLastChunkAt(now);
+
+            if (page.size() < limit) {
+                campaign.setStatus(CampaignStatus.COMPLETED);
+                campaign.setCompletedAt(now);
+                log.info("✅ Campaña {} completada: {} correos encolados, {} fallidos de {} postulaciones",
+                        campaignId, campaign.getEnqueuedCount(), campaign.getFailedCount(), campaign.getProcessedCount());
+            }
+            return new ChunkResult(page.size(), enqueued, failed);
+        });
+    }
+
+    private void pauseAfterFailure(Long campaignId, RuntimeException error) {
+        log.error("❌ Lote de la campaña {} falló; la campaña queda pausada", campaignId, error);
+        transactionTemplate.executeWithoutResult(status ->
+            campaignRepository.findById(campaignId)
+                .filter(campaign -> campaign.getStatus() == CampaignStatus.RUNNING)
+                .ifPresent(campaign -> {
+                    campaign.setStatus(CampaignStatus.PAUSED);
+                    campaign.setLastError(error.getMessage());
+                }));
+    }
+
+    private record ChunkResult(int processed, int enqueued, int failed) {}
+}
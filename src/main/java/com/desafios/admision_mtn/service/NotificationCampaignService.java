@@ -0,0 +1,174 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.NotificationCampaign;
+import com.desafios.admision_mtn.entity.NotificationCampaign.CampaignStatus;
+import com.desafios.admision_mtn.entity.NotificationCampaign.CampaignType;
+import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.repository.NotificationCampaignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creación y control de campañas de notificaciones masivas
+ *
+ * Una campaña solo registra qué postulaciones debe recorrer; los correos los encola
+ * {@code NotificationCampaignRunner} por lotes y al ritmo configurado. No puede haber dos
+ * campañas activas del mismo tipo: lo garantiza la restricción única sobre
+ * {@code active_type}, no solo la consulta previa.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCampaignService {
+
+    private static final List<CampaignStatus> ACTIVE_STATUSES = List.of(CampaignStatus.RUNNING, CampaignStatus.PAUSED);
+
+    private final NotificationCampaignRepository campaignRepository;
+    private final ApplicationRepository applicationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification-campaign.rate-per-minute:120}")
+    private int defaultRatePerMinute;
+
+    /**
+     * Crea una campaña en curso; si ya hay una activa del mismo tipo la devuelve sin crear otra
+     *
+     * El insert corre en su propia transacción: si otra llamada crea la campaña entre la
+     * consulta y el insert, la restricción única lo rechaza y se devuelve la que ganó.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NotificationCampaign start(CampaignType campaignType, Integer ratePerMinute) {
+        int rate = ratePerMinute != null ? ratePerMinute : defaultRatePerMinute;
+        if (rate <= 0) {
+            throw new IllegalArgumentException("ratePerMinute debe ser mayor que 0");
+        }
+        try {
+            return transactionTemplate.execute(status -> startIfIdle(campaignType, rate));
+        } catch (DataIntegrityViolationException e) {
+            NotificationCampaign active = transactionTemplate.execute(status ->
+                    campaignRepository.findFirstByCampaignTypeAndStatusIn(campaignType, ACTIVE_STATUSES).orElse(null));
+            if (active == null) {
+                throw e;
+            }
+            log.info("📣 Campaña {} creada en paralelo ({}), no se crea otra", campaignType, active.getId());
+            return active;
+        }
+    }
+
+    private NotificationCampaign startIfIdle(CampaignType campaignType, int rate) {
+        Optional<NotificationCampaign> active =
+                campaignRepository.findFirstByCampaignTypeAndStatusIn(campaignType, ACTIVE_STATUSES);
+        if (active.isPresent()) {
+            log.info("📣 Campaña {} ya activa ({}), no se crea otra", campaignType, active.get().getId());
+            return active.get();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime updatedBefore = now.minusDays(campaignType.getStaleDays());
+        Application.ApplicationStatus targetStatus = Application.ApplicationStatus.DOCUMENTS_REQUESTED;
+
+        NotificationCampaign campaign = campaignRepository.save(NotificationCampaign.builder()
+                .campaignType(campaignType)
+                .targetStatus(targetStatus)
+                .updatedBefore(updatedBefore)
+                .ratePerMinute(rate)
+                .totalTargets(applicationRepository.countCampaignTargets(targetStatus, updatedBefore))
+                .createdAt(now)
+                .lastChunkAt(now)
+                .build());
+        log.info("📣 Campaña {} creada ({}): {} destinatarios a {} correos/min",
+                campaign.getId(), campaignType, campaign.getTotalTargets(), rate);
+        return campaign;
+    }
+
+    @Transactional
+    public NotificationCampaign pause(Long campaignId) {
+        NotificationCampaign campaign = getCampaign(campaignId);
+        requireStatus(campaign, CampaignStatus.RUNNING);
+        campaign.setStatus(CampaignStatus.PAUSED);
+        log.info("⏸️ Campaña {} pausada tras {} postulaciones", campaignId, campaign.getProcessedCount());
+        return campaign;
+    }
+
+    @Transactional
+    public NotificationCampaign resume(Long campaignId) {
+        NotificationCampaign campaign = getCampaign(campaignId);
+        requireStatus(campaign, CampaignStatus.PAUSED);
+        campaign.setStatus(CampaignStatus.RUNNING);
+        // El tiempo en pausa no cuenta para el throughput
+        campaign.setLastChunkAt(LocalDateTime.now());
+        log.info("▶️ Campaña {} reanudada", campaignId);
+        return campaign;
+    }
+
+    @Transactional
+    public NotificationCampaign cancel(Long campaignId) {
+        NotificationCampaign campaign = getCampaign(campaignId);
+        if (!campaign.isActive()) {
+            throw new IllegalStateException("La campaña " + campaignId + " ya terminó");
+        }
+        campaign.setStatus(CampaignStatus.CANCELLED);
+        campaign.setCompletedAt(LocalDateTime.now());
+        log.info("⏹️ Campaña {} cancelada tras {} postulaciones", campaignId, campaign.getProcessedCount());
+        return campaign;
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationCampaign getCampaign(Long campaignId) {
+        return campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new IllegalArgumentException("Campaña no encontrada: " + campaignId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationCampaign> getRecentCampaigns() {
+        return campaignRepository.findTop50ByOrderByIdDesc();
+    }
+
+    /**
+     * Progreso y throughput de una campaña para la API de administración
+     */
+    public Map<String, Object> describe(NotificationCampaign campaign) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("id", campaign.getId());
+        summary.put("type", campaign.getCampaignType());
+        summary.put("typeDisplayName", campaign.getCampaignType().getDisplayName());
+        summary.put("status", campaign.getStatus());
+        summary.put("statusDisplayName", campaign.getStatus().getDisplayName());
+        summary.put("ratePerMinute", campaign.getRatePerMinute());
+        summary.put("totalTargets", campaign.getTotalTargets());
+        summary.put("processed", campaign.getProcessedCount());
+        summary.put("enqueued", campaign.getEnqueuedCount());
+        summary.put("failed", campaign.getFailedCount());
+        summary.put("progress", campaign.getTotalTargets() > 0
+                ? Math.min(100, Math.round((double) campaign.getProcessedCount() / campaign.getTotalTargets() * 100))
+                : 100);
+        summary.put("throughputPerMinute", campaign.getActiveMillis() > 0
+                ? Math.round(campaign.getEnqueuedCount() * 60_000d / campaign.getActiveMillis())
+                : 0);
+        summary.put("createdAt", campaign.getCreatedAt());
+        summary.put("lastChunkAt", campaign.getLastChunkAt());
+        summary.put("completedAt", campaign.getCompletedAt());
+        summary.put("lastError", campaign.getLastError());
+        return summary;
+    }
+
+    private static void requireStatus(NotificationCampaign campaign, CampaignStatus expected) {
+        if (campaign.getStatus() != expected) {
+            throw new IllegalStateException("La campaña " + campaign.getId() + " está "
+                    + campaign.getStatus().getDisplayName().toLowerCase());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.NotificationOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Drena el outbox de notificaciones hacia el pipeline de correos
+ *
+ * Cada lote se reclama en una transacción corta, se envía fuera de ella y el resultado
+ * se registra en otra transacción corta, así ninguna transacción espera al servidor SMTP.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxPoller {
+
+    // Lotes por ejecución, para no monopolizar el scheduler con un backlog grande
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private final NotificationOutboxService outboxService;
+    private final MailDispatchService mailDispatchService;
+
+    @Value("${spring.mail.username:admisiones@mtn.cl}")
+    private String fromEmail;
+
+    @Value("${app.notification-outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.notification-outbox.retention-days:30}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${app.notification-outbox.poll-interval-ms:5000}")
+    public void drainOutbox() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                List<NotificationOutbox> batch = outboxService.claimDueBatch(batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                sendBatch(batch);
+                if (batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Error drenando outbox de notificaciones", e);
+        }
+    }
+
+    /**
+     * Elimina diariamente los correos ya enviados fuera del período de retención
+     */
+    @Scheduled(cron = "0 30 3 * * ?") // 03:30 todos los días
+    public void purgeSentMessages() {
+        try {
+            int purged = outboxService.purgeSent(retentionDays);
+            if (purged > 0) {
+                log.info("🧹 {} correos enviados eliminados del outbox", purged);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error purgando outbox de notificaciones", e);
+        }
+    }
+
+    private void sendBatch(List<NotificationOutbox> batch) {
+        Map<Long, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        for (NotificationOutbox message : batch) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(fromEmail);
+            mail.setTo(message.getRecipientEmail());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            results.put(message.getId(), mailDispatchService.dispatch(mail));
+        }
+
+        List<Long> sent = new ArrayList<>();
+        for (Map.Entry<Long, CompletableFuture<Void>> result : results.entrySet()) {
+            try {
+                result.getValue().join();
+                sent.add(result.getKey());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                outboxService.markFailed(result.getKey(), cause.getMessage());
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxService.markSent(sent);
+        }
+        log.debug("📤 Outbox: {} de {} correos enviados", sent.size(), batch.size());
+    }
+}
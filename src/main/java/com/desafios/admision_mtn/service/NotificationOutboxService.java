@@ -0,0 +1,121 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.entity.NotificationOutbox;
+import com.desafios.admision_mtn.entity.NotificationOutbox.OutboxStatus;
+import com.desafios.admision_mtn.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox transaccional de notificaciones por correo
+ *
+ * {@link #enqueue} se une a la transacción del llamador, de modo que el correo queda
+ * registrado junto con el cambio de estado que lo origina y el llamador no espera al
+ * servidor SMTP. {@code NotificationOutboxPoller} reclama lotes vencidos, los envía y
+ * registra el resultado; los fallos se reintentan con backoff exponencial.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    // Tiempo durante el cual un lote reclamado no vuelve a entregarse a otro poller
+    private static final long CLAIM_LEASE_MINUTES = 5;
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    @Value("${app.institutional-email.retry-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.institutional-email.retry-delay-minutes:5}")
+    private long retryDelayMinutes;
+
+    /**
+     * Registra un correo en la transacción actual
+     */
+    @Transactional
+    public NotificationOutbox enqueue(String recipientEmail, String subject, String body) {
+        NotificationOutbox message = NotificationOutbox.builder()
+                .recipientEmail(recipientEmail)
+                .subject(subject)
+                .body(body)
+                .build();
+        return outboxRepository.save(message);
+    }
+
+    /**
+     * Reclama hasta {@code batchSize} correos vencidos y los aparta por un lease
+     *
+     * Las filas se leen bloqueadas y saltando las que otra transacción ya tiene tomadas, así
+     * dos instancias (o un drenado manual junto al poller) nunca reclaman el mismo correo:
+     * cada una devuelve solo las filas que bloqueó y a las que puso el lease.
+     */
+    @Transactional
+    public List<NotificationOutbox> claimDueBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> due = outboxRepository.findDue(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseUntil = now.plusMinutes(CLAIM_LEASE_MINUTES);
+        for (NotificationOutbox message : due) {
+            message.setNextAttemptAt(leaseUntil);
+        }
+        return due;
+    }
+
+    /**
+     * Marca como enviados los correos indicados
+     */
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox message : outboxRepository.findAllById(ids)) {
+            message.setStatus(OutboxStatus.SENT);
+            message.setSentAt(now);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLastError(null);
+        }
+    }
+
+    /**
+     * Registra un intento fallido y programa el siguiente con backoff exponencial
+     */
+    @Transactional
+    public void markFailed(Long id, String error) {
+        outboxRepository.findById(id).ifPresent(message -> {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(error);
+            if (attempts >= maxAttempts) {
+                message.setStatus(OutboxStatus.FAILED);
+                log.error("❌ Correo {} a {} descartado tras {} intentos: {}",
+                        id, message.getRecipientEmail(), attempts, error);
+            } else {
+                long delayMinutes = retryDelayMinutes << (attempts - 1);
+                message.setNextAttemptAt(LocalDateTime.now().plusMinutes(delayMinutes));
+                log.warn("⚠️ Correo {} a {} falló (intento {}), reintento en {} min",
+                        id, message.getRecipientEmail(), attempts, delayMinutes);
+            }
+        });
+    }
+
+    /**
+     * Elimina correos enviados con más de {@code retentionDays} días
+     */
+    @Transactional
+    public int purgeSent(int retentionDays) {
+        return outboxRepository.deleteByStatusAndSentAtBefore(
+                OutboxStatus.SENT, LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    @Transactional(readOnly = true)
+    public long countByStatus(OutboxStatus status) {
+        return outboxRepository.countByStatus(status);
+    }
+}
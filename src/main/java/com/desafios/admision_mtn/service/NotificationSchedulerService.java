@@ -2,6 +2,7 @@ package com.desafios.admision_mtn.service;
 
 import com.desafios.admision_mtn.entity.Interview;
 import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.NotificationCampaign;
 import com.desafios.admision_mtn.repository.InterviewRepository;
 import com.desafios.admision_mtn.repository.ApplicationRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +34,7 @@ public class NotificationSchedulerService {
     private final ApplicationRepository applicationRepository;
     private final ApplicationWorkflowService workflowService;
     private final InterviewWorkflowService interviewWorkflowService;
+    private final NotificationCampaignService campaignService;
 
     /**
      * Enviar recordatorios de entrevistas (24 horas antes)
@@ -133,38 +134,20 @@ public class NotificationSchedulerService {
     /**
      * Enviar recordatorios de documentos pendientes
      * Se ejecuta cada lunes a las 10:00 AM
+     *
+     * Solo crea la campaña (postulaciones sin cambios en los últimos 3 días);
+     * NotificationCampaignRunner encola los correos por lotes y con límite de ritmo.
      */
     @Scheduled(cron = "0 0 10 * * MON")
     public void sendWeeklyDocumentReminders() {
         try {
             log.info("📄 Iniciando recordatorios semanales de documentos pendientes");
             
-            List<Application> documentsRequestedApps = applicationRepository
-                    .findByStatusOrderByCreatedAtDesc(Application.ApplicationStatus.DOCUMENTS_REQUESTED);
+            NotificationCampaign campaign = campaignService.start(
+                    NotificationCampaign.CampaignType.MISSING_DOCUMENTS_REMINDER, null);
             
-            int remindersSent = 0;
-            for (Application application : documentsRequestedApps) {
-                try {
-                    // Solo enviar si han pasado más de 3 días desde la última actualización
-                    if (application.getUpdatedAt() != null && 
-                        application.getUpdatedAt().isBefore(LocalDateTime.now().minusDays(3))) {
-                        
-                        // Simular documentos faltantes (en producción esto vendría del servicio)
-                        List<String> sampleMissingDocs = List.of("BIRTH_CERTIFICATE", "STUDENT_PHOTO");
-                        notificationService.notifyMissingDocuments(application, sampleMissingDocs);
-                        remindersSent++;
-                        
-                        log.debug("📄 Recordatorio de documentos enviado para aplicación {}", 
-                                application.getId());
-                    }
-                } catch (Exception e) {
-                    log.error("❌ Error enviando recordatorio de documentos para aplicación {}", 
-                            application.getId(), e);
-                }
-            }
-            
-            log.info("✅ Recordatorios semanales de documentos completados: {} enviados", 
-                    remindersSent);
+            log.info("✅ Campaña de recordatorios semanales de documentos {}: {} destinatarios", 
+                    campaign.getId(), campaign.getTotalTargets());
                     
         } catch (Exception e) {
             log.error("❌ Error en recordatorios semanales de documentos", e);
@@ -5,11 +5,12 @@ import com.desafios.admision_mtn.entity.Interview;
 import com.desafios.admision_mtn.entity.User;
 import com.desafios.admision_mtn.entity.Evaluation;
 import com.desafios.admision_mtn.repository.UserRepository;
+import com.desafios.admision_mtn.util.EmailTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -29,6 +30,9 @@ import java.util.concurrent.CompletableFuture;
  * - 🎯 Decisiones de admisión
  * - ⚠️ Documentos faltantes
  * - 🔄 Recordatorios de seguimiento
+ *
+ * Los correos no se envían aquí: se registran en el outbox dentro de la transacción del
+ * llamador (ver {@link NotificationOutboxService}) y se despachan después del commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,7 +40,8 @@ import java.util.concurrent.CompletableFuture;
 @Transactional
 public class NotificationService {
 
-    private final EmailService emailService;
+    private final NotificationOutboxService outboxService;
+    private final EmailTemplateService templateService;
     private final UserRepository userRepository;
     
     @Value("${app.institutional-email.from-name:Colegio Monte Tabor y Nazaret}")
@@ -51,57 +56,75 @@ public class NotificationService {
     
     /**
      * Notifica cuando una aplicación cambia de estado
+     *
+     * El correo se encola en la transacción del llamador junto con el cambio de estado; un
+     * error al encolar se propaga (capturarlo aquí dejaría la transacción marcada como
+     * rollback-only y el commit del llamador fallaría con UnexpectedRollbackException).
      */
-    @Async
     public CompletableFuture<Void> notifyApplicationStatusChange(
             Application application, 
             Application.ApplicationStatus fromStatus, 
             Application.ApplicationStatus toStatus) {
         
-        try {
-            String applicantEmail = application.getApplicantUser().getEmail();
-            String studentName = getStudentFullName(application);
-            
-            String subject = buildStatusChangeSubject(toStatus, studentName);
-            String body = buildStatusChangeBody(application, fromStatus, toStatus, studentName);
-            
-            emailService.sendSimpleMessage(applicantEmail, subject, body);
-            
-            log.info("📧 Notificación de cambio de estado enviada: {} → {} para aplicación {}", 
-                    fromStatus, toStatus, application.getId());
-                    
-        } catch (Exception e) {
-            log.error("❌ Error enviando notificación de cambio de estado para aplicación {}", 
-                    application.getId(), e);
-        }
+        String applicantEmail = application.getApplicantUser().getEmail();
+        String studentName = getStudentFullName(application);
+        
+        String subject = buildStatusChangeSubject(toStatus, studentName);
+        String body = buildStatusChangeBody(application, fromStatus, toStatus, studentName);
+        
+        outboxService.enqueue(applicantEmail, subject, body);
+        
+        log.info("📧 Notificación de cambio de estado encolada: {} → {} para aplicación {}", 
+                fromStatus, toStatus, application.getId());
         
         return CompletableFuture.completedFuture(null);
     }
     
     /**
-     * Notifica documentos faltantes
+     * Notifica documentos faltantes (los errores al encolar se propagan al llamador)
      */
-    @Async
     public CompletableFuture<Void> notifyMissingDocuments(Application application, List<String> missingDocuments) {
-        try {
-            String applicantEmail = application.getApplicantUser().getEmail();
-            String studentName = getStudentFullName(application);
-            
-            String subject = "📄 Documentos Faltantes - " + studentName;
-            String body = buildMissingDocumentsBody(application, studentName, missingDocuments);
-            
-            emailService.sendSimpleMessage(applicantEmail, subject, body);
-            
-            log.info("📄 Notificación de documentos faltantes enviada para aplicación {}", 
-                    application.getId());
-                    
-        } catch (Exception e) {
-            log.error("❌ Error enviando notificación de documentos faltantes para aplicación {}", 
-                    application.getId(), e);
-        }
+        enqueueMissingDocuments(application, missingDocuments);
+        
+        log.info("📄 Notificación de documentos faltantes encolada para aplicación {}", 
+                application.getId());
         
         return CompletableFuture.completedFuture(null);
     }
+    
+    /**
+     * Encola el correo de documentos faltantes propagando cualquier error al llamador
+     */
+    private void enqueueMissingDocuments(Application application, List<String> missingDocuments) {
+        OutboundEmail email = buildMissingDocumentsEmail(application, missingDocuments);
+        outboxService.enqueue(email.recipientEmail(), email.subject(), email.body());
+    }
+    
+    /**
+     * Arma el correo de documentos faltantes sin encolarlo (usado por las campañas masivas,
+     * que cuentan como fallida la postulación cuyo correo no se puede armar)
+     *
+     * No participa de la transacción del llamador: así un error de datos o de plantilla en
+     * una postulación no deja como rollback-only la transacción del lote completo.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OutboundEmail prepareMissingDocuments(Application application, List<String> missingDocuments) {
+        return buildMissingDocumentsEmail(application, missingDocuments);
+    }
+    
+    private OutboundEmail buildMissingDocumentsEmail(Application application, List<String> missingDocuments) {
+        if (application.getApplicantUser() == null || application.getApplicantUser().getEmail() == null) {
+            throw new IllegalStateException("Postulación " + application.getId() + " sin apoderado con correo");
+        }
+        String studentName = getStudentFullName(application);
+        
+        String subject = "📄 Documentos Faltantes - " + studentName;
+        String body = buildMissingDocumentsBody(application, studentName, missingDocuments);
+        
+        return new OutboundEmail(application.getApplicantUser().getEmail(), subject, body);
+    }
+    
+    public record OutboundEmail(String recipientEmail, String subject, String body) {}
 
     // ================================
     // NOTIFICACIONES DE ENTREVISTAS
@@ -110,7 +133,6 @@ public class NotificationService {
     /**
      * Notifica cuando se programa una entrevista
      */
-    @Async
     public CompletableFuture<Void> notifyInterviewScheduled(Interview interview) {
         try {
             // Notificar al apoderado
@@ -120,7 +142,7 @@ public class NotificationService {
             String subjectFamily = "📅 Entrevista Programada - " + studentName;
             String bodyFamily = buildInterviewScheduledBodyForFamily(interview, studentName);
             
-            emailService.sendSimpleMessage(applicantEmail, subjectFamily, bodyFamily);
+            outboxService.enqueue(applicantEmail, subjectFamily, bodyFamily);
             
             // Notificar al entrevistador
             if (interview.getInterviewer() != null) {
@@ -128,10 +150,10 @@ public class NotificationService {
                 String subjectInterviewer = "📅 Nueva Entrevista Asignada - " + studentName;
                 String bodyInterviewer = buildInterviewScheduledBodyForInterviewer(interview, studentName);
                 
-                emailService.sendSimpleMessage(interviewerEmail, subjectInterviewer, bodyInterviewer);
+                outboxService.enqueue(interviewerEmail, subjectInterviewer, bodyInterviewer);
             }
             
-            log.info("📅 Notificaciones de entrevista programada enviadas para aplicación {}", 
+            log.info("📅 Notificaciones de entrevista programada encoladas para aplicación {}", 
                     interview.getApplication().getId());
                     
         } catch (Exception e) {
@@ -145,7 +167,6 @@ public class NotificationService {
     /**
      * Recordatorio de entrevista (24 horas antes)
      */
-    @Async
     public CompletableFuture<Void> sendInterviewReminder(Interview interview) {
         try {
             String applicantEmail = interview.getApplication().getApplicantUser().getEmail();
@@ -154,9 +175,9 @@ public class NotificationService {
             String subject = "🔔 Recordatorio: Entrevista Mañana - " + studentName;
             String body = buildInterviewReminderBody(interview, studentName);
             
-            emailService.sendSimpleMessage(applicantEmail, subject, body);
+            outboxService.enqueue(applicantEmail, subject, body);
             
-            log.info("🔔 Recordatorio de entrevista enviado para aplicación {}", 
+            log.info("🔔 Recordatorio de entrevista encolado para aplicación {}", 
                     interview.getApplication().getId());
                     
         } catch (Exception e) {
@@ -173,7 +194,6 @@ public class NotificationService {
     /**
      * Notifica cuando se asigna una evaluación a un profesor
      */
-    @Async
     public CompletableFuture<Void> notifyEvaluationAssigned(Evaluation evaluation) {
         try {
             String evaluatorEmail = evaluation.getEvaluator().getEmail();
@@ -182,9 +202,9 @@ public class NotificationService {
             String subject = "📝 Nueva Evaluación Asignada - " + studentName;
             String body = buildEvaluationAssignedBody(evaluation, studentName);
             
-            emailService.sendSimpleMessage(evaluatorEmail, subject, body);
+            outboxService.enqueue(evaluatorEmail, subject, body);
             
-            log.info("📝 Notificación de evaluación asignada enviada a {}", evaluatorEmail);
+            log.info("📝 Notificación de evaluación asignada encolada para {}", evaluatorEmail);
                     
         } catch (Exception e) {
             log.error("❌ Error enviando notificación de evaluación asignada {}", 
@@ -197,7 +217,6 @@ public class NotificationService {
     /**
      * Notifica cuando se completa una evaluación
      */
-    @Async
     public CompletableFuture<Void> notifyEvaluationCompleted(Evaluation evaluation) {
         try {
             // Notificar al coordinador académico
@@ -208,10 +227,10 @@ public class NotificationService {
                 String subject = "✅ Evaluación Completada - " + studentName;
                 String body = buildEvaluationCompletedBody(evaluation, studentName);
                 
-                emailService.sendSimpleMessage(coordinator.getEmail(), subject, body);
+                outboxService.enqueue(coordinator.getEmail(), subject, body);
             }
             
-            log.info("✅ Notificaciones de evaluación completada enviadas para evaluación {}", 
+            log.info("✅ Notificaciones de evaluación completada encoladas para evaluación {}", 
                     evaluation.getId());
                     
         } catch (Exception e) {
@@ -229,7 +248,6 @@ public class NotificationService {
     /**
      * Notifica la decisión final de admisión
      */
-    @Async
     public CompletableFuture<Void> notifyAdmissionDecision(Application application) {
         try {
             String applicantEmail = application.getApplicantUser().getEmail();
@@ -238,9 +256,9 @@ public class NotificationService {
             String subject = buildAdmissionDecisionSubject(application.getStatus(), studentName);
             String body = buildAdmissionDecisionBody(application, studentName);
             
-            emailService.sendSimpleMessage(applicantEmail, subject, body);
+            outboxService.enqueue(applicantEmail, subject, body);
             
-            log.info("🎯 Notificación de decisión de admisión enviada para aplicación {}", 
+            log.info("🎯 Notificación de decisión de admisión encolada para aplicación {}", 
                     application.getId());
                     
         } catch (Exception e) {
@@ -295,101 +313,15 @@ public class NotificationService {
                                        Application.ApplicationStatus fromStatus,
                                        Application.ApplicationStatus toStatus, 
                                        String studentName) {
-        String baseMessage = """
-            Estimado/a apoderado/a,
-            
-            Le informamos que el estado de la postulación de %s ha cambiado:
-            
-            Estado anterior: %s
-            Estado actual: %s
-            Fecha de actualización: %s
-            
-            """.formatted(studentName, getStatusDisplayName(fromStatus), 
-                         getStatusDisplayName(toStatus), formatDateTime(LocalDateTime.now()));
-        
-        String statusSpecificMessage = switch (toStatus) {
-            case UNDER_REVIEW -> """
-                Su postulación está ahora en revisión por nuestro equipo académico. 
-                Verificaremos que todos los documentos estén completos y procederemos 
-                con el siguiente paso del proceso.
-                
-                Tiempo estimado: 2-3 días hábiles.
-                """;
-                
-            case INTERVIEW_SCHEDULED -> """
-                Se ha programado una entrevista para su hijo/a. Pronto recibirá 
-                un email separado con los detalles de fecha, hora y modalidad.
-                
-                Por favor, esté atento/a a su correo electrónico.
-                """;
-                
-            case EXAM_SCHEDULED -> """
-                Su hijo/a ha sido programado/a para las evaluaciones académicas.
-                Recibirá información detallada sobre las fechas y modalidades 
-                de las evaluaciones próximamente.
-                """;
-                
-            case APPROVED -> """
-                ¡Felicitaciones! Nos complace informarle que su hijo/a ha sido 
-                ACEPTADO/A en nuestro colegio.
-                
-                Próximos pasos:
-                1. Recibirá información sobre matrícula en los próximos días
-                2. Complete el proceso de matrícula dentro del plazo establecido
-                3. Participe en las actividades de bienvenida
-                
-                ¡Bienvenidos a la familia Monte Tabor & Nazaret!
-                """;
-                
-            case REJECTED -> """
-                Después de una cuidadosa evaluación, lamentamos informarle que 
-                en esta ocasión no podemos ofrecer un cupo para su hijo/a.
-                
-                Esta decisión no refleja las capacidades de su hijo/a, sino 
-                las limitaciones de cupos disponibles y los criterios específicos 
-                de admisión para este período.
-                
-                Le deseamos lo mejor en su búsqueda educacional.
-                """;
-                
-            case WAITLIST -> """
-                Su postulación ha sido incluida en nuestra lista de espera.
-                Esto significa que su hijo/a cumple con nuestros requisitos,
-                pero actualmente no tenemos cupos disponibles.
-                
-                Le mantendremos informado/a si se abre un cupo disponible.
-                Su posición en la lista de espera se basa en el orden de
-                evaluación y criterios académicos.
-                """;
-                
-            case DOCUMENTS_REQUESTED -> """
-                Necesitamos documentos adicionales para continuar con el proceso
-                de evaluación. Recibirá un email detallando los documentos
-                específicos requeridos.
-                
-                Por favor, proporcione los documentos solicitados a la brevedad
-                para evitar retrasos en el proceso.
-                """;
-                
-            default -> "Manténgase atento/a a futuras comunicaciones.";
-        };
-        
-        String footer = """
-            
-            Para consultas o dudas:
-            📧 Email: admisiones@mtn.cl
-            📞 Teléfono: +56 2 2234 5678
-            🌐 Web: www.mtn.cl
-            
-            Puede revisar el estado actualizado de su postulación en nuestro 
-            sistema en línea: %s
-            
-            Atentamente,
-            Equipo de Admisiones
-            %s
-            """.formatted(baseUrl, institutionName);
-            
-        return baseMessage + statusSpecificMessage + footer;
+        EmailTemplate.Model model = EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("fromStatus", getStatusDisplayName(fromStatus))
+                .with("toStatus", getStatusDisplayName(toStatus))
+                .with("updatedAt", formatDateTime(LocalDateTime.now()))
+                .with("baseUrl", baseUrl)
+                .with("institutionName", institutionName);
+        model.with("statusMessage", templateService.renderVariant("notification/status-change", toStatus.name(), model));
+        return templateService.render("notification/status-change", model);
     }
     
     private String buildMissingDocumentsBody(Application application, String studentName, List<String> missingDocuments) {
@@ -398,215 +330,58 @@ public class NotificationService {
             docsBuilder.append("• ").append(getDocumentDisplayName(doc)).append("\n");
         }
         
-        return """
-            Estimado/a apoderado/a,
-            
-            Para continuar con el proceso de postulación de %s, necesitamos 
-            que nos proporcione los siguientes documentos:
-            
-            DOCUMENTOS FALTANTES:
-            %s
-            
-            INSTRUCCIONES:
-            1. Acceda a nuestro sistema en línea: %s
-            2. Vaya a la sección "Documentos"
-            3. Suba los documentos solicitados en formato PDF
-            4. Asegúrese de que los archivos sean legibles y completos
-            
-            IMPORTANTE:
-            • Los documentos deben estar en formato PDF
-            • Tamaño máximo por archivo: 10MB
-            • Asegúrese de que la información sea legible
-            
-            Si tiene dificultades técnicas o preguntas sobre los documentos,
-            no dude en contactarnos.
-            
-            📧 Email: admisiones@mtn.cl
-            📞 Teléfono: +56 2 2234 5678
-            
-            Atentamente,
-            Equipo de Admisiones
-            %s
-            """.formatted(studentName, docsBuilder.toString(), baseUrl, institutionName);
+        return templateService.render("notification/missing-documents", EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("documents", docsBuilder.toString())
+                .with("baseUrl", baseUrl)
+                .with("institutionName", institutionName));
     }
     
     private String buildInterviewScheduledBodyForFamily(Interview interview, String studentName) {
-        return """
-            Estimado/a apoderado/a,
-            
-            Nos complace informarle que se ha programado una entrevista para %s 
-            como parte del proceso de admisión.
-            
-            DETALLES DE LA ENTREVISTA:
-            📅 Fecha: %s
-            🕐 Hora: %s
-            👥 Tipo: %s
-            📍 Modalidad: %s
-            👨‍🏫 Entrevistador: %s
-            
-            INSTRUCCIONES:
-            • Confirme su asistencia respondiendo a este email
-            • Llegue 10 minutos antes de la hora programada
-            • Traiga un documento de identidad
-            • La entrevista durará aproximadamente 30-45 minutos
-            
-            Si necesita reprogramar por motivos justificados, contacte a:
-            📧 admisiones@mtn.cl
-            📞 +56 2 2234 5678
-            
-            Atentamente,
-            Equipo de Admisiones
-            %s
-            """.formatted(
-                studentName,
-                formatDate(interview.getScheduledDate()),
-                interview.getScheduledTime() != null ? interview.getScheduledTime().toString() : "Por confirmar",
-                getInterviewTypeDisplayName(interview.getType()),
-                getInterviewModeDisplayName(interview.getMode()),
-                interview.getInterviewer() != null ? 
+        return templateService.render("notification/interview-scheduled-family", interviewModel(interview, studentName)
+                .with("typeLabel", getInterviewTypeDisplayName(interview.getType()))
+                .with("interviewerName", interview.getInterviewer() != null ? 
                     interview.getInterviewer().getFirstName() + " " + interview.getInterviewer().getLastName() 
-                    : "Por asignar",
-                institutionName
-            );
+                    : "Por asignar"));
     }
     
     private String buildInterviewScheduledBodyForInterviewer(Interview interview, String studentName) {
-        return """
-            Estimado/a colega,
-            
-            Se le ha asignado una nueva entrevista en el sistema de admisiones.
-            
-            DETALLES DE LA ENTREVISTA:
-            👥 Estudiante: %s
-            📅 Fecha: %s
-            🕐 Hora: %s
-            📍 Modalidad: %s
-            📝 Tipo: %s
-            
-            INFORMACIÓN ADICIONAL:
-            • Acceda al sistema para ver más detalles del estudiante
-            • Complete la evaluación al finalizar la entrevista
-            • Registre observaciones y recomendaciones
-            
-            Sistema de admisiones: %s
-            
-            Si tiene conflictos de horario, contacte inmediatamente a:
-            📧 coordinacion@mtn.cl
-            
-            Saludos cordiales,
-            Sistema de Admisiones
-            %s
-            """.formatted(
-                studentName,
-                formatDate(interview.getScheduledDate()),
-                interview.getScheduledTime() != null ? interview.getScheduledTime().toString() : "Por confirmar",
-                getInterviewModeDisplayName(interview.getMode()),
-                getInterviewTypeDisplayName(interview.getType()),
-                baseUrl,
-                institutionName
-            );
+        return templateService.render("notification/interview-scheduled-interviewer", interviewModel(interview, studentName)
+                .with("typeLabel", getInterviewTypeDisplayName(interview.getType()))
+                .with("baseUrl", baseUrl));
     }
     
     private String buildInterviewReminderBody(Interview interview, String studentName) {
-        return """
-            Estimado/a apoderado/a,
-            
-            Le recordamos que mañana tiene programada la entrevista de %s.
-            
-            DETALLES:
-            📅 Fecha: %s (MAÑANA)
-            🕐 Hora: %s
-            📍 Modalidad: %s
-            
-            RECORDATORIOS:
-            ✅ Confirme que tiene la fecha y hora correctas
-            ✅ Llegue 10 minutos antes
-            ✅ Traiga documento de identidad
-            ✅ Prepare cualquier pregunta que desee hacer
-            
-            Si necesita reprogramar por emergencia, contacte inmediatamente a:
-            📞 +56 2 2234 5678
-            📧 admisiones@mtn.cl
-            
-            ¡Los esperamos!
-            
-            Equipo de Admisiones
-            %s
-            """.formatted(
-                studentName,
-                formatDate(interview.getScheduledDate()),
-                interview.getScheduledTime() != null ? interview.getScheduledTime().toString() : "Por confirmar",
-                getInterviewModeDisplayName(interview.getMode()),
-                institutionName
-            );
+        return templateService.render("notification/interview-reminder", interviewModel(interview, studentName));
+    }
+    
+    private EmailTemplate.Model interviewModel(Interview interview, String studentName) {
+        return EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("date", formatDate(interview.getScheduledDate()))
+                .with("time", interview.getScheduledTime() != null ? interview.getScheduledTime().toString() : "Por confirmar")
+                .with("modeLabel", getInterviewModeDisplayName(interview.getMode()))
+                .with("institutionName", institutionName);
     }
     
     private String buildEvaluationAssignedBody(Evaluation evaluation, String studentName) {
-        return """
-            Estimado/a profesor/a,
-            
-            Se le ha asignado una nueva evaluación en el sistema de admisiones.
-            
-            DETALLES DE LA EVALUACIÓN:
-            👥 Estudiante: %s
-            📝 Tipo de evaluación: %s
-            📅 Fecha de asignación: %s
-            
-            ACCIONES REQUERIDAS:
-            1. Acceda al sistema de admisiones: %s
-            2. Revise la información del estudiante
-            3. Complete la evaluación según los criterios establecidos
-            4. Registre sus observaciones y calificación
-            
-            IMPORTANTE:
-            • Complete la evaluación dentro de los próximos 5 días hábiles
-            • Use los criterios de evaluación institucionales
-            • Registre observaciones detalladas y constructivas
-            
-            Si tiene preguntas sobre la evaluación, contacte a:
-            📧 coordinacion@mtn.cl
-            
-            Saludos cordiales,
-            Sistema de Admisiones
-            %s
-            """.formatted(
-                studentName,
-                getEvaluationTypeDisplayName(evaluation.getEvaluationType()),
-                formatDateTime(LocalDateTime.now()),
-                baseUrl,
-                institutionName
-            );
+        return templateService.render("notification/evaluation-assigned", EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("evaluationType", getEvaluationTypeDisplayName(evaluation.getEvaluationType()))
+                .with("assignedAt", formatDateTime(LocalDateTime.now()))
+                .with("baseUrl", baseUrl)
+                .with("institutionName", institutionName));
     }
     
     private String buildEvaluationCompletedBody(Evaluation evaluation, String studentName) {
-        return """
-            Estimado/a coordinador/a,
-            
-            Se ha completado una evaluación en el sistema de admisiones.
-            
-            DETALLES:
-            👥 Estudiante: %s
-            📝 Tipo de evaluación: %s
-            👨‍🏫 Evaluador: %s
-            ⭐ Calificación: %s
-            📅 Fecha de completación: %s
-            
-            La evaluación está disponible para revisión en el sistema.
-            
-            Sistema de admisiones: %s
-            
-            Saludos cordiales,
-            Sistema de Admisiones
-            %s
-            """.formatted(
-                studentName,
-                getEvaluationTypeDisplayName(evaluation.getEvaluationType()),
-                evaluation.getEvaluator().getFirstName() + " " + evaluation.getEvaluator().getLastName(),
-                evaluation.getScore() != null ? evaluation.getScore().toString() : "No calificada",
-                formatDateTime(LocalDateTime.now()),
-                baseUrl,
-                institutionName
-            );
+        return templateService.render("notification/evaluation-completed", EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("evaluationType", getEvaluationTypeDisplayName(evaluation.getEvaluationType()))
+                .with("evaluatorName", evaluation.getEvaluator().getFirstName() + " " + evaluation.getEvaluator().getLastName())
+                .with("score", evaluation.getScore() != null ? evaluation.getScore().toString() : "No calificada")
+                .with("completedAt", formatDateTime(LocalDateTime.now()))
+                .with("baseUrl", baseUrl)
+                .with("institutionName", institutionName));
     }
     
     private String buildAdmissionDecisionSubject(Application.ApplicationStatus status, String studentName) {
@@ -619,89 +394,14 @@ public class NotificationService {
     }
     
     private String buildAdmissionDecisionBody(Application application, String studentName) {
-        String baseMessage = """
-            Estimado/a apoderado/a,
-            
-            Después de completar todo el proceso de evaluación, tenemos 
-            el resultado final de la postulación de %s:
-            
-            DECISIÓN: %s
-            Fecha de decisión: %s
-            
-            """.formatted(studentName, getStatusDisplayName(application.getStatus()), 
-                         formatDateTime(LocalDateTime.now()));
-        
-        String decisionSpecificMessage = switch (application.getStatus()) {
-            case APPROVED -> """
-                ¡FELICITACIONES! Nos complace enormemente informarle que %s 
-                ha sido ACEPTADO/A en nuestro colegio para el próximo año académico.
-                
-                PRÓXIMOS PASOS IMPORTANTES:
-                1. 📋 Complete el proceso de matrícula (enlace será enviado)
-                2. 📅 Asista a la jornada de bienvenida para nuevos estudiantes
-                3. 📚 Participe en las actividades de integración
-                4. 🏫 Conozca las instalaciones y profesores
-                
-                INFORMACIÓN IMPORTANTE:
-                • Plazo para matrícula: 10 días hábiles desde esta notificación
-                • Lista de útiles escolares será enviada próximamente
-                • Calendario escolar y horarios disponibles en nuestro sitio web
-                
-                ¡Bienvenidos a la familia Monte Tabor & Nazaret! 
-                Estamos emocionados de acompañar a %s en su crecimiento académico y personal.
-                """.formatted(studentName, studentName);
-                
-            case REJECTED -> """
-                Después de una evaluación exhaustiva y cuidadosa, lamentamos 
-                informarle que en esta ocasión no podemos ofrecer un cupo 
-                para %s en nuestro colegio.
-                
-                CONSIDERACIONES IMPORTANTES:
-                • Esta decisión se basa en múltiples factores y limitaciones de cupos
-                • No refleja las capacidades o potencial de %s
-                • El proceso fue riguroso y equitativo para todos los postulantes
-                
-                Le agradecemos sinceramente por considerar nuestro colegio y 
-                le deseamos el mayor de los éxitos en la búsqueda de la 
-                institución educacional más adecuada para %s.
-                """.formatted(studentName, studentName, studentName);
-                
-            case WAITLIST -> """
-                Su postulación ha sido incluida en nuestra LISTA DE ESPERA.
-                
-                ¿QUÉ SIGNIFICA ESTO?
-                • %s cumple con nuestros estándares académicos y de admisión
-                • Actualmente no tenemos cupos disponibles en el nivel solicitado
-                • Será contactado/a si se libera un cupo
-                
-                INFORMACIÓN IMPORTANTE:
-                • Su posición se mantiene hasta [fecha límite]
-                • Le notificaremos inmediatamente si hay disponibilidad
-                • Puede considerar otras opciones mientras tanto
-                
-                Agradecemos su paciencia y comprensión. Mantendremos 
-                comunicación constante sobre cualquier novedad.
-                """.formatted(studentName);
-                
-            default -> "Manténgase atento/a a futuras comunicaciones.";
-        };
-        
-        String footer = """
-            
-            Para cualquier consulta sobre esta decisión:
-            📧 Email: admisiones@mtn.cl
-            📞 Teléfono: +56 2 2234 5678
-            🏫 Dirección: [Dirección del colegio]
-            🌐 Web: www.mtn.cl
-            
-            Gracias por su interés en nuestro colegio.
-            
-            Cordialmente,
-            Comité de Admisiones
-            %s
-            """.formatted(institutionName);
-            
-        return baseMessage + decisionSpecificMessage + footer;
+        EmailTemplate.Model model = EmailTemplate.Model.create()
+                .with("studentName", studentName)
+                .with("decision", getStatusDisplayName(application.getStatus()))
+                .with("decidedAt", formatDateTime(LocalDateTime.now()))
+                .with("institutionName", institutionName);
+        model.with("decisionMessage", templateService.renderVariant(
+                "notification/admission-decision", application.getStatus().name(), model));
+        return templateService.render("notification/admission-decision", model);
     }
 
     // ================================
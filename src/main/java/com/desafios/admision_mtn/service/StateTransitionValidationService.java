@@ -29,6 +29,10 @@ import java.util.*;
  * - Evaluaciones académicas finalizadas
  * - Criterios de tiempo y fechas límite
  * - Reglas de negocio específicas por estado
+ *
+ * El grafo de transiciones y las reglas por estado destino se compilan una vez en tablas
+ * {@link EnumMap}; cada validación se evalúa contra un {@link ApplicationContext} cargado
+ * con tres consultas de proyección, que en lote cubren todas las aplicaciones a la vez.
  */
 @Service
 @RequiredArgsConstructor
@@ -40,6 +44,116 @@ public class StateTransitionValidationService {
     private final InterviewRepository interviewRepository;
     private final EvaluationRepository evaluationRepository;
 
+    /**
+     * Regla de validación evaluada sobre el contexto precargado de una aplicación
+     */
+    @FunctionalInterface
+    private interface TransitionRule {
+        ValidationResult check(ApplicationContext context);
+    }
+
+    /**
+     * Datos de una aplicación que necesitan las reglas de transición
+     */
+    private record ApplicationContext(Long applicationId,
+                                      Application.ApplicationStatus status,
+                                      boolean hasStudent,
+                                      boolean hasApplicantUser,
+                                      LocalDateTime createdAt,
+                                      LocalDateTime updatedAt,
+                                      List<InterviewOutcome> interviews,
+                                      List<EvaluationOutcome> evaluations) {}
+
+    private record InterviewOutcome(Interview.InterviewStatus status, Interview.InterviewResult result) {}
+
+    private record EvaluationOutcome(Evaluation.EvaluationStatus status, Boolean finalRecommendation) {}
+
+    /**
+     * Transición solicitada para validación en lote
+     */
+    public record TransitionRequest(Long applicationId,
+                                    Application.ApplicationStatus fromStatus,
+                                    Application.ApplicationStatus toStatus) {}
+
+    /**
+     * Resultado de validar todas las transiciones permitidas desde el estado actual de una aplicación
+     */
+    public record AvailableTransitions(Long applicationId,
+                                       Application.ApplicationStatus currentStatus,
+                                       Map<Application.ApplicationStatus, ValidationResult> transitions) {}
+
+    // Transiciones permitidas según el flujo del proceso (los estados finales no tienen salidas)
+    private static final Map<Application.ApplicationStatus, Set<Application.ApplicationStatus>> ALLOWED_TRANSITIONS =
+            compileAllowedTransitions();
+
+    // Orden del proceso (números más altos = más avanzado)
+    private static final Map<Application.ApplicationStatus, Integer> STATUS_ORDER = compileStatusOrder();
+
+    // Validaciones específicas por estado destino
+    private final Map<Application.ApplicationStatus, TransitionRule> targetRules = compileTargetRules();
+
+    private static Map<Application.ApplicationStatus, Set<Application.ApplicationStatus>> compileAllowedTransitions() {
+        Map<Application.ApplicationStatus, Set<Application.ApplicationStatus>> transitions =
+                new EnumMap<>(Application.ApplicationStatus.class);
+        for (Application.ApplicationStatus status : Application.ApplicationStatus.values()) {
+            transitions.put(status, EnumSet.noneOf(Application.ApplicationStatus.class));
+        }
+        transitions.get(Application.ApplicationStatus.PENDING).addAll(EnumSet.of(
+            Application.ApplicationStatus.UNDER_REVIEW,
+            Application.ApplicationStatus.DOCUMENTS_REQUESTED,
+            Application.ApplicationStatus.REJECTED
+        ));
+        transitions.get(Application.ApplicationStatus.UNDER_REVIEW).addAll(EnumSet.of(
+            Application.ApplicationStatus.INTERVIEW_SCHEDULED,
+            Application.ApplicationStatus.DOCUMENTS_REQUESTED,
+            Application.ApplicationStatus.REJECTED
+        ));
+        transitions.get(Application.ApplicationStatus.INTERVIEW_SCHEDULED).addAll(EnumSet.of(
+            Application.ApplicationStatus.EXAM_SCHEDULED,
+            Application.ApplicationStatus.DOCUMENTS_REQUESTED,
+            Application.ApplicationStatus.REJECTED,
+            Application.ApplicationStatus.WAITLIST
+        ));
+        transitions.get(Application.ApplicationStatus.EXAM_SCHEDULED).addAll(EnumSet.of(
+            Application.ApplicationStatus.APPROVED,
+            Application.ApplicationStatus.REJECTED,
+            Application.ApplicationStatus.WAITLIST,
+            Application.ApplicationStatus.DOCUMENTS_REQUESTED
+        ));
+        transitions.get(Application.ApplicationStatus.DOCUMENTS_REQUESTED).addAll(EnumSet.of(
+            Application.ApplicationStatus.UNDER_REVIEW,
+            Application.ApplicationStatus.PENDING,
+            Application.ApplicationStatus.REJECTED
+        ));
+        transitions.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        return Collections.unmodifiableMap(transitions);
+    }
+
+    private static Map<Application.ApplicationStatus, Integer> compileStatusOrder() {
+        Map<Application.ApplicationStatus, Integer> order = new EnumMap<>(Application.ApplicationStatus.class);
+        order.put(Application.ApplicationStatus.PENDING, 1);
+        order.put(Application.ApplicationStatus.UNDER_REVIEW, 2);
+        order.put(Application.ApplicationStatus.INTERVIEW_SCHEDULED, 3);
+        order.put(Application.ApplicationStatus.EXAM_SCHEDULED, 4);
+        order.put(Application.ApplicationStatus.APPROVED, 5);
+        order.put(Application.ApplicationStatus.REJECTED, 5);
+        order.put(Application.ApplicationStatus.WAITLIST, 5);
+        order.put(Application.ApplicationStatus.DOCUMENTS_REQUESTED, 0); // Especial: puede ocurrir en cualquier momento
+        return Collections.unmodifiableMap(order);
+    }
+
+    private Map<Application.ApplicationStatus, TransitionRule> compileTargetRules() {
+        Map<Application.ApplicationStatus, TransitionRule> rules = new EnumMap<>(Application.ApplicationStatus.class);
+        rules.put(Application.ApplicationStatus.UNDER_REVIEW, this::validateTransitionToUnderReview);
+        rules.put(Application.ApplicationStatus.INTERVIEW_SCHEDULED, this::validateTransitionToInterviewScheduled);
+        rules.put(Application.ApplicationStatus.EXAM_SCHEDULED, this::validateTransitionToExamScheduled);
+        rules.put(Application.ApplicationStatus.DOCUMENTS_REQUESTED, this::validateTransitionToDocumentsRequested);
+        rules.put(Application.ApplicationStatus.APPROVED, this::validateTransitionToApproved);
+        rules.put(Application.ApplicationStatus.REJECTED, this::validateTransitionToRejected);
+        rules.put(Application.ApplicationStatus.WAITLIST, this::validateTransitionToWaitlist);
+        return Collections.unmodifiableMap(rules);
+    }
+
     /**
      * Valida si una aplicación puede transicionar a un nuevo estado
      */
@@ -50,28 +164,14 @@ public class StateTransitionValidationService {
                 applicationId, fromStatus, toStatus);
         
         try {
-            // Validaciones básicas
-            ValidationResult basicValidation = validateBasicTransition(applicationId, fromStatus, toStatus);
-            if (!basicValidation.isValid()) {
-                return basicValidation;
-            }
-            
-            // Validaciones específicas por estado destino
-            ValidationResult specificValidation = validateSpecificTransition(applicationId, fromStatus, toStatus);
-            if (!specificValidation.isValid()) {
-                return specificValidation;
-            }
+            ApplicationContext context = loadContexts(List.of(applicationId)).get(applicationId);
+            ValidationResult result = evaluate(applicationId, context, fromStatus, toStatus);
             
-            // Validaciones de reglas de negocio
-            ValidationResult businessValidation = validateBusinessRules(applicationId, fromStatus, toStatus);
-            if (!businessValidation.isValid()) {
-                return businessValidation;
+            if (result.isValid()) {
+                log.info("✅ Transición validada correctamente: aplicación {} puede avanzar de {} a {}", 
+                        applicationId, fromStatus, toStatus);
             }
-            
-            log.info("✅ Transición validada correctamente: aplicación {} puede avanzar de {} a {}", 
-                    applicationId, fromStatus, toStatus);
-            
-            return ValidationResult.valid("Transición permitida");
+            return result;
             
         } catch (Exception e) {
             log.error("❌ Error validando transición para aplicación {}", applicationId, e);
@@ -79,26 +179,142 @@ public class StateTransitionValidationService {
         }
     }
 
+    /**
+     * Valida varias transiciones cargando los datos de todas las aplicaciones de una vez
+     *
+     * @return un resultado por solicitud, en el mismo orden
+     */
+    public List<ValidationResult> validateTransitions(List<TransitionRequest> requests) {
+        log.debug("🔍 Validando {} transiciones en lote", requests.size());
+        
+        try {
+            Set<Long> applicationIds = new HashSet<>();
+            requests.forEach(request -> applicationIds.add(request.applicationId()));
+            Map<Long, ApplicationContext> contexts = loadContexts(applicationIds);
+            
+            List<ValidationResult> results = new ArrayList<>(requests.size());
+            for (TransitionRequest request : requests) {
+                results.add(evaluate(request.applicationId(), contexts.get(request.applicationId()),
+                        request.fromStatus(), request.toStatus()));
+            }
+            return results;
+            
+        } catch (Exception e) {
+            log.error("❌ Error validando transiciones en lote", e);
+            ValidationResult error = ValidationResult.invalid("Error interno validando transición: " + e.getMessage());
+            return Collections.nCopies(requests.size(), error);
+        }
+    }
+
+    /**
+     * Evalúa, para cada aplicación, todas las transiciones que permite su estado actual
+     *
+     * @return un elemento por aplicación encontrada, en el orden de {@code applicationIds}
+     */
+    public List<AvailableTransitions> validateAvailableTransitions(Collection<Long> applicationIds) {
+        Map<Long, ApplicationContext> contexts = loadContexts(applicationIds);
+        
+        List<AvailableTransitions> results = new ArrayList<>();
+        for (Long applicationId : new LinkedHashSet<>(applicationIds)) {
+            ApplicationContext context = contexts.get(applicationId);
+            if (context == null) {
+                continue;
+            }
+            Map<Application.ApplicationStatus, ValidationResult> byTarget =
+                    new EnumMap<>(Application.ApplicationStatus.class);
+            for (Application.ApplicationStatus target : getValidTransitions(context.status())) {
+                byTarget.put(target, evaluate(applicationId, context, context.status(), target));
+            }
+            results.add(new AvailableTransitions(applicationId, context.status(), byTarget));
+        }
+        return results;
+    }
+
+    /**
+     * Aplica las validaciones básicas, específicas y de negocio sobre un contexto ya cargado
+     */
+    private ValidationResult evaluate(Long applicationId, ApplicationContext context,
+                                      Application.ApplicationStatus fromStatus,
+                                      Application.ApplicationStatus toStatus) {
+        // Validaciones básicas
+        ValidationResult basicValidation = validateBasicTransition(applicationId, context, fromStatus, toStatus);
+        if (!basicValidation.isValid()) {
+            return basicValidation;
+        }
+        
+        // Validaciones específicas por estado destino
+        TransitionRule rule = targetRules.get(toStatus);
+        ValidationResult specificValidation = rule != null
+                ? rule.check(context)
+                : ValidationResult.valid("Sin validaciones específicas para " + toStatus);
+        if (!specificValidation.isValid()) {
+            return specificValidation;
+        }
+        
+        // Validaciones de reglas de negocio
+        ValidationResult businessValidation = validateBusinessRules(context, fromStatus, toStatus);
+        if (!businessValidation.isValid()) {
+            return businessValidation;
+        }
+        
+        log.debug("✅ Transición válida: aplicación {} de {} a {}", applicationId, fromStatus, toStatus);
+        return ValidationResult.valid("Transición permitida");
+    }
+
+    /**
+     * Carga el contexto de validación de varias aplicaciones con una consulta por tabla
+     */
+    private Map<Long, ApplicationContext> loadContexts(Collection<Long> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        Map<Long, List<InterviewOutcome>> interviews = new HashMap<>();
+        for (Object[] row : interviewRepository.findOutcomesByApplicationIds(applicationIds)) {
+            interviews.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new InterviewOutcome((Interview.InterviewStatus) row[1], (Interview.InterviewResult) row[2]));
+        }
+        
+        Map<Long, List<EvaluationOutcome>> evaluations = new HashMap<>();
+        for (Object[] row : evaluationRepository.findSummariesByApplicationIds(applicationIds)) {
+            evaluations.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new EvaluationOutcome((Evaluation.EvaluationStatus) row[2], (Boolean) row[5]));
+        }
+        
+        Map<Long, ApplicationContext> contexts = new HashMap<>();
+        for (Object[] row : applicationRepository.findTransitionSummariesByIds(applicationIds)) {
+            Long applicationId = (Long) row[0];
+            contexts.put(applicationId, new ApplicationContext(
+                    applicationId,
+                    (Application.ApplicationStatus) row[1],
+                    row[2] != null,
+                    row[3] != null,
+                    (LocalDateTime) row[4],
+                    (LocalDateTime) row[5],
+                    interviews.getOrDefault(applicationId, List.of()),
+                    evaluations.getOrDefault(applicationId, List.of())));
+        }
+        return contexts;
+    }
+
     /**
      * Validaciones básicas de la transición
      */
-    private ValidationResult validateBasicTransition(Long applicationId, 
+    private ValidationResult validateBasicTransition(Long applicationId,
+                                                   ApplicationContext context,
                                                    Application.ApplicationStatus fromStatus,
                                                    Application.ApplicationStatus toStatus) {
         
         // Verificar que la aplicación existe
-        Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
+        if (context == null) {
             return ValidationResult.invalid("Aplicación no encontrada: " + applicationId);
         }
         
-        Application application = applicationOpt.get();
-        
         // Verificar que el estado actual coincida
-        if (application.getStatus() != fromStatus) {
+        if (context.status() != fromStatus) {
             return ValidationResult.invalid(
                 String.format("Estado actual (%s) no coincide con el estado origen (%s)", 
-                            application.getStatus(), fromStatus));
+                            context.status(), fromStatus));
         }
         
         // No permitir transiciones circulares
@@ -115,59 +331,17 @@ public class StateTransitionValidationService {
         return ValidationResult.valid("Validaciones básicas correctas");
     }
 
-    /**
-     * Validaciones específicas por estado destino
-     */
-    private ValidationResult validateSpecificTransition(Long applicationId,
-                                                      Application.ApplicationStatus fromStatus,
-                                                      Application.ApplicationStatus toStatus) {
-        
-        switch (toStatus) {
-            case UNDER_REVIEW:
-                return validateTransitionToUnderReview(applicationId);
-                
-            case INTERVIEW_SCHEDULED:
-                return validateTransitionToInterviewScheduled(applicationId);
-                
-            case EXAM_SCHEDULED:
-                return validateTransitionToExamScheduled(applicationId);
-                
-            case DOCUMENTS_REQUESTED:
-                return validateTransitionToDocumentsRequested(applicationId);
-                
-            case APPROVED:
-                return validateTransitionToApproved(applicationId);
-                
-            case REJECTED:
-                return validateTransitionToRejected(applicationId);
-                
-            case WAITLIST:
-                return validateTransitionToWaitlist(applicationId);
-                
-            default:
-                return ValidationResult.valid("Sin validaciones específicas para " + toStatus);
-        }
-    }
-
     /**
      * Validación para transición a UNDER_REVIEW
      */
-    private ValidationResult validateTransitionToUnderReview(Long applicationId) {
-        // Verificar que la aplicación tenga los datos mínimos requeridos
-        Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
-            return ValidationResult.invalid("Aplicación no encontrada");
-        }
-        
-        Application application = applicationOpt.get();
-        
+    private ValidationResult validateTransitionToUnderReview(ApplicationContext context) {
         // Validar que tenga estudiante asociado
-        if (application.getStudent() == null) {
+        if (!context.hasStudent()) {
             return ValidationResult.invalid("Aplicación debe tener estudiante asociado");
         }
         
         // Validar que tenga al menos un apoderado
-        if (application.getApplicantUser() == null) {
+        if (!context.hasApplicantUser()) {
             return ValidationResult.invalid("Aplicación debe tener usuario solicitante");
         }
         
@@ -177,21 +351,14 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a INTERVIEW_SCHEDULED
      */
-    private ValidationResult validateTransitionToInterviewScheduled(Long applicationId) {
+    private ValidationResult validateTransitionToInterviewScheduled(ApplicationContext context) {
         // Verificar que la revisión inicial esté completa
         // En este punto podríamos validar que haya pasado tiempo mínimo en UNDER_REVIEW
         
-        Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
-            return ValidationResult.invalid("Aplicación no encontrada");
-        }
-        
-        Application application = applicationOpt.get();
-        
         // Verificar que haya pasado tiempo mínimo en revisión (ejemplo: 1 día)
-        if (application.getUpdatedAt() != null) {
+        if (context.updatedAt() != null) {
             LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-            if (application.getUpdatedAt().isAfter(oneDayAgo)) {
+            if (context.updatedAt().isAfter(oneDayAgo)) {
                 return ValidationResult.invalid("Aplicación debe estar en revisión por al menos 24 horas");
             }
         }
@@ -202,9 +369,9 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a EXAM_SCHEDULED
      */
-    private ValidationResult validateTransitionToExamScheduled(Long applicationId) {
+    private ValidationResult validateTransitionToExamScheduled(ApplicationContext context) {
         // Verificar que las entrevistas estén completadas
-        List<Interview> interviews = interviewRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+        List<InterviewOutcome> interviews = context.interviews();
         
         if (interviews.isEmpty()) {
             return ValidationResult.invalid("No se pueden programar exámenes sin entrevistas completadas");
@@ -213,8 +380,8 @@ public class StateTransitionValidationService {
         // Verificar que al menos una entrevista esté completada con resultado positivo
         boolean hasCompletedPositiveInterview = interviews.stream()
                 .anyMatch(interview -> 
-                    interview.getStatus() == Interview.InterviewStatus.COMPLETED &&
-                    interview.getResult() == Interview.InterviewResult.POSITIVE
+                    interview.status() == Interview.InterviewStatus.COMPLETED &&
+                    interview.result() == Interview.InterviewResult.POSITIVE
                 );
         
         if (!hasCompletedPositiveInterview) {
@@ -227,7 +394,7 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a DOCUMENTS_REQUESTED
      */
-    private ValidationResult validateTransitionToDocumentsRequested(Long applicationId) {
+    private ValidationResult validateTransitionToDocumentsRequested(ApplicationContext context) {
         // Esta transición puede ocurrir desde varios estados cuando faltan documentos
         return ValidationResult.valid("Transición válida para solicitar documentos");
     }
@@ -235,9 +402,9 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a APPROVED
      */
-    private ValidationResult validateTransitionToApproved(Long applicationId) {
+    private ValidationResult validateTransitionToApproved(ApplicationContext context) {
         // Verificar que las evaluaciones estén completadas
-        List<Evaluation> evaluations = evaluationRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+        List<EvaluationOutcome> evaluations = context.evaluations();
         
         if (evaluations.isEmpty()) {
             return ValidationResult.invalid("No se puede aprobar sin evaluaciones completadas");
@@ -245,7 +412,7 @@ public class StateTransitionValidationService {
         
         // Verificar que todas las evaluaciones estén completadas
         boolean allEvaluationsCompleted = evaluations.stream()
-                .allMatch(evaluation -> evaluation.getStatus() == Evaluation.EvaluationStatus.COMPLETED);
+                .allMatch(evaluation -> evaluation.status() == Evaluation.EvaluationStatus.COMPLETED);
         
         if (!allEvaluationsCompleted) {
             return ValidationResult.invalid("Todas las evaluaciones deben estar completadas para aprobar");
@@ -253,10 +420,7 @@ public class StateTransitionValidationService {
         
         // Verificar que las evaluaciones tengan resultados positivos
         boolean hasPositiveEvaluations = evaluations.stream()
-                .anyMatch(evaluation -> 
-                    evaluation.getFinalRecommendation() != null && 
-                    evaluation.getFinalRecommendation()
-                );
+                .anyMatch(evaluation -> Boolean.TRUE.equals(evaluation.finalRecommendation()));
         
         if (!hasPositiveEvaluations) {
             return ValidationResult.invalid("Debe tener al menos una evaluación con recomendación positiva");
@@ -268,7 +432,7 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a REJECTED
      */
-    private ValidationResult validateTransitionToRejected(Long applicationId) {
+    private ValidationResult validateTransitionToRejected(ApplicationContext context) {
         // Las aplicaciones pueden ser rechazadas en cualquier momento si hay motivo válido
         // Aquí podríamos agregar validaciones específicas si hay reglas de negocio particulares
         return ValidationResult.valid("Transición válida para rechazo");
@@ -277,16 +441,16 @@ public class StateTransitionValidationService {
     /**
      * Validación para transición a WAITLIST
      */
-    private ValidationResult validateTransitionToWaitlist(Long applicationId) {
+    private ValidationResult validateTransitionToWaitlist(ApplicationContext context) {
         // Similar a aprobación pero con criterios de lista de espera
-        List<Evaluation> evaluations = evaluationRepository.findByApplication_IdOrderByCreatedAtDesc(applicationId);
+        List<EvaluationOutcome> evaluations = context.evaluations();
         
         if (evaluations.isEmpty()) {
             return ValidationResult.invalid("No se puede poner en lista de espera sin evaluaciones");
         }
         
         boolean hasCompletedEvaluations = evaluations.stream()
-                .anyMatch(evaluation -> evaluation.getStatus() == Evaluation.EvaluationStatus.COMPLETED);
+                .anyMatch(evaluation -> evaluation.status() == Evaluation.EvaluationStatus.COMPLETED);
         
         if (!hasCompletedEvaluations) {
             return ValidationResult.invalid("Debe tener al menos una evaluación completada para lista de espera");
@@ -298,21 +462,14 @@ public class StateTransitionValidationService {
     /**
      * Validaciones de reglas de negocio específicas
      */
-    private ValidationResult validateBusinessRules(Long applicationId,
+    private ValidationResult validateBusinessRules(ApplicationContext context,
                                                  Application.ApplicationStatus fromStatus,
                                                  Application.ApplicationStatus toStatus) {
         
-        Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
-            return ValidationResult.invalid("Aplicación no encontrada");
-        }
-        
-        Application application = applicationOpt.get();
-        
         // Regla: No permitir cambios después de 30 días desde creación (ejemplo)
-        if (application.getCreatedAt() != null) {
+        if (context.createdAt() != null) {
             LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-            if (application.getCreatedAt().isBefore(thirtyDaysAgo)) {
+            if (context.createdAt().isBefore(thirtyDaysAgo)) {
                 return ValidationResult.invalid("No se pueden modificar aplicaciones de más de 30 días");
             }
         }
@@ -334,59 +491,15 @@ public class StateTransitionValidationService {
      * Verifica si una transición está permitida según el flujo del proceso
      */
     private boolean isTransitionAllowed(Application.ApplicationStatus from, Application.ApplicationStatus to) {
-        // Definir las transiciones permitidas
-        Map<Application.ApplicationStatus, Set<Application.ApplicationStatus>> allowedTransitions = Map.of(
-            Application.ApplicationStatus.PENDING, Set.of(
-                Application.ApplicationStatus.UNDER_REVIEW,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED
-            ),
-            Application.ApplicationStatus.UNDER_REVIEW, Set.of(
-                Application.ApplicationStatus.INTERVIEW_SCHEDULED,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED
-            ),
-            Application.ApplicationStatus.INTERVIEW_SCHEDULED, Set.of(
-                Application.ApplicationStatus.EXAM_SCHEDULED,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED,
-                Application.ApplicationStatus.WAITLIST
-            ),
-            Application.ApplicationStatus.EXAM_SCHEDULED, Set.of(
-                Application.ApplicationStatus.APPROVED,
-                Application.ApplicationStatus.REJECTED,
-                Application.ApplicationStatus.WAITLIST,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED
-            ),
-            Application.ApplicationStatus.DOCUMENTS_REQUESTED, Set.of(
-                Application.ApplicationStatus.UNDER_REVIEW,
-                Application.ApplicationStatus.PENDING,
-                Application.ApplicationStatus.REJECTED
-            )
-        );
-        
-        Set<Application.ApplicationStatus> allowedTargets = allowedTransitions.get(from);
-        return allowedTargets != null && allowedTargets.contains(to);
+        return from != null && ALLOWED_TRANSITIONS.get(from).contains(to);
     }
 
     /**
      * Verifica si una transición es hacia atrás en el proceso
      */
     private boolean isBackwardTransition(Application.ApplicationStatus from, Application.ApplicationStatus to) {
-        // Definir el orden del proceso (números más altos = más avanzado)
-        Map<Application.ApplicationStatus, Integer> statusOrder = Map.of(
-            Application.ApplicationStatus.PENDING, 1,
-            Application.ApplicationStatus.UNDER_REVIEW, 2,
-            Application.ApplicationStatus.INTERVIEW_SCHEDULED, 3,
-            Application.ApplicationStatus.EXAM_SCHEDULED, 4,
-            Application.ApplicationStatus.APPROVED, 5,
-            Application.ApplicationStatus.REJECTED, 5,
-            Application.ApplicationStatus.WAITLIST, 5,
-            Application.ApplicationStatus.DOCUMENTS_REQUESTED, 0 // Especial: puede ocurrir en cualquier momento
-        );
-        
-        Integer fromOrder = statusOrder.get(from);
-        Integer toOrder = statusOrder.get(to);
+        Integer fromOrder = STATUS_ORDER.get(from);
+        Integer toOrder = STATUS_ORDER.get(to);
         
         if (fromOrder == null || toOrder == null) {
             return false;
@@ -413,40 +526,7 @@ public class StateTransitionValidationService {
      * Obtiene todas las transiciones válidas desde un estado dado
      */
     public Set<Application.ApplicationStatus> getValidTransitions(Application.ApplicationStatus fromStatus) {
-        Map<Application.ApplicationStatus, Set<Application.ApplicationStatus>> allowedTransitions = Map.of(
-            Application.ApplicationStatus.PENDING, Set.of(
-                Application.ApplicationStatus.UNDER_REVIEW,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED
-            ),
-            Application.ApplicationStatus.UNDER_REVIEW, Set.of(
-                Application.ApplicationStatus.INTERVIEW_SCHEDULED,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED
-            ),
-            Application.ApplicationStatus.INTERVIEW_SCHEDULED, Set.of(
-                Application.ApplicationStatus.EXAM_SCHEDULED,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED,
-                Application.ApplicationStatus.REJECTED,
-                Application.ApplicationStatus.WAITLIST
-            ),
-            Application.ApplicationStatus.EXAM_SCHEDULED, Set.of(
-                Application.ApplicationStatus.APPROVED,
-                Application.ApplicationStatus.REJECTED,
-                Application.ApplicationStatus.WAITLIST,
-                Application.ApplicationStatus.DOCUMENTS_REQUESTED
-            ),
-            Application.ApplicationStatus.DOCUMENTS_REQUESTED, Set.of(
-                Application.ApplicationStatus.UNDER_REVIEW,
-                Application.ApplicationStatus.PENDING,
-                Application.ApplicationStatus.REJECTED
-            ),
-            Application.ApplicationStatus.APPROVED, Set.of(), // Estado final
-            Application.ApplicationStatus.REJECTED, Set.of(), // Estado final
-            Application.ApplicationStatus.WAITLIST, Set.of()  // Estado final
-        );
-        
-        return allowedTransitions.getOrDefault(fromStatus, Set.of());
+        return fromStatus != null ? ALLOWED_TRANSITIONS.get(fromStatus) : Set.of();
     }
 
     /**
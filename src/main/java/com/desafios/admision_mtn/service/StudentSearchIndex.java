@@ -0,0 +1,177 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.dto.StudentSearchHit;
+import com.desafios.admision_mtn.util.SearchNormalizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de trigramas en memoria para buscar estudiantes cuando la base no es PostgreSQL
+ * (H2 en desarrollo) o no tiene la extensión pg_trgm
+ *
+ * Replica el criterio de la búsqueda en SQL: nombre y RUT normalizados con
+ * {@link SearchNormalizer}, trigramas con el mismo relleno que pg_trgm y ranking por
+ * coincidencia de prefijo, de subcadena y similitud. Es inmutable; se reconstruye completo
+ * desde una proyección y se reemplaza de una vez.
+ */
+public final class StudentSearchIndex {
+
+    // Mismo umbral por defecto que pg_trgm.word_similarity_threshold
+    private static final double SIMILARITY_THRESHOLD = 0.6;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final List<Entry> entries;
+    private final Map<String, int[]> nameTrigrams;
+    private final Map<String, int[]> rutTrigrams;
+
+    private StudentSearchIndex(List<Entry> entries) {
+        this.entries = entries;
+        this.nameTrigrams = postings(entries, entry -> nameTrigrams(entry.searchName()));
+        this.rutTrigrams = postings(entries, entry -> plainTrigrams(entry.searchRut()));
+    }
+
+    /**
+     * Construye el índice desde filas
+     * {@code [applicationId, studentId, firstName, lastName, maternalLastName, rut, gradeApplied, status]}
+     */
+    public static StudentSearchIndex build(List<Object[]> rows) {
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String firstName = (String) row[2];
+            String lastName = (String) row[3];
+            String maternalLastName = (String) row[4];
+            String rut = (String) row[5];
+            entries.add(new Entry((Long) row[0], (Long) row[1],
+                    firstName + " " + lastName + " " + maternalLastName, rut, (String) row[6],
+                    row[7] != null ? row[7].toString() : null,
+                    SearchNormalizer.normalizeName(firstName, lastName, maternalLastName),
+                    SearchNormalizer.normalizeRut(rut)));
+        }
+        return new StudentSearchIndex(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param name texto normalizado a buscar en el nombre
+     * @param rut  RUT normalizado, o null si la búsqueda no parece un RUT
+     */
+    public List<StudentSearchHit> search(String name, String rut, int limit) {
+        Map<Integer, Double> scores = new HashMap<>();
+
+        Set<String> queryTrigrams = nameTrigrams(name);
+        if (!queryTrigrams.isEmpty()) {
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (int position : nameTrigrams.getOrDefault(trigram, NO_POSTINGS)) {
+                    shared.merge(position, 1, Integer::sum);
+                }
+            }
+            shared.forEach((position, count) -> {
+                String searchName = entries.get(position).searchName();
+                double similarity = (double) count / queryTrigrams.size();
+                boolean prefix = searchName.startsWith(name);
+                boolean contains = prefix || searchName.contains(name);
+                if (contains || similarity >= SIMILARITY_THRESHOLD) {
+                    scores.merge(position, (prefix ? 2 : contains ? 1 : 0) + similarity, Double::sum);
+                }
+            });
+        }
+
+        if (rut != null && !rut.isEmpty()) {
+            for (int position : rutCandidates(rut)) {
+                String searchRut = entries.get(position).searchRut();
+                if (searchRut.contains(rut)) {
+                    scores.merge(position, searchRut.startsWith(rut) ? 3.0 : 2.0, Double::sum);
+                }
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> entries.get(entry.getKey()).applicationId(), Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> entries.get(entry.getKey()).toHit(entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Posiciones que pueden contener el RUT: las del trigrama menos frecuente (toda subcadena
+     * contiene todos sus trigramas), o todas si el RUT buscado es más corto que un trigrama
+     */
+    private int[] rutCandidates(String rut) {
+        Set<String> trigrams = plainTrigrams(rut);
+        if (trigrams.isEmpty()) {
+            return IntStream.range(0, entries.size()).toArray();
+        }
+        int[] rarest = null;
+        for (String trigram : trigrams) {
+            int[] postings = rutTrigrams.getOrDefault(trigram, NO_POSTINGS);
+            if (rarest == null || postings.length < rarest.length) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private static Map<String, int[]> postings(List<Entry> entries,
+                                               Function<Entry, Set<String>> trigrams) {
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int position = 0; position < entries.size(); position++) {
+            for (String trigram : trigrams.apply(entries.get(position))) {
+                lists.computeIfAbsent(trigram, key -> new ArrayList<>()).add(position);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((trigram, positions) ->
+                postings.put(trigram, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return postings;
+    }
+
+    /**
+     * Trigramas por palabra con el relleno de pg_trgm: dos espacios antes y uno después
+     */
+    private static Set<String> nameTrigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : text.split(" ")) {
+            if (!word.isEmpty()) {
+                addTrigrams("  " + word + " ", trigrams);
+            }
+        }
+        return trigrams;
+    }
+
+    private static Set<String> plainTrigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (text != null) {
+            addTrigrams(text, trigrams);
+        }
+        return trigrams;
+    }
+
+    private static void addTrigrams(String text, Set<String> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+    }
+
+    private record Entry(Long applicationId, Long studentId, String fullName, String rut,
+                         String gradeApplied, String status, String searchName, String searchRut) {
+        StudentSearchHit toHit(double score) {
+            return new StudentSearchHit(applicationId, studentId, fullName, rut, gradeApplied, status, score);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.desafios.admision_mtn.service;
+
+import com.desafios.admision_mtn.dto.StudentSearchHit;
+import com.desafios.admision_mtn.dto.StudentSearchResponse;
+import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.util.SearchNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de estudiantes y postulaciones por nombre o RUT para el buscador de administración
+ *
+ * En PostgreSQL busca sobre {@code students.search_name} y {@code students.search_rut}
+ * (normalizados al guardar, ver {@link SearchNormalizer}) con índices GIN de trigramas:
+ * {@code LIKE '%texto%'} y el operador de similitud {@code <%} usan el índice en lugar de
+ * recorrer la tabla. Cada consulta corre con {@code statement_timeout} igual al presupuesto
+ * de latencia; si lo supera se responde vacía con {@code timedOut}. En H2, o si la extensión
+ * pg_trgm no se puede instalar, se usa {@link StudentSearchIndex} en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentSearchService {
+
+    private static final String QUERY_CANCELED_SQL_STATE = "57014";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final String SELECT_HITS_SQL =
+        "SELECT a.id AS application_id, s.id AS student_id, s.first_name, s.paternal_last_name, " +
+        "s.maternal_last_name, s.rut, s.grade_applied, a.status, ";
+    private static final String NAME_SCORE_SQL =
+        "(CASE WHEN s.search_name LIKE :prefix THEN 2 WHEN s.search_name LIKE :contains THEN 1 ELSE 0 END " +
+        "+ word_similarity(:name, s.search_name))";
+    private static final String RUT_SCORE_SQL =
+        "(CASE WHEN s.search_rut LIKE :rutPrefix THEN 3 WHEN s.search_rut LIKE :rutContains THEN 2 ELSE 0 END)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationRepository applicationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.search.timeout-ms:300}")
+    private int timeoutMs;
+
+    @Value("${app.search.max-results:20}")
+    private int maxResults;
+
+    @Value("${app.search.min-query-length:2}")
+    private int minQueryLength;
+
+    private volatile boolean trigramEnabled;
+    private volatile StudentSearchIndex memoryIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            backfillSearchColumns();
+            String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            trigramEnabled = "PostgreSQL".equalsIgnoreCase(database) && createTrigramIndexes();
+            if (trigramEnabled) {
+                log.info("🔎 Búsqueda de estudiantes con índices de trigramas de PostgreSQL");
+            } else {
+                rebuildMemoryIndex();
+                log.info("🔎 Búsqueda de estudiantes con índice en memoria ({}): {} postulaciones",
+                        database, memoryIndex.size());
+            }
+        } catch (Exception e) {
+            log.error("❌ Error inicializando la búsqueda de estudiantes", e);
+        }
+    }
+
+    /**
+     * Mantiene al día el índice en memoria; no hace nada cuando se usa PostgreSQL
+     */
+    @Scheduled(initialDelayString = "${app.search.memory-refresh-ms:60000}",
+               fixedDelayString = "${app.search.memory-refresh-ms:60000}")
+    public void refreshMemoryIndex() {
+        if (trigramEnabled || memoryIndex == null) {
+            return;
+        }
+        try {
+            rebuildMemoryIndex();
+        } catch (Exception e) {
+            log.warn("⚠️ No se pudo reconstruir el índice de búsqueda en memoria", e);
+        }
+    }
+
+    /**
+     * Resultados ordenados por relevancia: prefijo del RUT, prefijo del nombre, subcadena
+     * y similitud
+     */
+    public StudentSearchResponse search(String query, Integer limit) {
+        String name = SearchNormalizer.normalizeText(query);
+        String rut = SearchNormalizer.looksLikeRut(query) ? SearchNormalizer.normalizeRut(query) : null;
+        int resultLimit = Math.max(1, Math.min(limit != null ? limit : maxResults, maxResults));
+        String source = trigramEnabled ? "trigram" : "memory";
+
+        StudentSearchResponse.StudentSearchResponseBuilder response = StudentSearchResponse.builder()
+                .query(query)
+                .source(source)
+                .results(List.of());
+        if (name.length() < minQueryLength && (rut == null || rut.length() < minQueryLength)) {
+            return response.build();
+        }
+
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        List<StudentSearchHit> results = List.of();
+        if (trigramEnabled) {
+            try {
+                results = searchWithTrigrams(name, rut, resultLimit);
+            } catch (DataAccessException e) {
+                if (!isQueryCanceled(e)) {
+                    throw e;
+                }
+                timedOut = true;
+                log.warn("⏱️ Búsqueda de estudiantes cortada tras {} ms: '{}'", timeoutMs, query);
+            }
+        } else if (memoryIndex != null) {
+            results = memoryIndex.search(name, rut, resultLimit);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Timer.builder("search.students")
+                .description("Duración de búsquedas de estudiantes")
+                .tag("source", source)
+                .tag("timedOut", String.valueOf(timedOut))
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        return response
+                .results(results)
+                .tookMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .timedOut(timedOut)
+                .build();
+    }
+
+    private List<StudentSearchHit> searchWithTrigrams(String name, String rut, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        StringBuilder score = new StringBuilder();
+        StringBuilder where = new StringBuilder();
+        // El texto normalizado solo tiene [a-z0-9 ], así que no trae comodines de LIKE
+        if (name.length() >= minQueryLength) {
+            params.addValue("name", name)
+                  .addValue("prefix", name + "%")
+                  .addValue("contains", "%" + name + "%");
+            score.append(NAME_SCORE_SQL);
+            where.append("s.search_name LIKE :contains OR :name <% s.search_name");
+        }
+        if (rut != null && rut.length() >= minQueryLength) {
+            params.addValue("rutPrefix", rut + "%")
+                  .addValue("rutContains", "%" + rut + "%");
+            score.append(score.isEmpty() ? "" : " + ").append(RUT_SCORE_SQL);
+            where.append(where.isEmpty() ? "" : " OR ").append("s.search_rut LIKE :rutContains");
+        }
+
+        String sql = SELECT_HITS_SQL + score + " AS score " +
+                "FROM students s JOIN applications a ON a.student_id = s.id " +
+                "WHERE " + where + " " +
+                "ORDER BY score DESC, a.id DESC LIMIT :limit";
+
+        return transactionTemplate.execute(status -> {
+            // Solo para esta transacción: la conexión vuelve al pool con el timeout por defecto
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + timeoutMs);
+            return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> new StudentSearchHit(
+                rs.getLong("application_id"),
+                rs.getLong("student_id"),
+                rs.getString("first_name") + " " + rs.getString("paternal_last_name") + " " +
+                    rs.getString("maternal_last_name"),
+                rs.getString("rut"),
+                rs.getString("grade_applied"),
+                rs.getString("status"),
+                rs.getDouble("score")));
+        });
+    }
+
+    /**
+     * Instala pg_trgm y crea los índices GIN; false si el usuario de la base no tiene permisos
+     */
+    private boolean createTrigramIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_students_search_name_trgm " +
+                    "ON students USING gin (search_name gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_students_search_rut_trgm " +
+                    "ON students USING gin (search_rut gin_trgm_ops)");
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("⚠️ No se pudo preparar pg_trgm ({}); se usará el índice en memoria",
+                    e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Calcula las columnas normalizadas de estudiantes guardados antes de que existieran
+     */
+    private void backfillSearchColumns() {
+        int updated = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                "SELECT id, first_name, paternal_last_name, maternal_last_name, rut FROM students " +
+                "WHERE search_name IS NULL OR search_rut IS NULL LIMIT " + BACKFILL_BATCH_SIZE,
+                (rs, rowNum) -> new Object[]{
+                    SearchNormalizer.normalizeName(rs.getString("first_name"),
+                        rs.getString("paternal_last_name"), rs.getString("maternal_last_name")),
+                    SearchNormalizer.normalizeRut(rs.getString("rut")),
+                    rs.getLong("id")
+                });
+            if (batch.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE students SET search_name = ?, search_rut = ? WHERE id = ?", batch);
+            updated += batch.size();
+        }
+        if (updated > 0) {
+            log.info("🔎 Columnas de búsqueda calculadas para {} estudiantes", updated);
+        }
+    }
+
+    private void rebuildMemoryIndex() {
+        memoryIndex = StudentSearchIndex.build(applicationRepository.findStudentSearchRows());
+    }
+
+    private static boolean isQueryCanceled(DataAccessException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && QUERY_CANCELED_SQL_STATE.equals(sqlException.getSQLState());
+    }
+}
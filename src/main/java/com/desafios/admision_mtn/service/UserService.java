@@ -7,6 +7,7 @@ import com.desafios.admision_mtn.util.RutUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -26,7 +27,7 @@ public class UserService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     
     @Override
-    @Cacheable(value = "users", key = "#username")
+    @Cacheable(value = "user-details", key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByEmail(username)
             .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
@@ -67,7 +68,10 @@ public class UserService implements UserDetailsService {
     }
     
     @Transactional
-    @CacheEvict(value = "users", key = "#email")
+    @Caching(evict = {
+        @CacheEvict(value = "users", key = "#email"),
+        @CacheEvict(value = "user-details", key = "#email")
+    })
     public void markEmailAsVerified(String email) {
         userRepository.findByEmail(email)
             .ifPresent(user -> {
@@ -0,0 +1,159 @@
+package com.desafios.admision_mtn.util;
+
+import com.desafios.admision_mtn.entity.EmailNotification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Plantilla de email compilada a una lista de segmentos
+ *
+ * Sintaxis:
+ * <ul>
+ *   <li>{@code {{nombre}}}: valor de la variable (igual que {@code %s}, {@code null} se imprime como "null")</li>
+ *   <li>{@code {{gender:masculino|femenino}}}: texto según el género del estudiante</li>
+ *   <li>{@code {{school:Monte Tabor|Nazaret}}}: texto según el colegio de destino</li>
+ * </ul>
+ * El texto se analiza una sola vez al compilar; renderizar solo concatena segmentos
+ * sobre un buffer reutilizado por hilo.
+ */
+public final class EmailTemplate {
+
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    // Buffers que crecieron más que esto se descartan para no retener memoria por hilo
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private final String name;
+    private final Segment[] segments;
+
+    private EmailTemplate(String name, Segment[] segments) {
+        this.name = name;
+        this.segments = segments;
+    }
+
+    /**
+     * Analiza el texto de la plantilla; lanza IllegalArgumentException si la sintaxis es inválida
+     */
+    public static EmailTemplate compile(String name, String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                segments.add(new Literal(source.substring(position)));
+                break;
+            }
+            if (open > position) {
+                segments.add(new Literal(source.substring(position, open)));
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Plantilla " + name + ": '{{' sin cerrar en posición " + open);
+            }
+            segments.add(parseSlot(name, source.substring(open + 2, close).trim()));
+            position = close + 2;
+        }
+        return new EmailTemplate(name, segments.toArray(Segment[]::new));
+    }
+
+    private static Segment parseSlot(String name, String slot) {
+        if (slot.startsWith("gender:")) {
+            return new GenderChoice(choices(name, slot, EmailNotification.Gender.values().length));
+        }
+        if (slot.startsWith("school:")) {
+            return new SchoolChoice(choices(name, slot, EmailNotification.TargetSchool.values().length));
+        }
+        if (!VARIABLE_NAME.matcher(slot).matches()) {
+            throw new IllegalArgumentException("Plantilla " + name + ": variable inválida '" + slot + "'");
+        }
+        return new Variable(slot);
+    }
+
+    private static String[] choices(String name, String slot, int expected) {
+        String[] options = slot.substring(slot.indexOf(':') + 1).split("\\|", -1);
+        if (options.length != expected) {
+            throw new IllegalArgumentException("Plantilla " + name + ": '" + slot + "' debe tener "
+                    + expected + " opciones");
+        }
+        return options;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String render(Model model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (Segment segment : segments) {
+            segment.appendTo(buffer, model);
+        }
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private sealed interface Segment permits Literal, Variable, GenderChoice, SchoolChoice {
+        void appendTo(StringBuilder out, Model model);
+    }
+
+    private record Literal(String text) implements Segment {
+        public void appendTo(StringBuilder out, Model model) {
+            out.append(text);
+        }
+    }
+
+    private record Variable(String variable) implements Segment {
+        public void appendTo(StringBuilder out, Model model) {
+            out.append(model.values.get(variable));
+        }
+    }
+
+    private record GenderChoice(String[] options) implements Segment {
+        public void appendTo(StringBuilder out, Model model) {
+            out.append(options[model.gender != null ? model.gender.ordinal() : 0]);
+        }
+    }
+
+    private record SchoolChoice(String[] options) implements Segment {
+        public void appendTo(StringBuilder out, Model model) {
+            out.append(options[model.school != null ? model.school.ordinal() : 0]);
+        }
+    }
+
+    /**
+     * Valores para renderizar una plantilla
+     */
+    public static final class Model {
+        private final Map<String, Object> values = new HashMap<>();
+        private EmailNotification.Gender gender;
+        private EmailNotification.TargetSchool school;
+
+        public static Model create() {
+            return new Model();
+        }
+
+        public Model with(String variable, Object value) {
+            values.put(variable, value);
+            return this;
+        }
+
+        public Model gender(EmailNotification.Gender gender) {
+            this.gender = gender;
+            return this;
+        }
+
+        public Model school(EmailNotification.TargetSchool school) {
+            this.school = school;
+            return this;
+        }
+    }
+}
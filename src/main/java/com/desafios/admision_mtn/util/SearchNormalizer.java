@@ -0,0 +1,55 @@
+package com.desafios.admision_mtn.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para la búsqueda de estudiantes
+ *
+ * Nombres: minúsculas, sin tildes ni diéresis (la ñ pasa a n) y espacios simples, de modo
+ * que "MUÑOZ  Ramírez" y "munoz ramirez" coinciden. RUT: solo dígitos y k, sin puntos ni
+ * guión. Se aplica igual a las columnas guardadas y al texto buscado.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NON_RUT = Pattern.compile("[^0-9k]");
+
+    private SearchNormalizer() {
+    }
+
+    public static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String plain = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(plain).replaceAll(" ").trim();
+    }
+
+    public static String normalizeRut(String rut) {
+        if (rut == null) {
+            return "";
+        }
+        return NON_RUT.matcher(rut.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /**
+     * Nombre completo normalizado: nombres, apellido paterno y materno
+     */
+    public static String normalizeName(String firstName, String lastName, String maternalLastName) {
+        return normalizeText(String.join(" ",
+                firstName != null ? firstName : "",
+                lastName != null ? lastName : "",
+                maternalLastName != null ? maternalLastName : ""));
+    }
+
+    /**
+     * true si el texto buscado parece un RUT (al menos un dígito)
+     */
+    public static boolean looksLikeRut(String query) {
+        return query != null && query.chars().anyMatch(Character::isDigit);
+    }
+}
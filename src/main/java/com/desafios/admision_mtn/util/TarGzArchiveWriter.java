@@ -0,0 +1,323 @@
+package com.desafios.admision_mtn.util;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escritor de archivos {@code .tar.gz} en streaming, sin procesos externos ni copias intermedias
+ *
+ * Las entradas se escriben en formato tar GNU (nombres largos con {@code ././@LongLink} y tamaños
+ * grandes en base 256) sobre un buffer de bloques de 1 MiB. Cada bloque se comprime como un
+ * miembro gzip independiente; con más de un hilo los bloques se comprimen en paralelo y se
+ * escriben en orden, igual que {@code pigz -i}. El resultado es un gzip multi-miembro estándar
+ * que {@code tar -xzf} y {@code GZIPInputStream} leen sin opciones especiales.
+ *
+ * El archivo se escribe en {@code <destino>.part} y se mueve al destino solo en {@link #finish()};
+ * cerrar sin terminar elimina el archivo parcial.
+ *
+ * La cabecera de cada entrada declara su tamaño antes del contenido, así que un error a mitad
+ * de una entrada deja el tar desalineado. Desde ese momento el escritor queda inválido: las
+ * entradas siguientes y {@link #finish()} lanzan excepción y el archivo corrupto nunca se publica.
+ */
+public final class TarGzArchiveWriter implements Closeable {
+
+    private static final int RECORD_SIZE = 512;
+    private static final int BLOCK_SIZE = 1024 * 1024;
+    private static final byte[] ZERO_RECORD = new byte[RECORD_SIZE];
+    private static final long MAX_OCTAL_SIZE = 077777777777L;
+
+    private static final byte TYPE_FILE = '0';
+    private static final byte TYPE_DIRECTORY = '5';
+    private static final byte TYPE_GNU_LONG_NAME = 'L';
+
+    private final Path target;
+    private final Path partFile;
+    private final FileChannel channel;
+    private final int compressionLevel;
+    private final ExecutorService compressor;
+    private final int maxBlocksInFlight;
+    private final Deque<Future<byte[]>> blocksInFlight = new ArrayDeque<>();
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+
+    private long uncompressedBytes;
+    private long compressedBytes;
+    private boolean finished;
+    private Exception failure;
+
+    private TarGzArchiveWriter(Path target, int compressionLevel, int compressionThreads) throws IOException {
+        this.target = target;
+        this.partFile = target.resolveSibling(target.getFileName() + ".part");
+        this.compressionLevel = compressionLevel;
+        this.channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.compressor = compressionThreads > 1
+                ? Executors.newFixedThreadPool(compressionThreads, new CustomizableThreadFactory("backup-gzip-"))
+                : null;
+        this.maxBlocksInFlight = compressionThreads * 2;
+    }
+
+    /**
+     * @param compressionLevel   nivel gzip de 1 (rápido) a 9 (máxima compresión)
+     * @param compressionThreads hilos de compresión; 1 comprime en el hilo que escribe
+     */
+    public static TarGzArchiveWriter create(Path target, int compressionLevel, int compressionThreads) throws IOException {
+        if (compressionLevel < 1 || compressionLevel > 9) {
+            throw new IllegalArgumentException("Nivel de compresión inválido: " + compressionLevel);
+        }
+        return new TarGzArchiveWriter(target, compressionLevel, Math.max(1, compressionThreads));
+    }
+
+    public void addDirectory(String name, FileTime lastModified) throws IOException {
+        writeEntry(() -> writeHeader(name.endsWith("/") ? name : name + "/", 0, lastModified, TYPE_DIRECTORY));
+    }
+
+    /**
+     * Agrega un archivo leyendo su contenido directamente al buffer de compresión
+     */
+    public void addFile(String name, Path file) throws IOException {
+        // Abrir y leer metadatos antes de la cabecera: si falla aquí el tar sigue intacto
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            FileTime lastModified = Files.getLastModifiedTime(file);
+            writeEntry(() -> {
+                writeHeader(name, size, lastModified, TYPE_FILE);
+
+                long remaining = size;
+                while (remaining > 0) {
+                    if (!block.hasRemaining()) {
+                        flushBlock();
+                    }
+                    int limit = block.limit();
+                    if (block.remaining() > remaining) {
+                        block.limit(block.position() + (int) remaining);
+                    }
+                    int read = in.read(block);
+                    block.limit(limit);
+                    if (read < 0) {
+                        throw new IOException("Archivo truncado mientras se respaldaba: " + file);
+                    }
+                    remaining -= read;
+                }
+                pad(size);
+            });
+        }
+    }
+
+    public void addBytes(String name, byte[] content, FileTime lastModified) throws IOException {
+        writeEntry(() -> {
+            writeHeader(name, content.length, lastModified, TYPE_FILE);
+            write(content);
+            pad(content.length);
+        });
+    }
+
+    /**
+     * Escribe el fin del archivo, espera la compresión pendiente y publica el archivo en el destino
+     */
+    public Path finish() throws IOException {
+        ensureUsable();
+        write(ZERO_RECORD);
+        write(ZERO_RECORD);
+        flushBlock();
+        while (!blocksInFlight.isEmpty()) {
+            writeCompressed(awaitBlock(blocksInFlight.poll()));
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return target;
+    }
+
+    /**
+     * Bytes del tar antes de comprimir
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (compressor != null) {
+            compressor.shutdownNow();
+        }
+        if (!finished) {
+            blocksInFlight.forEach(future -> future.cancel(true));
+            channel.close();
+            Files.deleteIfExists(partFile);
+        }
+    }
+
+    /**
+     * Escribe una entrada completa; si falla a mitad el escritor queda inválido
+     */
+    private void writeEntry(EntryBody body) throws IOException {
+        ensureUsable();
+        try {
+            body.write();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void ensureUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Archivo de backup inválido: una entrada quedó incompleta", failure);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryBody {
+        void write() throws IOException;
+    }
+
+    private void writeHeader(String name, long size, FileTime lastModified, byte type) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > 100) {
+            // Extensión GNU: el nombre completo va como contenido de una entrada previa
+            byte[] longName = Arrays.copyOf(nameBytes, nameBytes.length + 1);
+            writeHeader("././@LongLink", longName.length, FileTime.fromMillis(0), TYPE_GNU_LONG_NAME);
+            write(longName);
+            pad(longName.length);
+            nameBytes = Arrays.copyOf(nameBytes, 100);
+        }
+
+        byte[] header = new byte[RECORD_SIZE];
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        writeOctal(header, 100, 8, type == TYPE_DIRECTORY ? 0755 : 0644);
+        writeOctal(header, 108, 8, 0);
+        writeOctal(header, 116, 8, 0);
+        writeSize(header, size);
+        writeOctal(header, 136, 12, Math.max(0, lastModified.toMillis() / 1000));
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        header[156] = type;
+        System.arraycopy("ustar  \0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        writeOctal(header, 148, 7, checksum);
+        header[155] = ' ';
+
+        write(header);
+    }
+
+    private static void writeSize(byte[] header, long size) {
+        if (size <= MAX_OCTAL_SIZE) {
+            writeOctal(header, 124, 12, size);
+            return;
+        }
+        // Extensión GNU para tamaños de 8 GiB o más: binario big-endian con el bit alto marcado
+        header[124] = (byte) 0x80;
+        for (int i = 0; i < 8; i++) {
+            header[135 - i] = (byte) (size >>> (8 * i));
+        }
+    }
+
+    private static void writeOctal(byte[] header, int offset, int length, long value) {
+        String octal = Long.toOctalString(value);
+        int digits = length - 1;
+        for (int i = 0; i < digits; i++) {
+            int index = octal.length() - digits + i;
+            header[offset + i] = (byte) (index >= 0 ? octal.charAt(index) : '0');
+        }
+        header[offset + digits] = 0;
+    }
+
+    private void pad(long size) throws IOException {
+        int padding = (int) ((RECORD_SIZE - size % RECORD_SIZE) % RECORD_SIZE);
+        if (padding > 0) {
+            write(ZERO_RECORD, padding);
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        write(bytes, bytes.length);
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            if (!block.hasRemaining()) {
+                flushBlock();
+            }
+            int chunk = Math.min(block.remaining(), length - offset);
+            block.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.position() == 0) {
+            return;
+        }
+        byte[] data = Arrays.copyOf(block.array(), block.position());
+        uncompressedBytes += data.length;
+        block.clear();
+
+        if (compressor == null) {
+            writeCompressed(compress(data));
+            return;
+        }
+        blocksInFlight.add(compressor.submit(() -> compress(data)));
+        while (blocksInFlight.size() > maxBlocksInFlight) {
+            writeCompressed(awaitBlock(blocksInFlight.poll()));
+        }
+    }
+
+    private byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] awaitBlock(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compresión interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error comprimiendo bloque del backup", e.getCause());
+        }
+    }
+
+    private void writeCompressed(byte[] compressed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(compressed);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        compressedBytes += compressed.length;
+    }
+}
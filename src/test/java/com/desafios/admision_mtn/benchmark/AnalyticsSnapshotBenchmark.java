@@ -0,0 +1,210 @@
+package com.desafios.admision_mtn.benchmark;
+
+import com.desafios.admision_mtn.entity.Application;
+import com.desafios.admision_mtn.entity.Student;
+import com.desafios.admision_mtn.entity.User;
+import com.desafios.admision_mtn.repository.ApplicationRepository;
+import com.desafios.admision_mtn.repository.DashboardAggregateRepository;
+import com.desafios.admision_mtn.repository.EvaluationRepository;
+import com.desafios.admision_mtn.repository.UserRepository;
+import com.desafios.admision_mtn.service.AnalyticsSnapshotService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics completo: snapshot de una pasada contra el patrón anterior de findAll() por sección
+ *
+ * Levanta solo la capa JPA sobre H2 en memoria con {@code applications} postulaciones y mide
+ * la latencia de cada camino. Junto a la latencia se reporta {@code statementsPerCall}, las
+ * consultas JDBC por llamada según las estadísticas de Hibernate; el camino anterior incluye
+ * las cargas EAGER de cada postulación.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=AnalyticsSnapshotBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsSnapshotBenchmark {
+
+    private static final String[] GRADES = {"prekinder", "kinder", "1basico", "2basico", "5basico", "1medio"};
+
+    @Param({"1000"})
+    private int applications;
+
+    private ConfigurableApplicationContext context;
+    private AnalyticsSnapshotService snapshotService;
+    private ApplicationRepository applicationRepository;
+    private UserRepository userRepository;
+    private EvaluationRepository evaluationRepository;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.yml
+        context = new SpringApplicationBuilder(JpaOnlyConfig.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:analytics;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=h2",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN");
+        snapshotService = context.getBean(AnalyticsSnapshotService.class);
+        applicationRepository = context.getBean(ApplicationRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        evaluationRepository = context.getBean(EvaluationRepository.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        seed(context.getBean(TransactionTemplate.class),
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Patrón anterior de getCompleteAnalytics: seis findAll() de postulaciones, tres de usuarios
+     * y uno de evaluaciones, cada uno en su propia transacción
+     */
+    @Benchmark
+    public void legacyFindAll(Blackhole blackhole, QueryCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        for (int section = 0; section < 6; section++) {
+            blackhole.consume(applicationRepository.findAll().stream()
+                    .filter(application -> application.getStatus() == Application.ApplicationStatus.APPROVED)
+                    .count());
+        }
+        for (int section = 0; section < 3; section++) {
+            blackhole.consume(userRepository.findAll().stream().filter(User::getActive).count());
+        }
+        blackhole.consume(evaluationRepository.findAll().size());
+        counters.record(statistics.getPrepareStatementCount() - before);
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole, QueryCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        blackhole.consume(snapshotService.takeSnapshot());
+        counters.record(statistics.getPrepareStatementCount() - before);
+    }
+
+    /**
+     * Consultas JDBC por llamada en la iteración, reportadas por JMH junto a la latencia
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class QueryCounters {
+        public double statementsPerCall;
+        private long statements;
+        private long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statementsPerCall = 0;
+            statements = 0;
+            calls = 0;
+        }
+
+        void record(long count) {
+            statements += count;
+            calls++;
+            statementsPerCall = (double) statements / calls;
+        }
+    }
+
+    private void seed(TransactionTemplate transactionTemplate, EntityManager entityManager) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User.UserRole[] roles = User.UserRole.values();
+            for (int i = 0; i < 60; i++) {
+                User user = new User();
+                user.setFirstName("Usuario");
+                user.setLastName("Benchmark " + i);
+                user.setEmail("usuario" + i + "@benchmark.cl");
+                user.setPassword("x");
+                user.setRut("9" + i + "-K");
+                user.setRole(roles[i % roles.length]);
+                user.setActive(i % 7 != 0);
+                entityManager.persist(user);
+            }
+
+            Application.ApplicationStatus[] statuses = Application.ApplicationStatus.values();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < applications; i++) {
+                Student student = new Student();
+                student.setFirstName("Estudiante");
+                student.setLastName("Paterno " + i);
+                student.setMaternalLastName("Materno");
+                student.setRut(String.format("%08d-%d", 10_000_000 + i, i % 10));
+                student.setBirthDate(LocalDate.of(2018, 1, 1).plusDays(i % 365));
+                student.setAddress("Av. Benchmark " + i);
+                student.setGradeApplied(GRADES[i % GRADES.length]);
+                student.setSchoolApplied(i % 2 == 0 ? "MONTE_TABOR" : "NAZARET");
+                student.setCreatedAt(now);
+
+                Application application = new Application();
+                application.setStudent(student);
+                application.setStatus(statuses[i % statuses.length]);
+                application.setSubmissionDate(now.minusDays(i % 90));
+                entityManager.persist(application);
+                if (i % 500 == 499) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * Solo datasource, JPA y los beans del snapshot: sin web, seguridad ni schedulers de la app
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = {"com.desafios.admision_mtn.entity", "com.desafios.admision_mtn.model"})
+    @EnableJpaRepositories(basePackageClasses = ApplicationRepository.class)
+    @Import({AnalyticsSnapshotService.class, DashboardAggregateRepository.class})
+    static class JpaOnlyConfig {
+    }
+}
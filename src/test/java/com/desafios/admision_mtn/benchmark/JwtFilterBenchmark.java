@@ -0,0 +1,114 @@
+package com.desafios.admision_mtn.benchmark;
+
+import com.desafios.admision_mtn.config.JwtAuthenticationFilter;
+import com.desafios.admision_mtn.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino caliente de {@link JwtAuthenticationFilter} para una petición autenticada
+ *
+ * {@code cachedFilter} pasa una petición con Bearer por el filtro real; tras el primer uso los
+ * claims salen del cache de {@link JwtService}. {@code legacyVerification} reproduce lo que hacía
+ * el filtro antes por petición: cuatro verificaciones HMAC, cada una derivando la clave y
+ * construyendo un parser nuevo. {@code singleVerification} es el costo de un fallo de cache.
+ * El usuario se resuelve desde memoria para medir solo el trabajo del token.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=JwtFilterBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey12345678901234567890";
+    private static final String USERNAME = "admin@mtn.cl";
+    private static final String PATH = "/api/applications";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private JwtParser parser;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        UserDetails user = User.withUsername(USERNAME).password("x").roles("ADMIN").build();
+        filter = new JwtAuthenticationFilter(jwtService, username -> user);
+        parser = ReflectionTestUtils.getField(jwtService, "jwtParser");
+        token = jwtService.generateToken(Map.of("userId", 1L, "role", "ADMIN"), USERNAME);
+    }
+
+    @Benchmark
+    public Object cachedFilter() throws Exception {
+        // El filtro solo autentica si el contexto está vacío
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * extractUsername, isTokenValid (username y expiración) e isRefreshToken, sin cache
+     */
+    @Benchmark
+    public void legacyVerification(Blackhole blackhole) {
+        String username = parseWithFreshKey(token).getSubject();
+        boolean valid = parseWithFreshKey(token).getSubject().equals(username)
+                && !parseWithFreshKey(token).getExpiration().before(new Date());
+        boolean refresh = "refresh".equals(parseWithFreshKey(token).get("tokenType", String.class));
+        blackhole.consume(valid && !refresh);
+    }
+
+    @Benchmark
+    public Claims singleVerification() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // Igual que el getSignInKey() anterior: la clave y el parser se construían en cada llamada
+    private static Claims parseWithFreshKey(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,255 @@
+package com.desafios.admision_mtn.benchmark;
+
+import com.desafios.admision_mtn.service.MailDispatchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mensajes por segundo del pipeline de correos contra un servidor SMTP falso local
+ *
+ * {@link FakeSmtpServer} acepta todo en 127.0.0.1 y cuenta mensajes y conexiones. Cada
+ * invocación envía {@value #MESSAGES} correos HTML y espera a que todos se entreguen, así que
+ * el resultado en ops/s son mensajes por segundo. {@code pipeline} pasa por
+ * {@link MailDispatchService} (con {@code batchSize=1} no hay reutilización de conexión);
+ * {@code sessionPerMessage} es el envío anterior: un {@code send} por mensaje desde un pool
+ * de 8 hilos, como el executor por defecto de {@code @Async}, con una sesión SMTP cada uno.
+ * Junto al throughput se reporta {@code messagesPerConnection}, los mensajes por conexión que
+ * vio el servidor en la iteración.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=MailDispatchBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MailDispatchBenchmark {
+
+    private static final int MESSAGES = 200;
+    private static final int ASYNC_POOL_SIZE = 8;
+
+    @Param({"2"})
+    private int workers;
+
+    @Param({"1", "20"})
+    private int batchSize;
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private MailDispatchService dispatchService;
+    private ExecutorService asyncPool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.setDefaultEncoding("UTF-8");
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "false");
+        properties.put("mail.smtp.starttls.enable", "false");
+        // Evita resolver el hostname local en cada EHLO
+        properties.put("mail.smtp.localhost", "localhost");
+        mailSender.setJavaMailProperties(properties);
+
+        dispatchService = new MailDispatchService(mailSender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatchService, "queueCapacity", MESSAGES * 2);
+        ReflectionTestUtils.setField(dispatchService, "workers", workers);
+        ReflectionTestUtils.setField(dispatchService, "batchSize", batchSize);
+        ReflectionTestUtils.setField(dispatchService, "offerTimeoutMs", 10_000L);
+        dispatchService.start();
+
+        asyncPool = Executors.newFixedThreadPool(ASYNC_POOL_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dispatchService.stop();
+        asyncPool.shutdownNow();
+        smtpServer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void pipeline(SmtpCounters counters) throws MessagingException {
+        counters.begin(smtpServer);
+        CompletableFuture<?>[] results = new CompletableFuture<?>[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            results[i] = dispatchService.dispatch(buildMessage(i));
+        }
+        CompletableFuture.allOf(results).join();
+        counters.record(smtpServer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void sessionPerMessage(SmtpCounters counters) throws MessagingException {
+        counters.begin(smtpServer);
+        CompletableFuture<?>[] results = new CompletableFuture<?>[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            MimeMessage message = buildMessage(i);
+            results[i] = CompletableFuture.runAsync(() -> mailSender.send(message), asyncPool);
+        }
+        CompletableFuture.allOf(results).join();
+        counters.record(smtpServer);
+    }
+
+    private MimeMessage buildMessage(int index) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("admision@mtn.cl");
+        helper.setTo("apoderado" + index + "@correo.cl");
+        helper.setSubject("Recordatorio de entrevista de admisión");
+        helper.setText("<html><body><p>Estimada familia, le recordamos su entrevista del día "
+                + (index % 28 + 1) + " de noviembre.</p></body></html>", true);
+        return message;
+    }
+
+    /**
+     * Mensajes por conexión vistos por el servidor en la iteración, reportados por JMH
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SmtpCounters {
+        public double messagesPerConnection;
+        private long messagesAtStart = -1;
+        private long connectionsAtStart;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messagesPerConnection = 0;
+            messagesAtStart = -1;
+        }
+
+        void begin(FakeSmtpServer server) {
+            if (messagesAtStart < 0) {
+                messagesAtStart = server.messages.get();
+                connectionsAtStart = server.connections.get();
+            }
+        }
+
+        void record(FakeSmtpServer server) {
+            long messages = server.messages.get() - messagesAtStart;
+            long connections = server.connections.get() - connectionsAtStart;
+            messagesPerConnection = (double) messages / Math.max(1, connections);
+        }
+    }
+
+    /**
+     * Servidor SMTP mínimo: responde 250 a todo, descarta el contenido y atiende cada
+     * conexión en su propio hilo
+     */
+    static final class FakeSmtpServer implements Closeable {
+        private final ServerSocket serverSocket;
+        private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-smtp");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final AtomicLong connections = new AtomicLong();
+        final AtomicLong messages = new AtomicLong();
+
+        FakeSmtpServer() throws IOException {
+            serverSocket = new ServerSocket(0, 256, InetAddress.getLoopbackAddress());
+            sessions.execute(this::acceptLoop);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    sessions.execute(() -> serve(socket));
+                } catch (IOException e) {
+                    // Servidor cerrado
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+                reply(out, "220 localhost fake ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // Contenido descartado
+                            }
+                            messages.incrementAndGet();
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Cliente desconectado
+            }
+        }
+
+        private static void reply(Writer out, String response) throws IOException {
+            out.write(response);
+            out.write("\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            sessions.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.desafios.admision_mtn.benchmark;
+
+import com.desafios.admision_mtn.security.RateLimitingService;
+import com.desafios.admision_mtn.security.RateLimitingService.RateLimitPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contención del rate limiter con 64 hilos sobre la política API
+ *
+ * Los métodos {@code sharedKey} ponen a los 64 hilos sobre un mismo usuario (el peor caso:
+ * todos compiten por el mismo long), los {@code perThreadKey} usan un usuario por hilo. Se
+ * compara {@code tryAcquire} (lo que llama RateLimitingFilter), {@code record} (CAS en cada
+ * llamada, sin rechazo posible) y el tracker anterior con el par isAllowed + recordRequest,
+ * claves {@code "api:" + email} y dos {@code LocalDateTime.now()} por petición.
+ *
+ * Con este volumen cada usuario agota su ráfaga de 100 en microsegundos, así que lo medido
+ * es sobre todo el estado saturado, que es justamente el de un cliente abusivo.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=RateLimiterContentionBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterContentionBenchmark {
+
+    private static final String SHARED_EMAIL = "apoderado@mtn.cl";
+
+    private RateLimitingService rateLimitingService;
+    private LegacyApiLimiter legacyLimiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rateLimitingService = new RateLimitingService();
+        legacyLimiter = new LegacyApiLimiter();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        String email;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            email = "usuario" + NEXT.getAndIncrement() + "@mtn.cl";
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquireSharedKey() {
+        return rateLimitingService.tryAcquireApiRequest(SHARED_EMAIL);
+    }
+
+    @Benchmark
+    public boolean tryAcquirePerThreadKey(ThreadKey key) {
+        return rateLimitingService.tryAcquireApiRequest(key.email);
+    }
+
+    @Benchmark
+    public void recordSharedKey() {
+        rateLimitingService.record(RateLimitPolicy.API, SHARED_EMAIL);
+    }
+
+    @Benchmark
+    public boolean legacySharedKey() {
+        return legacyLimiter.checkAndRecord(SHARED_EMAIL);
+    }
+
+    @Benchmark
+    public boolean legacyPerThreadKey(ThreadKey key) {
+        return legacyLimiter.checkAndRecord(key.email);
+    }
+
+    /**
+     * Camino API del RateLimitingService anterior, tal como lo usaba el filtro
+     */
+    static final class LegacyApiLimiter {
+        private final ConcurrentHashMap<String, Tracker> requestTrackers = new ConcurrentHashMap<>();
+
+        boolean checkAndRecord(String userEmail) {
+            if (!requestTrackers.computeIfAbsent("api:" + userEmail, k -> new Tracker()).isAllowed()) {
+                return false;
+            }
+            requestTrackers.computeIfAbsent("api:" + userEmail, k -> new Tracker()).recordRequest();
+            return true;
+        }
+
+        private static final class Tracker {
+            private final AtomicInteger requestCount = new AtomicInteger();
+            private volatile LocalDateTime lastReset = LocalDateTime.now();
+
+            boolean isAllowed() {
+                resetIfExpired();
+                return requestCount.get() < RateLimitPolicy.API.getLimit();
+            }
+
+            void recordRequest() {
+                resetIfExpired();
+                requestCount.incrementAndGet();
+            }
+
+            private void resetIfExpired() {
+                LocalDateTime now = LocalDateTime.now();
+                if (ChronoUnit.MINUTES.between(lastReset, now) >= RateLimitPolicy.API.getWindowMinutes()) {
+                    requestCount.set(0);
+                    lastReset = now;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.desafios.admision_mtn.benchmark;
+
+import com.desafios.admision_mtn.service.EmailTemplateService;
+import com.desafios.admision_mtn.util.EmailTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de render de recordatorios masivos: plantillas compiladas contra los builders anteriores
+ *
+ * Cada invocación renderiza un lote de {@value #RECIPIENTS} destinatarios, así que ops/s son
+ * correos por segundo. Se miden los dos recordatorios que salen en volumen: documentos
+ * faltantes (campaña semanal, texto) y recordatorio de entrevista (HTML). Los métodos
+ * {@code *Legacy} copian los text blocks con {@code formatted}/{@code String.format} que usaban
+ * NotificationService e InterviewNotificationService. Las plantillas se cargan desde
+ * {@code templates/email} igual que en la aplicación, y al iniciar se comprueba que ambos
+ * caminos producen el mismo texto.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=ReminderRenderingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReminderRenderingBenchmark {
+
+    private static final int RECIPIENTS = 500;
+    private static final String BASE_URL = "https://admision.mtn.cl";
+    private static final String INSTITUTION_NAME = "Colegio Monte Tabor y Nazaret";
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("EEEE, d 'de' MMMM 'de' yyyy", Locale.forLanguageTag("es-CL"));
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("HH:mm", Locale.forLanguageTag("es-CL"));
+    private static final String[] DOCUMENTS = {
+        "Certificado de nacimiento", "Certificado de notas", "Informe de personalidad",
+        "Fotografía tamaño carnet", "Certificado de bautismo"
+    };
+
+    private EmailTemplateService templateService;
+    private List<Recipient> recipients;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        templateService = new EmailTemplateService();
+        templateService.loadTemplates();
+
+        recipients = new ArrayList<>(RECIPIENTS);
+        LocalDate tomorrow = LocalDate.of(2026, 11, 3);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            List<String> missing = new ArrayList<>();
+            for (int d = 0; d <= i % DOCUMENTS.length; d++) {
+                missing.add(DOCUMENTS[(i + d) % DOCUMENTS.length]);
+            }
+            recipients.add(new Recipient(
+                    "Estudiante " + i + " Pérez González",
+                    missing,
+                    tomorrow,
+                    LocalTime.of(9 + i % 8, (i % 4) * 15),
+                    30 + (i % 3) * 15,
+                    "Entrevistador " + (i % 12),
+                    i % 3 == 0 ? "<p><strong>Ubicación:</strong> Sala " + (i % 10) + "</p>" : ""));
+        }
+
+        Recipient sample = recipients.get(RECIPIENTS - 1);
+        if (!renderMissingDocuments(sample).equals(buildMissingDocumentsBody(sample))
+                || !renderInterviewReminder(sample).equals(buildReminderEmailBody(sample))) {
+            throw new IllegalStateException("Las plantillas y los builders anteriores no producen el mismo texto");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void missingDocumentsTemplates(Blackhole blackhole) {
+        for (Recipient recipient : recipients) {
+            blackhole.consume(renderMissingDocuments(recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void missingDocumentsLegacy(Blackhole blackhole) {
+        for (Recipient recipient : recipients) {
+            blackhole.consume(buildMissingDocumentsBody(recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void interviewReminderTemplates(Blackhole blackhole) {
+        for (Recipient recipient : recipients) {
+            blackhole.consume(renderInterviewReminder(recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void interviewReminderLegacy(Blackhole blackhole) {
+        for (Recipient recipient : recipients) {
+            blackhole.consume(buildReminderEmailBody(recipient));
+        }
+    }
+
+    private String renderMissingDocuments(Recipient recipient) {
+        return templateService.render("notification/missing-documents", EmailTemplate.Model.create()
+                .with("studentName", recipient.studentName())
+                .with("documents", documentList(recipient))
+                .with("baseUrl", BASE_URL)
+                .with("institutionName", INSTITUTION_NAME));
+    }
+
+    private String renderInterviewReminder(Recipient recipient) {
+        return templateService.render("interview/reminder", EmailTemplate.Model.create()
+                .with("studentName", recipient.studentName())
+                .with("typeLabel", "Familiar")
+                .with("modeLabel", "Presencial")
+                .with("date", recipient.date().format(DATE_FORMATTER))
+                .with("time", recipient.time().format(TIME_FORMATTER))
+                .with("duration", recipient.duration())
+                .with("interviewerName", recipient.interviewerName())
+                .with("locationInfo", recipient.locationInfo())
+                .with("frontendUrl", BASE_URL));
+    }
+
+    private static String documentList(Recipient recipient) {
+        StringBuilder docsBuilder = new StringBuilder();
+        for (String doc : recipient.missingDocuments()) {
+            docsBuilder.append("• ").append(doc).append("\n");
+        }
+        return docsBuilder.toString();
+    }
+
+    // NotificationService.buildMissingDocumentsBody antes de las plantillas
+    private static String buildMissingDocumentsBody(Recipient recipient) {
+        return """
+            Estimado/a apoderado/a,
+
+            Para continuar con el proceso de postulación de %s, necesitamos
+            que nos proporcione los siguientes documentos:
+
+            DOCUMENTOS FALTANTES:
+            %s
+
+            INSTRUCCIONES:
+            1. Acceda a nuestro sistema en línea: %s
+            2. Vaya a la sección "Documentos"
+            3. Suba los documentos solicitados en formato PDF
+            4. Asegúrese de que los archivos sean legibles y completos
+
+            IMPORTANTE:
+            • Los documentos deben estar en formato PDF
+            • Tamaño máximo por archivo: 10MB
+            • Asegúrese de que la información sea legible
+
+            Si tiene dificultades técnicas o preguntas sobre los documentos,
+            no dude en contactarnos.
+
+            📧 Email: admisiones@mtn.cl
+            📞 Teléfono: +56 2 2234 5678
+
+            Atentamente,
+            Equipo de Admisiones
+            %s
+            """.formatted(recipient.studentName(), documentList(recipient), BASE_URL, INSTITUTION_NAME);
+    }
+
+    // InterviewNotificationService.buildReminderEmailBody antes de las plantillas
+    private static String buildReminderEmailBody(Recipient recipient) {
+        return String.format("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #7c3aed; color: white; padding: 20px; text-align: center; }
+                    .content { padding: 20px; background-color: #faf5ff; }
+                    .details { background-color: white; padding: 15px; border-radius: 8px; margin: 15px 0; }
+                    .footer { padding: 20px; text-align: center; color: #666; font-size: 12px; }
+                    .button { display: inline-block; padding: 12px 24px; background-color: #7c3aed; color: white; text-decoration: none; border-radius: 6px; margin: 10px 0; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>🔔 Recordatorio de Entrevista</h1>
+                        <p>Colegio Monte Tabor y Nazaret</p>
+                    </div>
+
+                    <div class="content">
+                        <p>Estimada familia,</p>
+
+                        <p>Este es un recordatorio de que <strong>%s</strong> tiene una entrevista programada para <strong>mañana</strong>.</p>
+
+                        <div class="details">
+                            <h3>Detalles de la Entrevista</h3>
+                            <p><strong>Estudiante:</strong> %s</p>
+                            <p><strong>Tipo de entrevista:</strong> %s</p>
+                            <p><strong>Modalidad:</strong> %s</p>
+                            <p><strong>Fecha:</strong> %s</p>
+                            <p><strong>Hora:</strong> %s</p>
+                            <p><strong>Duración:</strong> %d minutos</p>
+                            <p><strong>Entrevistador:</strong> %s</p>
+                            %s
+                        </div>
+
+                        <a href="%s/apoderado/login" class="button">Ver en Portal Familiar</a>
+
+                        <p><strong>Recordatorios importantes:</strong></p>
+                        <ul>
+                            <li>Llegar 15 minutos antes de la hora programada</li>
+                            <li>Traer documentos de identificación</li>
+                            <li>Confirmar asistencia si aún no lo han hecho</li>
+                        </ul>
+                    </div>
+
+                    <div class="footer">
+                        <p>Colegio Monte Tabor y Nazaret<br>
+                        Proceso de Admisión</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+            recipient.studentName(), recipient.studentName(), "Familiar", "Presencial",
+            recipient.date().format(DATE_FORMATTER), recipient.time().format(TIME_FORMATTER),
+            recipient.duration(), recipient.interviewerName(),
+            recipient.locationInfo(),
+            BASE_URL
+        );
+    }
+
+    private record Recipient(String studentName, List<String> missingDocuments, LocalDate date, LocalTime time,
+                             Integer duration, String interviewerName, String locationInfo) {}
+}